@@ -0,0 +1,65 @@
+package com.project.thevergov.benchmark;
+
+import com.project.thevergov.domain.LoginContext;
+import com.project.thevergov.entity.CredentialEntity;
+import com.project.thevergov.security.ApiAuthenticationProvider;
+import com.project.thevergov.security.CalibratedPasswordEncoder;
+import com.project.thevergov.security.PasswordHasher;
+import com.project.thevergov.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static com.project.thevergov.domain.VergovAuthentication.unauthenticated;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * ApiAuthenticationProviderBenchmark: Measures a successful login through {@link ApiAuthenticationProvider}
+ * with a stubbed {@link UserService}, using a BCrypt cost calibrated to the default 80 ms budget like the application.
+ * Password hashing dominates this path, so results are reported as average time per login.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ApiAuthenticationProviderBenchmark {
+
+    private static final String PASSWORD = "letmein";
+
+    private ApiAuthenticationProvider authenticationProvider;
+
+    @Setup
+    public void setUp() {
+        var cost = CalibratedPasswordEncoder.calibrate(BCryptPasswordEncoder::new, 12, 14, Duration.ofMillis(80));
+        var encoder = CalibratedPasswordEncoder.bcrypt(cost);
+        var credential = CredentialEntity.builder().password(encoder.encode(PASSWORD)).build();
+        var userService = mock(UserService.class, withSettings().stubOnly());
+        var user = BenchmarkSupport.user();
+        when(userService.getLoginContext(anyString())).thenReturn(new LoginContext(user, credential));
+        authenticationProvider = new ApiAuthenticationProvider(userService, new PasswordHasher(encoder, 0, 64, new SimpleMeterRegistry()),
+                BenchmarkSupport.roleRegistry(), Runnable::run);
+    }
+
+    @Benchmark
+    public Authentication authenticate() {
+        return authenticationProvider.authenticate(unauthenticated(BenchmarkSupport.EMAIL, PASSWORD));
+    }
+}
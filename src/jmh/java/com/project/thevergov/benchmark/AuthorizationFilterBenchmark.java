@@ -0,0 +1,72 @@
+package com.project.thevergov.benchmark;
+
+import com.project.thevergov.domain.Token;
+import com.project.thevergov.security.AuthorizationFilter;
+import com.project.thevergov.security.RouteClassifier;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static com.project.thevergov.enumeration.TokenType.ACCESS;
+
+/**
+ * AuthorizationFilterBenchmark: Measures a full pass through {@link AuthorizationFilter} for an authenticated
+ * request carrying a valid access cookie, and for a request to a public route that skips token handling.
+ * Request, response and filter chain are mock servlet objects created per invocation, as the container would.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthorizationFilterBenchmark {
+
+    private AuthorizationFilter authorizationFilter;
+    private Cookie accessCookie;
+
+    @Setup
+    public void setUp() {
+        var jwtService = BenchmarkSupport.jwtService(BenchmarkSupport.userService(), 10_000);
+        authorizationFilter = new AuthorizationFilter(jwtService, new RouteClassifier());
+        accessCookie = new Cookie(ACCESS.getValue(), jwtService.createToken(BenchmarkSupport.user(), Token::getAccess));
+    }
+
+    @Benchmark
+    public MockHttpServletResponse authenticatedRequest() throws ServletException, IOException {
+        var request = new MockHttpServletRequest("GET", "/user/profile");
+        request.setCookies(accessCookie);
+        return filter(request);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse publicRequest() throws ServletException, IOException {
+        return filter(new MockHttpServletRequest("POST", "/user/login"));
+    }
+
+    private MockHttpServletResponse filter(MockHttpServletRequest request) throws ServletException, IOException {
+        var response = new MockHttpServletResponse();
+        try {
+            authorizationFilter.doFilter(request, response, new MockFilterChain());
+            return response;
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
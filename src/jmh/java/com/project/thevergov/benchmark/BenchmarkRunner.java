@@ -0,0 +1,28 @@
+package com.project.thevergov.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * BenchmarkRunner: Entry point for the JMH benchmarks.
+ * <p>
+ * Runs the benchmarks matching the given regular expression (all of them by default) with the GC profiler, so
+ * every result reports allocation rate next to throughput or latency. Results are also written as JSON to
+ * {@code target/jmh-result.json} so a baseline can be kept and compared against later runs.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        var include = args.length > 0 && !args[0].isBlank() ? args[0] : ".*";
+        var options = new OptionsBuilder()
+                .include(BenchmarkRunner.class.getPackageName() + "\\." + include)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-result.json")
+                .build();
+        new Runner(options).run();
+    }
+}
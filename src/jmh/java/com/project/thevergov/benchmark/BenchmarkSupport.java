@@ -0,0 +1,107 @@
+package com.project.thevergov.benchmark;
+
+import com.project.thevergov.cache.RefreshTokenCache;
+import com.project.thevergov.cache.RevokedTokenSet;
+import com.project.thevergov.cache.SecurityVersionCache;
+import com.project.thevergov.cache.TokenCache;
+import com.project.thevergov.dto.User;
+import com.project.thevergov.repository.RevokedTokenRepository;
+import com.project.thevergov.repository.RoleRepository;
+import com.project.thevergov.repository.UserRepository;
+import com.project.thevergov.security.JwtKeyRing;
+import com.project.thevergov.security.RoleRegistry;
+import com.project.thevergov.security.TokenDenylist;
+import com.project.thevergov.service.UserService;
+import com.project.thevergov.service.impl.JwtServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * BenchmarkSupport: Builds the objects shared by the security benchmarks without starting a Spring context.
+ * <p>
+ * Collaborators that would hit the database are replaced by stub-only mocks, which do not record invocations
+ * and therefore do not distort allocation rates during long measurement runs.
+ */
+final class BenchmarkSupport {
+
+    // Fixed 512-bit HMAC secret so every run signs and verifies with the same key
+    static final String SECRET = "bTJmM2Q0ZTVmNmE3YjhjOWQwZTFmMmEzYjRjNWQ2ZTdmOGE5YjBjMWQyZTNmNGE1YjZjN2Q4ZTlmMGExYjJjM2Q0ZTVmNmE3YjhjOWQwZTFmMmEzYjQ=";
+
+    static final String USER_ID = "6f3c1b9e-2a4d-4c8e-9f1a-7b5d3e2c1a0f";
+
+    static final String EMAIL = "benchmark@thevergov.com";
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Creates the user the benchmark tokens are issued to.
+     *
+     * @return an enabled user with the USER role
+     */
+    static User user() {
+        var user = new User();
+        user.setId(1L);
+        user.setUserId(USER_ID);
+        user.setEmail(EMAIL);
+        user.setRole("USER");
+        user.setAuthorities("paper:create,paper:read,paper:update,paper:delete");
+        user.setEnabled(true);
+        user.setAccountNonLocked(true);
+        user.setAccountNonExpired(true);
+        user.setCredentialsNonExpired(true);
+        return user;
+    }
+
+    /**
+     * Creates a user service stub that returns {@link #user()} for any user ID.
+     *
+     * @return the stubbed user service
+     */
+    static UserService userService() {
+        var userService = mock(UserService.class, withSettings().stubOnly());
+        var user = user();
+        when(userService.getUserByUserId(anyString())).thenReturn(user);
+        return userService;
+    }
+
+    /**
+     * Creates a role registry; authority parsing needs no roles, so none are loaded.
+     *
+     * @return the role registry
+     */
+    static RoleRegistry roleRegistry() {
+        return new RoleRegistry(mock(RoleRepository.class, withSettings().stubOnly()));
+    }
+
+    /**
+     * Creates a JwtServiceImpl wired the way the application wires it.
+     *
+     * @param userService        the user service the token owners are loaded from
+     * @param tokenCacheMaxSize  the size of the verified-token cache; 0 verifies every token
+     * @return the JWT service
+     */
+    static JwtServiceImpl jwtService(UserService userService, long tokenCacheMaxSize) {
+        var registry = new SimpleMeterRegistry();
+        var userRepository = mock(UserRepository.class, withSettings().stubOnly());
+        when(userRepository.findSecurityVersionByUserId(anyString())).thenReturn(Optional.of(0L));
+        var jwtService = new JwtServiceImpl(
+                userService,
+                new TokenCache(tokenCacheMaxSize, 60, TimeUnit.SECONDS, registry),
+                new JwtKeyRing(SECRET, "primary", 7200),
+                new SecurityVersionCache(userRepository, 10_000, 30, TimeUnit.SECONDS, registry),
+                new RefreshTokenCache(10_000, 30, 7200, TimeUnit.SECONDS, registry),
+                roleRegistry(),
+                new TokenDenylist(mock(RevokedTokenRepository.class, withSettings().stubOnly()), new RevokedTokenSet(1024, registry)));
+        jwtService.setSecret(SECRET);
+        jwtService.setExpiration(432_000_000L);
+        return jwtService;
+    }
+}
@@ -0,0 +1,173 @@
+package com.project.thevergov.benchmark;
+
+import com.project.thevergov.domain.RequestContext;
+import com.project.thevergov.entity.PaperEntity;
+import com.project.thevergov.entity.RoleEntity;
+import com.project.thevergov.entity.UserEntity;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * BulkInsertBenchmark: Measures a 50-paper upload's inserts and counts the statements it sends to the database.
+ * <p>
+ * Runs Hibernate against an in-memory H2 database whose data source counts every statement execution, a JDBC
+ * batch counting once. {@code optimizer=none} fetches each id with its own {@code nextval}, which is what the
+ * former {@code allocationSize = 1} did; {@code pooled-lo} is the application's setting. {@code batchSize=0} sends
+ * each insert on its own; 50 matches {@code hibernate.jdbc.batch_size}. Round trips per upload are printed when a
+ * trial ends. H2 runs in-process, so the time per upload understates what each round trip costs over a network.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkInsertBenchmark {
+
+    private static final int PAPERS = 50;
+
+    @Param({"none", "pooled-lo"})
+    private String optimizer;
+
+    @Param({"0", "50"})
+    private int batchSize;
+
+    private final AtomicLong roundTrips = new AtomicLong();
+
+    private long uploads;
+
+    private SessionFactory sessionFactory;
+
+    private UserEntity owner;
+
+    @Setup
+    public void setUp() {
+        var h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:bulk-insert-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        var settings = new HashMap<String, Object>();
+        settings.put(AvailableSettings.DATASOURCE, counting(DataSource.class, h2));
+        settings.put(AvailableSettings.HBM2DDL_AUTO, "create");
+        settings.put(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, optimizer);
+        settings.put(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+        settings.put(AvailableSettings.ORDER_INSERTS, true);
+        settings.put(AvailableSettings.PHYSICAL_NAMING_STRATEGY,
+                "org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy");
+        var registry = new StandardServiceRegistryBuilder().applySettings(settings).build();
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClass(RoleEntity.class)
+                .addAnnotatedClass(UserEntity.class)
+                .addAnnotatedClass(PaperEntity.class)
+                .buildMetadata()
+                .buildSessionFactory();
+        RequestContext.setUserId(0L);
+        owner = UserEntity.builder()
+                .userId(UUID.randomUUID().toString())
+                .firstName("Benchmark")
+                .lastName("User")
+                .email(BenchmarkSupport.EMAIL)
+                .lastLogin(LocalDateTime.now())
+                .build();
+        sessionFactory.inTransaction(session -> session.persist(owner));
+        roundTrips.set(0);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clear() {
+        var before = roundTrips.get();
+        sessionFactory.inTransaction(session -> session.createMutationQuery("DELETE FROM PaperEntity").executeUpdate());
+        roundTrips.set(before);
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.printf("%nRound trips per upload of %d papers (optimizer=%s, batchSize=%d): %.1f%n",
+                PAPERS, optimizer, batchSize, roundTrips.get() / (double) Math.max(1, uploads));
+        sessionFactory.close();
+        RequestContext.clear();
+    }
+
+    @Benchmark
+    public int upload() {
+        // JMH calls this from one thread per benchmark here, and the request context is per thread
+        RequestContext.setUserId(0L);
+        sessionFactory.inTransaction(session -> {
+            for (var i = 0; i < PAPERS; i++) {
+                session.persist(PaperEntity.builder()
+                        .paperId(UUID.randomUUID().toString())
+                        .name("paper" + i + ".pdf")
+                        .uri("http://localhost/papers/paper" + i + ".pdf")
+                        .extension("pdf")
+                        .formattedSize("1 KB")
+                        .icon("icon")
+                        .owner(owner)
+                        .build());
+            }
+        });
+        uploads++;
+        return PAPERS;
+    }
+
+    // Wraps JDBC objects so that every statement execution is counted
+    private <T> T counting(Class<T> type, T target) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException exception) {
+                throw exception.getCause();
+            }
+            if (result instanceof Connection connection) {
+                return counting(Connection.class, connection);
+            }
+            if (result instanceof Statement statement) {
+                return countingStatement(statement);
+            }
+            return result;
+        }));
+    }
+
+    private Object countingStatement(Statement target) {
+        var interfaces = target instanceof java.sql.CallableStatement
+                ? new Class<?>[]{java.sql.CallableStatement.class}
+                : target instanceof java.sql.PreparedStatement
+                ? new Class<?>[]{java.sql.PreparedStatement.class}
+                : new Class<?>[]{Statement.class};
+        return Proxy.newProxyInstance(Statement.class.getClassLoader(), interfaces, (proxy, method, args) -> {
+            if (method.getName().startsWith("execute")) {
+                roundTrips.incrementAndGet();
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException exception) {
+                throw exception.getCause();
+            }
+        });
+    }
+}
@@ -0,0 +1,80 @@
+package com.project.thevergov.benchmark;
+
+import com.project.thevergov.domain.Token;
+import com.project.thevergov.domain.TokenData;
+import com.project.thevergov.dto.User;
+import com.project.thevergov.service.impl.JwtServiceImpl;
+import jakarta.servlet.http.Cookie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static com.project.thevergov.enumeration.TokenType.ACCESS;
+import static com.project.thevergov.enumeration.TokenType.REFRESH;
+import static java.util.function.Function.identity;
+
+/**
+ * JwtServiceBenchmark: Measures token minting, verification and cookie extraction in {@link JwtServiceImpl}.
+ * <p>
+ * {@code getTokenData} is measured twice: once served from the verified-token cache, as on repeated requests
+ * with the same cookie, and once with caching disabled, which verifies the signature on every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private User user;
+    private JwtServiceImpl cachedJwtService;
+    private JwtServiceImpl uncachedJwtService;
+    private String accessToken;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        var userService = BenchmarkSupport.userService();
+        user = BenchmarkSupport.user();
+        cachedJwtService = BenchmarkSupport.jwtService(userService, 10_000);
+        uncachedJwtService = BenchmarkSupport.jwtService(userService, 0);
+        accessToken = cachedJwtService.createToken(user, Token::getAccess);
+        request = new MockHttpServletRequest("GET", "/user/profile");
+        request.setCookies(
+                new Cookie("JSESSIONID", "0F1E2D3C4B5A"),
+                new Cookie(ACCESS.getValue(), accessToken),
+                new Cookie(REFRESH.getValue(), cachedJwtService.createToken(user, Token::getRefresh)));
+    }
+
+    @Benchmark
+    public String createAccessToken() {
+        return cachedJwtService.createToken(user, Token::getAccess);
+    }
+
+    @Benchmark
+    public TokenData getTokenDataCached() {
+        return cachedJwtService.getTokenData(accessToken, identity());
+    }
+
+    @Benchmark
+    public TokenData getTokenDataUncached() {
+        return uncachedJwtService.getTokenData(accessToken, identity());
+    }
+
+    @Benchmark
+    public Optional<String> extractToken() {
+        return cachedJwtService.extractToken(request, ACCESS.getValue());
+    }
+}
@@ -0,0 +1,113 @@
+package com.project.thevergov.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LoadTest: A closed-loop HTTP load generator for comparing request handling on platform and virtual threads.
+ * <p>
+ * Unlike the JMH benchmarks this drives a running application over HTTP. A fixed number of clients each send the
+ * next request as soon as the previous response arrives; after a warm-up, throughput and latency percentiles are
+ * printed. Start the application once with {@code VIRTUAL_THREADS_ENABLED=false} and once with {@code true}, and
+ * run against a blocking database endpoint such as {@code /user/profile} (with an access token cookie) and a
+ * blocking file endpoint such as {@code /user/image/<file>}. With more clients than Tomcat has worker threads,
+ * the platform-thread mode queues requests while virtual threads keep accepting them.
+ * <p>
+ * Run with {@code mvn -Pbenchmark compile exec:exec -Dbenchmark.main=com.project.thevergov.benchmark.LoadTest
+ * -Dbenchmark=<url>}. The environment variables {@code LOAD_TEST_CLIENTS} (default 400),
+ * {@code LOAD_TEST_WARMUP} and {@code LOAD_TEST_DURATION} (seconds, default 10 and 30) and {@code LOAD_TEST_COOKIE}
+ * (a {@code Cookie} header value) configure the run.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0 || args[0].isBlank()) {
+            throw new IllegalArgumentException("Usage: LoadTest <url>");
+        }
+        var clients = intEnv("LOAD_TEST_CLIENTS", 400);
+        var warmup = Duration.ofSeconds(intEnv("LOAD_TEST_WARMUP", 10));
+        var duration = Duration.ofSeconds(intEnv("LOAD_TEST_DURATION", 30));
+        var builder = HttpRequest.newBuilder(URI.create(args[0])).timeout(Duration.ofSeconds(30)).GET();
+        var cookie = System.getenv("LOAD_TEST_COOKIE");
+        if (cookie != null && !cookie.isBlank()) {
+            builder.header("Cookie", cookie);
+        }
+        var request = builder.build();
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var client = HttpClient.newBuilder().executor(executor).build();
+            System.out.printf("Warming up %s with %d clients for %ds%n", request.uri(), clients, warmup.toSeconds());
+            run(client, request, clients, warmup, executor);
+            System.out.printf("Measuring for %ds%n", duration.toSeconds());
+            report(run(client, request, clients, duration, executor), duration);
+        }
+    }
+
+    // Runs the clients until the duration has passed and collects their latencies in nanoseconds and error count
+    private static Result run(HttpClient client, HttpRequest request, int clients, Duration duration,
+                              ExecutorService executor) throws Exception {
+        var deadline = System.nanoTime() + duration.toNanos();
+        var errors = new LongAdder();
+        var futures = new ArrayList<Future<List<Long>>>();
+        for (var i = 0; i < clients; i++) {
+            futures.add(executor.submit(() -> {
+                var latencies = new ArrayList<Long>();
+                while (System.nanoTime() < deadline) {
+                    var start = System.nanoTime();
+                    try {
+                        var status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        if (status >= 400) {
+                            errors.increment();
+                        }
+                    } catch (Exception exception) {
+                        errors.increment();
+                    }
+                    latencies.add(System.nanoTime() - start);
+                }
+                return latencies;
+            }));
+        }
+        var latencies = new ArrayList<Long>();
+        for (var future : futures) {
+            latencies.addAll(future.get());
+        }
+        return new Result(latencies, errors.sum());
+    }
+
+    private static void report(Result result, Duration duration) {
+        var latencies = result.latencies().stream().mapToLong(Long::longValue).sorted().toArray();
+        if (latencies.length == 0) {
+            System.out.println("No requests completed");
+            return;
+        }
+        System.out.printf("Requests: %d, errors: %d, throughput: %.1f req/s%n",
+                latencies.length, result.errors(), latencies.length / (double) duration.toSeconds());
+        System.out.printf("Latency ms: p50 %.2f, p90 %.2f, p99 %.2f, max %.2f%n",
+                percentile(latencies, 0.50), percentile(latencies, 0.90), percentile(latencies, 0.99),
+                latencies[latencies.length - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)] / 1e6;
+    }
+
+    private static int intEnv(String name, int defaultValue) {
+        var value = System.getenv(name);
+        return value == null || value.isBlank() ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    private record Result(List<Long> latencies, long errors) {
+    }
+}
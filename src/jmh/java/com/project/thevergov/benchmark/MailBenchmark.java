@@ -0,0 +1,112 @@
+package com.project.thevergov.benchmark;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.project.thevergov.mail.SmtpTransportPool;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MailBenchmark: Measures how long sending a batch of emails takes against an embedded GreenMail SMTP server.
+ * <p>
+ * {@code connectionPerMessage} sends each message through {@link JavaMailSenderImpl}, which opens and closes a
+ * connection per call, as the email service did before. {@code pooledBatch} sends the batch over a connection
+ * borrowed from a {@link SmtpTransportPool}. Four threads send at once, so varying {@code poolSize} shows how many
+ * connections it takes before threads stop waiting for one. A local server has no TLS handshake or
+ * authentication and no network latency, so a real provider widens the gap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class MailBenchmark {
+
+    @Param({"1", "20"})
+    private int batchSize;
+
+    @Param({"1", "2", "4"})
+    private int poolSize;
+
+    private GreenMail greenMail;
+    private JavaMailSenderImpl sender;
+    private SmtpTransportPool pool;
+
+    @Setup
+    public void setUp() {
+        greenMail = new GreenMail(ServerSetupTest.SMTP.dynamicPort());
+        greenMail.start();
+        sender = new JavaMailSenderImpl();
+        sender.setHost("localhost");
+        sender.setPort(greenMail.getSmtp().getPort());
+        pool = new SmtpTransportPool(Session.getInstance(new Properties()), "smtp", "localhost",
+                greenMail.getSmtp().getPort(), null, null, poolSize, Duration.ofSeconds(60), new SimpleMeterRegistry());
+    }
+
+    // Received messages are kept in memory by GreenMail, so they are dropped between iterations
+    @TearDown(Level.Iteration)
+    public void purge() throws Exception {
+        greenMail.purgeEmailFromAllMailboxes();
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.close();
+        greenMail.stop();
+    }
+
+    @Benchmark
+    public int connectionPerMessage() {
+        for (var i = 0; i < batchSize; i++) {
+            var message = new SimpleMailMessage();
+            message.setFrom("noreply@thevergov.com");
+            message.setTo("user" + i + "@thevergov.com");
+            message.setSubject("New User Account Verification");
+            message.setText("Body " + i);
+            sender.send(message);
+        }
+        return batchSize;
+    }
+
+    @Benchmark
+    public List<MessagingException> pooledBatch() throws MessagingException {
+        var messages = new ArrayList<MimeMessage>(batchSize);
+        for (var i = 0; i < batchSize; i++) {
+            var message = new MimeMessage(pool.getSession());
+            message.setFrom(new InternetAddress("noreply@thevergov.com"));
+            message.setRecipient(Message.RecipientType.TO, new InternetAddress("user" + i + "@thevergov.com"));
+            message.setSubject("New User Account Verification");
+            message.setText("Body " + i);
+            messages.add(message);
+        }
+        return pool.send(messages);
+    }
+}
@@ -0,0 +1,76 @@
+package com.project.thevergov.benchmark;
+
+import com.project.thevergov.cache.PaperSuggestIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PaperSuggestBenchmark: Measures a type-ahead lookup in {@link PaperSuggestIndex} holding the given number of
+ * papers with random names, with a batch of pending changes not yet compacted into the base.
+ * Each lookup uses a random two-letter prefix and returns up to 10 suggestions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class PaperSuggestBenchmark {
+
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz";
+
+    @Param({"1000000"})
+    private int papers;
+
+    private PaperSuggestIndex index;
+    private String[] prefixes;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        var random = new Random(42);
+        index = new PaperSuggestIndex(papers + 500, new SimpleMeterRegistry());
+        var loader = index.loader();
+        for (var id = 1; id <= papers; id++) {
+            loader.add(id, UUID.randomUUID().toString(), name(random));
+        }
+        index.load(loader);
+        for (var id = papers + 1; id <= papers + 500; id++) {
+            index.put(id, UUID.randomUUID().toString(), name(random));
+        }
+        prefixes = new String[1024];
+        for (var i = 0; i < prefixes.length; i++) {
+            prefixes[i] = name(random).substring(0, 2);
+        }
+        System.out.printf("%n%d papers, about %d MB%n", index.size(), index.memoryBytes() >> 20);
+    }
+
+    @Benchmark
+    public List<PaperSuggestIndex.Suggestion> suggest() {
+        return index.suggest(prefixes[next++ & (prefixes.length - 1)], 10);
+    }
+
+    private static String name(Random random) {
+        var name = new StringBuilder();
+        var length = 8 + random.nextInt(24);
+        for (var i = 0; i < length; i++) {
+            name.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+        }
+        return name.append(".pdf").toString();
+    }
+}
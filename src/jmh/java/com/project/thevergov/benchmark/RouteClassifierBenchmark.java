@@ -0,0 +1,76 @@
+package com.project.thevergov.benchmark;
+
+import com.project.thevergov.security.RouteClassifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.project.thevergov.constant.Constants.PUBLIC_ROUTES;
+
+/**
+ * RouteClassifierBenchmark: Measures the per-request cost of deciding whether a path is public.
+ * <p>
+ * {@code classifier} is the compiled trie used by the application. {@code pathPatterns} matches the same route
+ * list as parsed {@link PathPattern}s one after another, as Spring Security does for a list of pattern strings.
+ * {@code listContains} is the exact-match list lookup the authorization filter used before. The paths cover a
+ * public subtree, a public exact prefix and a protected path that has to be checked against every route.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RouteClassifierBenchmark {
+
+    @Param({"/user/verify/account", "/user/login", "/user/profile"})
+    private String path;
+
+    private RouteClassifier classifier;
+    private List<PathPattern> pathPatterns;
+    private List<String> routes;
+
+    @Setup
+    public void setUp() {
+        classifier = new RouteClassifier();
+        var parser = new PathPatternParser();
+        pathPatterns = Arrays.stream(PUBLIC_ROUTES).map(parser::parse).toList();
+        routes = Arrays.stream(PUBLIC_ROUTES).map(route -> route.replace("/**", "")).toList();
+    }
+
+    @Benchmark
+    public boolean classifier() {
+        return classifier.isPublic(path);
+    }
+
+    @Benchmark
+    public boolean pathPatterns() {
+        var container = PathContainer.parsePath(path);
+        for (var pattern : pathPatterns) {
+            if (pattern.matches(container)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean listContains() {
+        return routes.contains(path);
+    }
+}
@@ -1,5 +1,9 @@
 package com.project.thevergov.cache;
 
+import com.project.thevergov.repository.PaperRepository;
+import com.project.thevergov.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -13,13 +17,131 @@ import java.util.concurrent.TimeUnit;
 public class CacheConfig {
 
     /**
-     * Creates and configures a CacheStore bean for caching user login attempts.
+     * Creates and configures a LoginAttemptLimiter bean for deciding login lockout in memory.
      *
-     * @return a CacheStore instance with String keys and Integer values, with an expiration time of 900 seconds.
+     * @param maxAttempts        the number of attempts per email within the window before the account is locked
+     * @param maxAddressAttempts the number of attempts per client address within the window before it is throttled
+     * @param window             the number of seconds in the sliding window
+     * @param maximumSize        the maximum number of emails and of client addresses tracked
+     * @param stripes            the number of independently locked segments; 0 or less uses one per processor
+     * @param registry           the registry the attempt outcomes are published to
+     * @return a LoginAttemptLimiter instance with sliding windows keyed by email and client address
      */
-    @Bean //(name = {"userLoginCache"}) if we decide to implement another cache - give names
-    public CacheStore<String, Integer> userCache() {
-        // Create a CacheStore instance with a 15-minute expiration time
-        return new CacheStore<>(900, TimeUnit.SECONDS);
+    @Bean
+    public LoginAttemptLimiter loginAttemptLimiter(@Value("${login.attempts.maximum:5}") int maxAttempts,
+                                                   @Value("${login.attempts.address-maximum:50}") int maxAddressAttempts,
+                                                   @Value("${login.attempts.window:900}") long window,
+                                                   @Value("${login.attempts.maximum-size:100000}") long maximumSize,
+                                                   @Value("${login.attempts.stripes:0}") int stripes,
+                                                   MeterRegistry registry) {
+        var concurrencyLevel = stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors();
+        return new LoginAttemptLimiter(maxAttempts, maxAddressAttempts, window, TimeUnit.SECONDS, maximumSize, concurrencyLevel, registry);
+    }
+
+    /**
+     * Creates and configures a TokenCache bean for caching verified JWTs.
+     *
+     * @param maximumSize the maximum number of verified tokens kept in memory
+     * @param timeToLive  the number of seconds after which a cached token is verified again
+     * @param registry    the registry the cache hit and miss counts are published to
+     * @return a TokenCache instance bounded by size, time-to-live and each token's own expiration
+     */
+    @Bean
+    public TokenCache tokenCache(@Value("${jwt.cache.maximum-size:10000}") long maximumSize,
+                                 @Value("${jwt.cache.ttl:60}") long timeToLive,
+                                 MeterRegistry registry) {
+        return new TokenCache(maximumSize, timeToLive, TimeUnit.SECONDS, registry);
+    }
+
+    /**
+     * Creates and configures a SecurityVersionCache bean for checking tokens against users' security versions.
+     *
+     * @param userRepository the repository the versions are loaded from
+     * @param maximumSize    the maximum number of users whose version is kept in memory
+     * @param timeToLive     the number of seconds after which a version is loaded again
+     * @param registry       the registry the cache hit and miss counts are published to
+     * @return a SecurityVersionCache instance bounded by size and time-to-live
+     */
+    @Bean
+    public SecurityVersionCache securityVersionCache(UserRepository userRepository,
+                                                     @Value("${jwt.security-version.maximum-size:10000}") long maximumSize,
+                                                     @Value("${jwt.security-version.ttl:30}") long timeToLive,
+                                                     MeterRegistry registry) {
+        return new SecurityVersionCache(userRepository, maximumSize, timeToLive, TimeUnit.SECONDS, registry);
+    }
+
+    /**
+     * Creates and configures a RefreshTokenCache bean for coordinating refresh-token rotation.
+     *
+     * @param maximumSize the maximum number of refresh token IDs kept in memory
+     * @param gracePeriod the number of seconds concurrent refreshes with the same token share one new token pair
+     * @param retention   the number of seconds a consumed refresh token is remembered for reuse detection
+     * @param registry    the registry the cache hit and miss counts are published to
+     * @return a RefreshTokenCache instance bounded by size, grace period and retention
+     */
+    @Bean
+    public RefreshTokenCache refreshTokenCache(@Value("${jwt.refresh.maximum-size:10000}") long maximumSize,
+                                               @Value("${jwt.refresh.grace-period:30}") long gracePeriod,
+                                               @Value("${jwt.refresh.retention:7200}") long retention,
+                                               MeterRegistry registry) {
+        return new RefreshTokenCache(maximumSize, gracePeriod, retention, TimeUnit.SECONDS, registry);
+    }
+
+    /**
+     * Creates and configures a QrCodeCache bean for recently rendered MFA QR code images.
+     *
+     * @param maximumBytes the maximum total size of the cached images in bytes
+     * @param timeToLive   the number of seconds after which an image is rendered again
+     * @param registry     the registry the cache hit and miss counts are published to
+     * @return a QrCodeCache instance bounded by total size and time-to-live
+     */
+    @Bean
+    public QrCodeCache qrCodeCache(@Value("${mfa.qr-code.maximum-bytes:1048576}") long maximumBytes,
+                                   @Value("${mfa.qr-code.ttl:300}") long timeToLive,
+                                   MeterRegistry registry) {
+        return new QrCodeCache(maximumBytes, timeToLive, TimeUnit.SECONDS, registry);
+    }
+
+    /**
+     * Creates and configures a RevokedTokenSet bean holding the IDs of revoked JWTs.
+     *
+     * @param initialCapacity the number of revoked tokens held before the set is first grown
+     * @param registry        the registry the number of revoked tokens is published to
+     * @return a RevokedTokenSet instance
+     */
+    @Bean
+    public RevokedTokenSet revokedTokenSet(@Value("${jwt.revocation.initial-capacity:1024}") int initialCapacity,
+                                           MeterRegistry registry) {
+        return new RevokedTokenSet(initialCapacity, registry);
+    }
+
+    /**
+     * Creates and configures a PaperSuggestIndex bean answering paper name type-ahead from memory.
+     *
+     * @param maxEntries the maximum number of papers held in the index
+     * @param registry   the registry the number of papers and the estimated heap use are published to
+     * @return an empty PaperSuggestIndex, loaded once the application is ready
+     */
+    @Bean
+    public PaperSuggestIndex paperSuggestIndex(@Value("${paper.suggest.max-entries:1000000}") int maxEntries,
+                                               MeterRegistry registry) {
+        return new PaperSuggestIndex(maxEntries, registry);
+    }
+
+    /**
+     * Creates and configures a PaperCache bean for serving paper views without re-running their join.
+     *
+     * @param paperRepository the repository the papers are loaded from
+     * @param maximumSize     the maximum number of papers kept in memory
+     * @param timeToLive      the number of seconds after which a paper is loaded again
+     * @param registry        the registry the cache hit and miss counts are published to
+     * @return a PaperCache instance bounded by size and time-to-live
+     */
+    @Bean
+    public PaperCache paperCache(PaperRepository paperRepository,
+                                 @Value("${paper.cache.maximum-size:10000}") long maximumSize,
+                                 @Value("${paper.cache.ttl:300}") long timeToLive,
+                                 MeterRegistry registry) {
+        return new PaperCache(paperRepository, maximumSize, timeToLive, TimeUnit.SECONDS, registry);
     }
 }
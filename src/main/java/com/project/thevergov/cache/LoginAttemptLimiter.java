@@ -0,0 +1,225 @@
+package com.project.thevergov.cache;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import jakarta.validation.constraints.NotNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * LoginAttemptLimiter: Decides in memory whether a login attempt may proceed, using sliding-window counters keyed
+ * by email and by client address.
+ * <p>
+ * Each key keeps the attempt counts of its current and previous window; the previous count is weighted by how much
+ * of it still overlaps the sliding window, which approximates a true sliding log in constant memory. Counters are
+ * immutable snapshots swapped with compare-and-set, and the maps holding them are striped caches, so concurrent
+ * attempts never block each other. An email whose count exceeds the limit is locked until its count drops back
+ * under it; an address over its own limit is throttled without counting against the email, so a single client
+ * cannot lock every account it guesses. Only the lock transitions are reported, for the caller to persist.
+ * When a locked email's counter expires unseen, the email is queued for {@link #drainExpiredLocks()} so the
+ * persisted lock is not left behind. A counter evicted for size, or never seen by this node, leaves that to the
+ * persisted lock's own expiry after {@link #lockoutDuration()}.
+ * Attempt outcomes are published to the given {@link MeterRegistry} as {@code login.attempts}.
+ */
+@Slf4j
+public class LoginAttemptLimiter {
+
+    /**
+     * The decision for a single login attempt.
+     */
+    public enum Outcome {
+        /** The attempt may proceed. */
+        ALLOWED,
+        /** The attempt may proceed; the email was locked before and has just dropped under the limit. */
+        UNLOCKED,
+        /** The attempt pushed the email over the limit; the account has just been locked. */
+        LOCKED,
+        /** The email was already over the limit; the attempt is rejected. */
+        BLOCKED,
+        /** The client address is over its limit; the attempt is rejected without counting against the email. */
+        THROTTLED
+    }
+
+    private final int maxAttempts;
+
+    private final int maxAddressAttempts;
+
+    private final long windowNanos;
+
+    private final Ticker ticker;
+
+    // Sliding windows of login attempts per lower-cased email
+    private final Cache<String, AtomicReference<Window>> emails;
+
+    // Sliding windows of login attempts per client address
+    private final Cache<String, AtomicReference<Window>> addresses;
+
+    // Emails whose counter expired while locked, waiting to be unlocked
+    private final Queue<String> expiredLocks = new ConcurrentLinkedQueue<>();
+
+    private final Map<Outcome, Counter> outcomes = new EnumMap<>(Outcome.class);
+
+    /**
+     * Constructs a LoginAttemptLimiter.
+     *
+     * @param maxAttempts        the number of attempts per email within a window before the account is locked
+     * @param maxAddressAttempts the number of attempts per client address within a window before it is throttled
+     * @param window             the length of the sliding window
+     * @param timeUnit           the time unit for the window
+     * @param maximumSize        the maximum number of emails and of addresses to track
+     * @param stripes            the number of independently locked segments of each map
+     * @param registry           the registry the attempt outcomes and map statistics are published to
+     */
+    public LoginAttemptLimiter(int maxAttempts, int maxAddressAttempts, long window, TimeUnit timeUnit, long maximumSize,
+                               int stripes, MeterRegistry registry) {
+        this(maxAttempts, maxAddressAttempts, window, timeUnit, maximumSize, stripes, registry, Ticker.systemTicker());
+    }
+
+    LoginAttemptLimiter(int maxAttempts, int maxAddressAttempts, long window, TimeUnit timeUnit, long maximumSize,
+                        int stripes, MeterRegistry registry, Ticker ticker) {
+        this.maxAttempts = maxAttempts;
+        this.maxAddressAttempts = maxAddressAttempts;
+        this.windowNanos = timeUnit.toNanos(window);
+        this.ticker = ticker;
+        RemovalListener<String, AtomicReference<Window>> lockListener = removal -> {
+            if (removal.getCause() == RemovalCause.EXPIRED && removal.getValue().get().locked()) {
+                expiredLocks.add(removal.getKey());
+            }
+        };
+        // Once idle for two windows a counter has decayed to zero, so it can be dropped
+        this.emails = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(2 * windowNanos, TimeUnit.NANOSECONDS)
+                .concurrencyLevel(stripes)
+                .ticker(ticker)
+                .removalListener(lockListener)
+                .recordStats()
+                .build();
+        this.addresses = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(2 * windowNanos, TimeUnit.NANOSECONDS)
+                .concurrencyLevel(stripes)
+                .ticker(ticker)
+                .build();
+        for (var outcome : Outcome.values()) {
+            outcomes.put(outcome, Counter.builder("login.attempts").tag("outcome", outcome.name().toLowerCase(Locale.ROOT)).register(registry));
+        }
+        GuavaCacheMetrics.monitor(registry, emails, "loginAttemptCache");
+    }
+
+    /**
+     * Records a login attempt for an email from a client address and decides whether it may proceed.
+     *
+     * @param email     the email the attempt is made for
+     * @param ipAddress the client address the attempt comes from, or null if unknown
+     * @return the decision for the attempt
+     */
+    public Outcome recordAttempt(@NotNull String email, String ipAddress) {
+        var outcome = ipAddress != null && isOverLimit(record(addresses, ipAddress, maxAddressAttempts))
+                ? Outcome.THROTTLED
+                : record(emails, key(email), maxAttempts);
+        outcomes.get(outcome).increment();
+        return outcome;
+    }
+
+    /**
+     * Clears the attempt count of an email after a successful login.
+     *
+     * @param email the email that logged in
+     */
+    public void recordSuccess(@NotNull String email) {
+        emails.invalidate(key(email));
+    }
+
+    /**
+     * Returns the longest time an email stays locked without further attempts, after which its counter has expired.
+     *
+     * @return the lockout duration
+     */
+    public Duration lockoutDuration() {
+        return Duration.ofNanos(2 * windowNanos);
+    }
+
+    /**
+     * Drops expired counters and returns the emails that were still locked when their counter expired.
+     *
+     * @return the emails whose lock has lapsed since the last call
+     */
+    public List<String> drainExpiredLocks() {
+        emails.cleanUp();
+        addresses.cleanUp();
+        var drained = new ArrayList<String>();
+        for (var email = expiredLocks.poll(); email != null; email = expiredLocks.poll()) {
+            drained.add(email);
+        }
+        return drained;
+    }
+
+    // Adds an attempt to the key's window with compare-and-set and reports the lock transition it caused
+    private Outcome record(Cache<String, AtomicReference<Window>> windows, String key, int limit) {
+        var reference = windows.asMap().computeIfAbsent(key, ignored -> new AtomicReference<>(new Window(ticker.read(), 0, 0, false)));
+        while (true) {
+            var now = ticker.read();
+            var window = reference.get();
+            var next = window.slide(now, windowNanos).increment(now, windowNanos, limit);
+            if (reference.compareAndSet(window, next)) {
+                if (next.locked()) {
+                    return window.locked() ? Outcome.BLOCKED : Outcome.LOCKED;
+                }
+                return window.locked() ? Outcome.UNLOCKED : Outcome.ALLOWED;
+            }
+        }
+    }
+
+    private static boolean isOverLimit(Outcome outcome) {
+        return outcome == Outcome.LOCKED || outcome == Outcome.BLOCKED;
+    }
+
+    private static String key(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * An immutable snapshot of a key's attempt counts.
+     *
+     * @param start    the ticker time the current window started at
+     * @param previous the number of attempts in the previous window
+     * @param current  the number of attempts in the current window
+     * @param locked   whether the estimated count was over the limit after the last attempt
+     */
+    private record Window(long start, int previous, int current, boolean locked) {
+
+        // Moves the window forward so that it contains the given time
+        Window slide(long now, long length) {
+            var elapsed = now - start;
+            if (elapsed < length) {
+                return this;
+            }
+            var windows = elapsed / length;
+            return new Window(start + windows * length, windows == 1 ? current : 0, 0, locked);
+        }
+
+        // Counts one more attempt and locks the key if the sliding estimate exceeds the limit
+        Window increment(long now, long length, int limit) {
+            var overlap = 1.0 - (double) (now - start) / length;
+            var estimate = previous * overlap + current + 1;
+            return new Window(start, previous, current + 1, estimate > limit);
+        }
+    }
+}
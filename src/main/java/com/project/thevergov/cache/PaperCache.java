@@ -0,0 +1,93 @@
+package com.project.thevergov.cache;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.project.thevergov.dto.api.iPaper;
+import com.project.thevergov.repository.PaperRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PaperCache: A bounded read-through cache of paper views, keyed by paper ID.
+ * <p>
+ * A paper view joins the paper with its owner and last updater, so serving hot papers from memory saves that
+ * three-table join on every view. Papers are loaded with {@link PaperRepository#findPaperByPaperId} on a miss;
+ * unknown paper IDs are cached as empty, so repeated lookups of a missing paper do not reach the database either.
+ * Changes to a paper made on this node evict its entry as soon as they commit. Entries expire after the
+ * time-to-live, which bounds how long changes made elsewhere, such as to the owner's name, go unnoticed.
+ * Hit and miss counts are published to the given {@link MeterRegistry} under the name {@code paperCache}, and the
+ * hit ratio as {@code paper.cache.hit.ratio}.
+ */
+public class PaperCache {
+
+    // Cache instance mapping paper IDs to their view; empty marks an unknown paper
+    private final LoadingCache<String, Optional<iPaper>> cache;
+
+    /**
+     * Constructs a PaperCache that loads papers from the given repository.
+     *
+     * @param paperRepository the repository the papers are loaded from on a miss
+     * @param maximumSize     the maximum number of papers to keep
+     * @param timeToLive      the duration after which a paper is loaded again
+     * @param timeUnit        the time unit for the time-to-live
+     * @param registry        the registry the cache statistics are published to
+     */
+    public PaperCache(PaperRepository paperRepository, long maximumSize, long timeToLive, TimeUnit timeUnit, MeterRegistry registry) {
+        cache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive, timeUnit)
+                .concurrencyLevel(Runtime.getRuntime().availableProcessors())
+                .recordStats()
+                .build(CacheLoader.from(paperRepository::findPaperByPaperId));
+        GuavaCacheMetrics.monitor(registry, cache, "paperCache");
+        Gauge.builder("paper.cache.hit.ratio", cache, loadingCache -> loadingCache.stats().hitRate()).register(registry);
+    }
+
+    /**
+     * Retrieves a paper view, loading it on a miss.
+     *
+     * @param paperId the paper ID
+     * @return the paper view, or empty if there is no such paper
+     */
+    public Optional<iPaper> get(@NotNull String paperId) {
+        return cache.getUnchecked(paperId);
+    }
+
+    /**
+     * Evicts a paper once the current transaction commits, or immediately if there is none.
+     * Evicting only after commit keeps a concurrent request from caching the view that is being replaced.
+     *
+     * @param paperId the paper ID whose paper changed
+     */
+    public void evict(@NotNull String paperId) {
+        evictAll(List.of(paperId));
+    }
+
+    /**
+     * Evicts several papers once the current transaction commits, or immediately if there is none.
+     *
+     * @param paperIds the paper IDs whose papers changed
+     */
+    public void evictAll(@NotNull Collection<String> paperIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidateAll(paperIds);
+                }
+            });
+        } else {
+            cache.invalidateAll(paperIds);
+        }
+    }
+}
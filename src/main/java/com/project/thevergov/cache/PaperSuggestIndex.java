@@ -0,0 +1,555 @@
+package com.project.thevergov.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.constraints.NotNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * PaperSuggestIndex: An in-memory prefix index over paper names for type-ahead suggestions.
+ * <p>
+ * The bulk of the index is a base of sorted compact arrays: every name is stored in one shared {@code char[]},
+ * and each paper has an offset into it, its database id, and its paper ID as the two 64-bit halves of a UUID.
+ * Papers are sorted by case-insensitive name and then id, so the names starting with a prefix form one contiguous
+ * run found by binary search. There is one object per array rather than per paper.
+ * <p>
+ * Changes go into a small sorted delta of added papers and a sorted list of hidden base ids. Once the two together
+ * reach {@link #COMPACTION_THRESHOLD} they are merged into a new base. The base, delta and hidden ids are published
+ * together as one immutable snapshot, so lookups take no lock and never see half of a change. Writes are
+ * serialized and applied once the current transaction commits.
+ * <p>
+ * The index can be reloaded from the database at any time, which is how changes made on other nodes reach it.
+ * Changes applied while the papers are being read are recorded and win over the rows read.
+ * <p>
+ * The index holds at most {@code maxEntries} papers; further papers are left out until others are removed.
+ * The number of papers and the estimated heap use are published to the given {@link MeterRegistry} as
+ * {@code paper.suggest.entries} and {@code paper.suggest.bytes}.
+ */
+@Slf4j
+public class PaperSuggestIndex {
+
+    // Number of pending changes that triggers merging them into a new base
+    static final int COMPACTION_THRESHOLD = 1024;
+
+    // Rough heap cost of a pending delta entry besides its characters: the entry, two strings and their arrays
+    private static final int DELTA_ENTRY_OVERHEAD = 120;
+
+    private static final long[] NO_IDS = new long[0];
+
+    private static final Comparator<Entry> DELTA_ORDER = Comparator.comparing(Entry::key).thenComparingLong(Entry::id);
+
+    private final int maxEntries;
+
+    // The current snapshot; replaced as a whole on every change
+    private volatile Snapshot snapshot = new Snapshot(Base.EMPTY, NO_IDS, new Entry[0]);
+
+    // Papers changed since the latest loader was created, by id; null for a removed paper. Guarded by this
+    private Map<Long, Entry> loadChanges;
+
+    /**
+     * A suggested paper.
+     *
+     * @param paperId the paper ID
+     * @param name    the paper name
+     */
+    public record Suggestion(String paperId, String name) {
+    }
+
+    /**
+     * Constructs a PaperSuggestIndex.
+     *
+     * @param maxEntries the maximum number of papers held
+     * @param registry   the registry the number of papers and the estimated heap use are published to
+     */
+    public PaperSuggestIndex(int maxEntries, MeterRegistry registry) {
+        this.maxEntries = maxEntries;
+        Gauge.builder("paper.suggest.entries", this, PaperSuggestIndex::size).register(registry);
+        Gauge.builder("paper.suggest.bytes", this, PaperSuggestIndex::memoryBytes).baseUnit("bytes").register(registry);
+    }
+
+    /**
+     * Returns the papers whose name starts with the given prefix, ignoring case, ordered by name.
+     *
+     * @param prefix the prefix typed so far
+     * @param limit  the maximum number of suggestions
+     * @return up to {@code limit} suggestions; none for a blank prefix
+     */
+    public List<Suggestion> suggest(@NotNull String prefix, int limit) {
+        if (prefix.isBlank() || limit <= 0) {
+            return List.of();
+        }
+        var key = fold(prefix);
+        var current = snapshot;
+        var base = current.base();
+        var delta = current.delta();
+        var suggestions = new ArrayList<Suggestion>(Math.min(limit, 32));
+        var i = base.lowerBound(key);
+        var j = deltaLowerBound(delta, key);
+        while (suggestions.size() < limit) {
+            var inBase = i < base.size() && base.startsWith(i, key);
+            var inDelta = j < delta.length && delta[j].key().startsWith(key);
+            if (!inBase && !inDelta) {
+                break;
+            }
+            if (inBase && Arrays.binarySearch(current.hidden(), base.ids[i]) >= 0) {
+                i++;
+            } else if (inBase && (!inDelta || base.compareTo(i, delta[j].key(), delta[j].id()) < 0)) {
+                suggestions.add(base.suggestion(i++));
+            } else {
+                suggestions.add(delta[j++].suggestion());
+            }
+        }
+        return suggestions;
+    }
+
+    /**
+     * Adds a paper once the current transaction commits, or immediately if there is none.
+     * A paper whose name changed must be removed under its old name first.
+     *
+     * @param id      the database id of the paper
+     * @param paperId the paper ID
+     * @param name    the paper name
+     */
+    public void put(long id, @NotNull String paperId, @NotNull String name) {
+        afterCommit(() -> add(new Entry(id, paperId, name, fold(name))));
+    }
+
+    /**
+     * Removes a paper once the current transaction commits, or immediately if there is none.
+     *
+     * @param id   the database id of the paper
+     * @param name the name the paper was indexed under
+     */
+    public void remove(long id, @NotNull String name) {
+        afterCommit(() -> delete(id, fold(name)));
+    }
+
+    /**
+     * Creates a loader that accepts at most as many papers as the index holds.
+     *
+     * @return an empty loader for {@link #load(Loader)}
+     */
+    public synchronized Loader loader() {
+        var loader = new Loader(maxEntries);
+        loadChanges = loader.changes;
+        return loader;
+    }
+
+    /**
+     * Replaces the whole index with the given papers, keeping changes made since the loader was created.
+     *
+     * @param loader the papers read from the database
+     */
+    public void load(@NotNull Loader loader) {
+        var loaded = loader.build();
+        synchronized (this) {
+            // The loaded rows may predate changes made meanwhile: drop papers changed since and add their new state
+            var changes = loader.changes;
+            var excluded = changes.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+            var added = changes.values().stream().filter(Objects::nonNull).sorted(DELTA_ORDER).toArray(Entry[]::new);
+            snapshot = new Snapshot(merge(loaded, excluded, added), NO_IDS, new Entry[0]);
+            if (loadChanges == changes) {
+                loadChanges = null;
+            }
+        }
+        log.debug("Loaded {} papers into the suggest index", size());
+    }
+
+    /**
+     * Stops recording changes for a loader whose papers will not be loaded, for example because reading them failed.
+     *
+     * @param loader the loader given up on
+     */
+    public synchronized void abandon(@NotNull Loader loader) {
+        if (loadChanges == loader.changes) {
+            loadChanges = null;
+        }
+    }
+
+    /**
+     * Returns the number of papers in the index.
+     *
+     * @return the number of papers
+     */
+    public int size() {
+        var current = snapshot;
+        return current.base().size() - current.hidden().length + current.delta().length;
+    }
+
+    /**
+     * Returns an estimate of the heap used by the index.
+     *
+     * @return the estimated number of bytes
+     */
+    public long memoryBytes() {
+        var current = snapshot;
+        var bytes = current.base().memoryBytes() + 8L * current.hidden().length;
+        for (var entry : current.delta()) {
+            bytes += DELTA_ENTRY_OVERHEAD + 4L * entry.name().length();
+        }
+        return bytes;
+    }
+
+    private synchronized void add(Entry entry) {
+        var current = snapshot;
+        var delta = current.delta();
+        var replaced = deltaIndexOf(delta, entry.id());
+        if (replaced < 0 && size() >= maxEntries) {
+            log.warn("Paper suggest index is full at {} papers; paper {} is not suggested", maxEntries, entry.paperId());
+            return;
+        }
+        var entries = new ArrayList<>(Arrays.asList(delta));
+        if (replaced >= 0) {
+            entries.remove(replaced);
+        }
+        var position = -Collections.binarySearch(entries, entry, DELTA_ORDER) - 1;
+        entries.add(position, entry);
+        publish(current.base(), current.hidden(), entries.toArray(Entry[]::new));
+        if (loadChanges != null) {
+            loadChanges.put(entry.id(), entry);
+        }
+    }
+
+    private synchronized void delete(long id, String key) {
+        var current = snapshot;
+        var delta = current.delta();
+        var pending = deltaIndexOf(delta, id);
+        if (pending >= 0) {
+            var entries = new ArrayList<>(Arrays.asList(delta));
+            entries.remove(pending);
+            publish(current.base(), current.hidden(), entries.toArray(Entry[]::new));
+        } else if (current.base().indexOf(key, id) >= 0 && Arrays.binarySearch(current.hidden(), id) < 0) {
+            publish(current.base(), insert(current.hidden(), id), delta);
+        }
+        if (loadChanges != null) {
+            loadChanges.put(id, null);
+        }
+    }
+
+    // Publishes the given state, first merging the pending changes into a new base once there are enough of them
+    private void publish(Base base, long[] hidden, Entry[] delta) {
+        if (hidden.length + delta.length >= COMPACTION_THRESHOLD) {
+            snapshot = new Snapshot(merge(base, hidden, delta), NO_IDS, new Entry[0]);
+        } else {
+            snapshot = new Snapshot(base, hidden, delta);
+        }
+    }
+
+    // Builds a new base from the base papers whose id is not excluded and the delta papers, in one ordered pass
+    private static Base merge(Base base, long[] excluded, Entry[] delta) {
+        var builder = new Loader(Integer.MAX_VALUE);
+        var j = 0;
+        for (var i = 0; i < base.size(); i++) {
+            if (Arrays.binarySearch(excluded, base.ids[i]) >= 0) {
+                continue;
+            }
+            while (j < delta.length && base.compareTo(i, delta[j].key(), delta[j].id()) > 0) {
+                builder.add(delta[j].id(), delta[j].paperId(), delta[j].name());
+                j++;
+            }
+            builder.add(base.ids[i], base.paperId(i), base.name(i));
+        }
+        for (; j < delta.length; j++) {
+            builder.add(delta[j].id(), delta[j].paperId(), delta[j].name());
+        }
+        return builder.buildSorted();
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    private static int deltaLowerBound(Entry[] delta, String key) {
+        var low = 0;
+        var high = delta.length;
+        while (low < high) {
+            var middle = (low + high) >>> 1;
+            if (delta[middle].key().compareTo(key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int deltaIndexOf(Entry[] delta, long id) {
+        for (var i = 0; i < delta.length; i++) {
+            if (delta[i].id() == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static long[] insert(long[] sorted, long id) {
+        var position = -Arrays.binarySearch(sorted, id) - 1;
+        var result = new long[sorted.length + 1];
+        System.arraycopy(sorted, 0, result, 0, position);
+        result[position] = id;
+        System.arraycopy(sorted, position, result, position + 1, sorted.length - position);
+        return result;
+    }
+
+    // Names are compared by their lower-cased characters, both here and in the base, so the two orders agree
+    static String fold(String name) {
+        var chars = name.toCharArray();
+        for (var i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Collects papers read from the database for {@link #load(Loader)}, in any order.
+     */
+    public static class Loader {
+
+        private final int maxEntries;
+
+        private char[] chars = new char[1024];
+        private int[] offsets = new int[65];
+        private long[] ids = new long[64];
+        private long[] uuids = new long[128];
+        private final Map<Integer, String> otherPaperIds = new HashMap<>();
+        // Papers changed in the index while this loader is filled, recorded by the index under its lock
+        private final Map<Long, Entry> changes = new HashMap<>();
+        private int size;
+        private int length;
+
+        private Loader(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        /**
+         * Adds a paper unless the loader is full.
+         *
+         * @param id      the database id of the paper
+         * @param paperId the paper ID
+         * @param name    the paper name
+         * @return false if the loader is full and the paper was left out
+         */
+        public boolean add(long id, @NotNull String paperId, @NotNull String name) {
+            if (size >= maxEntries) {
+                return false;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                uuids = Arrays.copyOf(uuids, size * 4);
+                offsets = Arrays.copyOf(offsets, size * 2 + 1);
+            }
+            if (length + name.length() > chars.length) {
+                chars = Arrays.copyOf(chars, Math.max(chars.length * 2, length + name.length()));
+            }
+            name.getChars(0, name.length(), chars, length);
+            length += name.length();
+            ids[size] = id;
+            try {
+                var uuid = UUID.fromString(paperId);
+                uuids[2 * size] = uuid.getMostSignificantBits();
+                uuids[2 * size + 1] = uuid.getLeastSignificantBits();
+            } catch (IllegalArgumentException exception) {
+                // Paper IDs are random UUIDs; the rare other ID is kept as a string
+                otherPaperIds.put(size, paperId);
+            }
+            offsets[++size] = length;
+            return true;
+        }
+
+        /**
+         * Returns the number of papers added so far.
+         *
+         * @return the number of papers
+         */
+        public int size() {
+            return size;
+        }
+
+        // Builds a base from papers added in any order
+        Base build() {
+            var unsorted = buildSorted();
+            // Sorting boxed positions costs a transient object per paper, only while loading
+            var order = IntStream.range(0, size).boxed()
+                    .sorted(unsorted::compare)
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            var sorted = new Loader(Integer.MAX_VALUE);
+            for (var i : order) {
+                sorted.add(unsorted.ids[i], unsorted.paperId(i), unsorted.name(i));
+            }
+            return sorted.buildSorted();
+        }
+
+        // Builds a base from papers that were added in order
+        Base buildSorted() {
+            return new Base(Arrays.copyOf(chars, length), Arrays.copyOf(offsets, size + 1), Arrays.copyOf(ids, size),
+                    Arrays.copyOf(uuids, 2 * size), Map.copyOf(otherPaperIds));
+        }
+    }
+
+    /**
+     * The sorted compact arrays holding most of the papers.
+     */
+    static final class Base {
+
+        static final Base EMPTY = new Base(new char[0], new int[1], new long[0], new long[0], Map.of());
+
+        private final char[] chars;
+        private final int[] offsets;
+        private final long[] ids;
+        private final long[] uuids;
+        private final Map<Integer, String> otherPaperIds;
+
+        Base(char[] chars, int[] offsets, long[] ids, long[] uuids, Map<Integer, String> otherPaperIds) {
+            this.chars = chars;
+            this.offsets = offsets;
+            this.ids = ids;
+            this.uuids = uuids;
+            this.otherPaperIds = otherPaperIds;
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        String name(int i) {
+            return new String(chars, offsets[i], offsets[i + 1] - offsets[i]);
+        }
+
+        String paperId(int i) {
+            var other = otherPaperIds.get(i);
+            return other != null ? other : new UUID(uuids[2 * i], uuids[2 * i + 1]).toString();
+        }
+
+        Suggestion suggestion(int i) {
+            return new Suggestion(paperId(i), name(i));
+        }
+
+        long memoryBytes() {
+            return 2L * chars.length + 4L * offsets.length + 8L * ids.length + 8L * uuids.length + 100L * otherPaperIds.size();
+        }
+
+        // Compares the folded name of paper i with a folded key
+        int compareName(int i, String key) {
+            var from = offsets[i];
+            var length = offsets[i + 1] - from;
+            var common = Math.min(length, key.length());
+            for (var k = 0; k < common; k++) {
+                var difference = Character.toLowerCase(chars[from + k]) - key.charAt(k);
+                if (difference != 0) {
+                    return difference;
+                }
+            }
+            return length - key.length();
+        }
+
+        int compareTo(int i, String key, long id) {
+            var byName = compareName(i, key);
+            return byName != 0 ? byName : Long.compare(ids[i], id);
+        }
+
+        // Compares papers i and j by folded name and then id
+        int compare(int i, int j) {
+            var length = offsets[i + 1] - offsets[i];
+            var otherLength = offsets[j + 1] - offsets[j];
+            var common = Math.min(length, otherLength);
+            for (var k = 0; k < common; k++) {
+                var difference = Character.toLowerCase(chars[offsets[i] + k]) - Character.toLowerCase(chars[offsets[j] + k]);
+                if (difference != 0) {
+                    return difference;
+                }
+            }
+            return length != otherLength ? length - otherLength : Long.compare(ids[i], ids[j]);
+        }
+
+        boolean startsWith(int i, String key) {
+            var from = offsets[i];
+            if (offsets[i + 1] - from < key.length()) {
+                return false;
+            }
+            for (var k = 0; k < key.length(); k++) {
+                if (Character.toLowerCase(chars[from + k]) != key.charAt(k)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Returns the first paper whose folded name is not less than the key
+        int lowerBound(String key) {
+            var low = 0;
+            var high = size();
+            while (low < high) {
+                var middle = (low + high) >>> 1;
+                if (compareName(middle, key) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        // Returns the position of the paper with the folded name and id, or -1
+        int indexOf(String key, long id) {
+            var low = 0;
+            var high = size();
+            while (low < high) {
+                var middle = (low + high) >>> 1;
+                if (compareTo(middle, key, id) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low < size() && compareTo(low, key, id) == 0 ? low : -1;
+        }
+    }
+
+    /**
+     * A paper added since the base was built.
+     *
+     * @param id      the database id of the paper
+     * @param paperId the paper ID
+     * @param name    the paper name
+     * @param key     the folded name the delta is sorted by
+     */
+    private record Entry(long id, String paperId, String name, String key) {
+
+        Suggestion suggestion() {
+            return new Suggestion(paperId, name);
+        }
+    }
+
+    /**
+     * One consistent state of the index.
+     *
+     * @param base   the sorted compact arrays
+     * @param hidden the sorted ids of base papers that were removed
+     * @param delta  the papers added since the base was built, sorted by folded name and id
+     */
+    private record Snapshot(Base base, long[] hidden, Entry[] delta) {
+    }
+}
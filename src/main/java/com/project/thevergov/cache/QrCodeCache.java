@@ -0,0 +1,81 @@
+package com.project.thevergov.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import jakarta.validation.constraints.NotNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * QrCodeCache: A short-lived cache of rendered MFA QR code images, bounded by their total size in bytes.
+ * <p>
+ * QR codes are rendered on demand from the user's secret instead of being stored with the user, so repeated
+ * requests while a user sets up MFA would otherwise render the same PNG again. Entries are keyed by a hash of the
+ * secret, so a new secret never sees an old image and raw secrets are not retained as keys.
+ * Hit and miss counts are published to the given {@link MeterRegistry} under the name {@code qrCodeCache}.
+ */
+@Slf4j
+public class QrCodeCache {
+
+    /**
+     * A rendered QR code image.
+     *
+     * @param png the PNG bytes
+     */
+    public record QrCodeImage(byte[] png) {
+    }
+
+    // Cache instance mapping secret hashes to rendered images
+    private final Cache<String, QrCodeImage> cache;
+
+    /**
+     * Constructs a QrCodeCache.
+     *
+     * @param maximumBytes the maximum total size of the cached images
+     * @param timeToLive   the duration after which an image is rendered again
+     * @param timeUnit     the time unit for the time-to-live
+     * @param registry     the registry the cache statistics are published to
+     */
+    public QrCodeCache(long maximumBytes, long timeToLive, TimeUnit timeUnit, MeterRegistry registry) {
+        cache = CacheBuilder.newBuilder()
+                .maximumWeight(maximumBytes)
+                .<String, QrCodeImage>weigher((secretHash, image) -> image.png().length)
+                .expireAfterWrite(timeToLive, timeUnit)
+                .recordStats()
+                .build();
+        GuavaCacheMetrics.monitor(registry, cache, "qrCodeCache");
+    }
+
+    /**
+     * Returns the image for a secret, rendering it if it is not cached. Concurrent requests for the same secret
+     * share a single rendering.
+     *
+     * @param secret   the MFA secret encoded in the QR code
+     * @param renderer the function rendering the PNG on a miss
+     * @return the cached or newly rendered image
+     */
+    public QrCodeImage get(@NotNull String secret, Supplier<byte[]> renderer) {
+        try {
+            return cache.get(hash(secret), () -> new QrCodeImage(renderer.get()));
+        } catch (ExecutionException | UncheckedExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(exception.getCause());
+        }
+    }
+
+    // Hashes the secret so raw MFA secrets are not retained as cache keys
+    private static String hash(String secret) {
+        return Hashing.sha256().hashString(secret, UTF_8).toString();
+    }
+}
@@ -0,0 +1,98 @@
+package com.project.thevergov.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.project.thevergov.domain.Token;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import jakarta.validation.constraints.NotNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * RefreshTokenCache: Coordinates refresh-token rotation, keyed by the refresh token's ID ({@code jti}).
+ * <p>
+ * Concurrent refreshes with the same refresh token are collapsed into one: the first caller mints the new token pair
+ * and every caller waiting on the same ID, or arriving within the grace period, receives that same pair. Once
+ * a refresh token has been exchanged it is remembered as consumed, together with the pair it was exchanged for, for
+ * the retention period; presenting it again after the grace period is reported as reuse, which indicates the token
+ * was copied.
+ * Consumed IDs are held in memory, so reuse is only detected on the node that performed the rotation.
+ */
+@Slf4j
+public class RefreshTokenCache {
+
+    // Refresh tokens already exchanged, with the pair each one was exchanged for and when
+    private final Cache<String, Rotation> consumed;
+
+    // How long, in nanoseconds, a consumed refresh token still returns the same pair
+    private final long graceNanos;
+
+    /**
+     * Constructs a RefreshTokenCache with the specified grace and retention periods.
+     *
+     * @param maximumSize the maximum number of refresh token IDs to keep
+     * @param gracePeriod the duration during which a consumed refresh token still returns the same new pair
+     * @param retention   the duration for which a consumed refresh token is remembered
+     * @param timeUnit    the time unit for the grace and retention periods
+     * @param registry    the registry the cache statistics are published to
+     */
+    public RefreshTokenCache(long maximumSize, long gracePeriod, long retention, TimeUnit timeUnit, MeterRegistry registry) {
+        consumed = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(retention, timeUnit)
+                .concurrencyLevel(Runtime.getRuntime().availableProcessors())
+                .recordStats()
+                .build();
+        graceNanos = timeUnit.toNanos(gracePeriod);
+        GuavaCacheMetrics.monitor(registry, consumed, "refreshTokenCache");
+    }
+
+    /**
+     * Exchanges a refresh token for a new token pair, minting at most one pair per refresh token ID.
+     *
+     * @param tokenId the ID of the refresh token being exchanged
+     * @param minter  the supplier that mints the new token pair
+     * @return the new token pair, shared by every caller refreshing with the same token
+     */
+    public Token rotate(@NotNull String tokenId, Supplier<Token> minter) {
+        try {
+            return consumed.get(tokenId, () -> {
+                var token = minter.get();
+                // Mint both tokens now so callers sharing the pair never sign again
+                token.getAccess();
+                token.getRefresh();
+                return new Rotation(token, System.nanoTime());
+            }).token();
+        } catch (ExecutionException | UncheckedExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(exception.getCause());
+        }
+    }
+
+    /**
+     * Checks whether a refresh token was already exchanged and its grace period has passed.
+     *
+     * @param tokenId the ID of the refresh token
+     * @return true if the token is being reused
+     */
+    public boolean isReused(@NotNull String tokenId) {
+        var rotation = consumed.getIfPresent(tokenId);
+        return rotation != null && System.nanoTime() - rotation.rotatedAt() >= graceNanos;
+    }
+
+    /**
+     * Rotation: The token pair a refresh token was exchanged for.
+     *
+     * @param token     the new token pair
+     * @param rotatedAt the {@link System#nanoTime()} at which the pair was minted
+     */
+    private record Rotation(Token token, long rotatedAt) {
+    }
+}
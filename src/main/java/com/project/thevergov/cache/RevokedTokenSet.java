@@ -0,0 +1,211 @@
+package com.project.thevergov.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * RevokedTokenSet: A compact set of revoked token IDs that is checked on every authenticated request.
+ * <p>
+ * Token IDs are UUIDs, so each is stored as its two 64-bit halves in a flat {@code long[]} open-addressing table
+ * with linear probing, next to the epoch second the token expires at. There is one object per table rather than
+ * per entry, and a lookup is a hash and a few array reads. Lookups take an optimistic read stamp and only block if
+ * a write happened meanwhile, so concurrent requests do not contend with each other. Entries stay until
+ * {@link #purge(long)} drops the ones whose token has expired, after which the token is rejected for its
+ * expiration anyway. The earliest expiration in the set is tracked, so a purge before it returns without taking the
+ * lock or rebuilding the table. The number of entries is published to the given {@link MeterRegistry} as
+ * {@code jwt.revoked.tokens}.
+ */
+public class RevokedTokenSet {
+
+    // The table is grown once it is half full, which keeps probe sequences short
+    private static final int MAX_LOAD_PERCENT = 50;
+
+    private final StampedLock lock = new StampedLock();
+
+    // The current table; replaced as a whole when grown or purged
+    private Table table;
+
+    private int size;
+
+    // The earliest expiration of any entry, or Long.MAX_VALUE if there is none; written under the write lock
+    private volatile long earliestExpiration;
+
+    /**
+     * Constructs a RevokedTokenSet.
+     *
+     * @param initialCapacity the number of token IDs the set holds before it is first grown
+     * @param registry        the registry the number of entries is published to
+     */
+    public RevokedTokenSet(int initialCapacity, MeterRegistry registry) {
+        allocate(tableSize(initialCapacity));
+        Gauge.builder("jwt.revoked.tokens", this, RevokedTokenSet::size).register(registry);
+    }
+
+    /**
+     * Checks whether a token ID has been revoked.
+     *
+     * @param tokenId the ID (jti) of the token
+     * @return true if the token has been revoked
+     */
+    public boolean contains(@NotNull String tokenId) {
+        var id = toUuid(tokenId);
+        var stamp = lock.tryOptimisticRead();
+        var found = table.find(id.getMostSignificantBits(), id.getLeastSignificantBits()) >= 0;
+        if (lock.validate(stamp)) {
+            return found;
+        }
+        stamp = lock.readLock();
+        try {
+            return table.find(id.getMostSignificantBits(), id.getLeastSignificantBits()) >= 0;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Adds a revoked token ID; adding one that is already present keeps the later expiration.
+     *
+     * @param tokenId   the ID (jti) of the token
+     * @param expiresAt the epoch second the token expires at
+     */
+    public void add(@NotNull String tokenId, long expiresAt) {
+        var id = toUuid(tokenId);
+        var stamp = lock.writeLock();
+        try {
+            if ((size + 1) * 100L > (long) table.slots() * MAX_LOAD_PERCENT) {
+                rehash(table.slots() * 2, Long.MIN_VALUE);
+            }
+            insert(id.getMostSignificantBits(), id.getLeastSignificantBits(), Math.max(expiresAt, 1));
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes every token ID whose token has expired.
+     *
+     * @param now the current epoch second
+     * @return the number of removed token IDs
+     */
+    public int purge(long now) {
+        if (earliestExpiration > now) {
+            return 0;
+        }
+        var stamp = lock.writeLock();
+        try {
+            var before = size;
+            rehash(table.slots(), now);
+            return before - size;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Returns the number of token IDs in the set, including expired ones not yet purged.
+     *
+     * @return the number of token IDs
+     */
+    public int size() {
+        var stamp = lock.tryOptimisticRead();
+        var current = size;
+        return lock.validate(stamp) ? current : sizeLocked();
+    }
+
+    private int sizeLocked() {
+        var stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private void insert(long high, long low, long expiresAt) {
+        var slot = table.find(high, low);
+        if (slot >= 0) {
+            table.expirations[slot] = Math.max(table.expirations[slot], expiresAt);
+            return;
+        }
+        table.put(high, low, expiresAt);
+        size++;
+        earliestExpiration = Math.min(earliestExpiration, expiresAt);
+    }
+
+    // Rebuilds the table with the given number of slots, keeping entries that expire after the given second
+    private void rehash(int tableSize, long now) {
+        var old = table;
+        allocate(tableSize);
+        for (var slot = 0; slot < old.slots(); slot++) {
+            if (old.expirations[slot] != 0 && old.expirations[slot] > now) {
+                insert(old.keys[2 * slot], old.keys[2 * slot + 1], old.expirations[slot]);
+            }
+        }
+    }
+
+    private void allocate(int tableSize) {
+        table = new Table(new long[2 * tableSize], new long[tableSize]);
+        size = 0;
+        earliestExpiration = Long.MAX_VALUE;
+    }
+
+    private static int tableSize(int capacity) {
+        var slots = Math.max(16, capacity * 100L / MAX_LOAD_PERCENT);
+        return Integer.highestOneBit((int) Math.min(slots - 1, 1 << 29)) << 1;
+    }
+
+    // Token IDs are random UUIDs; any other ID is mapped onto one by hashing
+    private static UUID toUuid(String tokenId) {
+        try {
+            return UUID.fromString(tokenId);
+        } catch (IllegalArgumentException exception) {
+            return UUID.nameUUIDFromBytes(tokenId.getBytes(UTF_8));
+        }
+    }
+
+    /**
+     * The arrays of one table, published together so a lookup never pairs arrays of different sizes.
+     *
+     * @param keys        two longs per slot: the most and least significant bits of the token ID
+     * @param expirations the expiration per slot in epoch seconds; 0 marks an empty slot
+     */
+    private record Table(long[] keys, long[] expirations) {
+
+        int slots() {
+            return expirations.length;
+        }
+
+        // Returns the slot holding the ID, or -1; the table is never more than half full, so probing ends
+        int find(long high, long low) {
+            var mask = expirations.length - 1;
+            for (var slot = slotOf(high, low, mask); expirations[slot] != 0; slot = (slot + 1) & mask) {
+                if (keys[2 * slot] == high && keys[2 * slot + 1] == low) {
+                    return slot;
+                }
+            }
+            return -1;
+        }
+
+        void put(long high, long low, long expiresAt) {
+            var mask = expirations.length - 1;
+            var slot = slotOf(high, low, mask);
+            while (expirations[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            keys[2 * slot] = high;
+            keys[2 * slot + 1] = low;
+            expirations[slot] = expiresAt;
+        }
+
+        private static int slotOf(long high, long low, int mask) {
+            var hash = (high ^ low) * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.project.thevergov.cache;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.project.thevergov.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import jakarta.validation.constraints.NotNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SecurityVersionCache: A bounded cache of each user's current security version, keyed by user ID.
+ * <p>
+ * Tokens carry the security version the user had when they were issued; a token whose version no longer
+ * matches is rejected. Versions are loaded with a single-column query on a miss, so checking a token does not
+ * load the user or their credentials. Entries expire after the time-to-live, which bounds how long a change made
+ * on another node can go unnoticed; changes made on this node evict the entry as soon as they commit.
+ * Hit and miss counts are published to the given {@link MeterRegistry} under the name {@code securityVersionCache}.
+ */
+@Slf4j
+public class SecurityVersionCache {
+
+    // Cache instance mapping user IDs to their current security version; -1 marks an unknown user
+    private final LoadingCache<String, Long> cache;
+
+    /**
+     * Constructs a SecurityVersionCache that loads versions from the given repository.
+     *
+     * @param userRepository the repository the versions are loaded from on a miss
+     * @param maximumSize    the maximum number of users to keep
+     * @param timeToLive     the duration after which a version is loaded again
+     * @param timeUnit       the time unit for the time-to-live
+     * @param registry       the registry the cache statistics are published to
+     */
+    public SecurityVersionCache(UserRepository userRepository, long maximumSize, long timeToLive, TimeUnit timeUnit, MeterRegistry registry) {
+        cache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive, timeUnit)
+                .concurrencyLevel(Runtime.getRuntime().availableProcessors())
+                .recordStats()
+                .build(CacheLoader.from(userId -> userRepository.findSecurityVersionByUserId(userId).orElse(-1L)));
+        GuavaCacheMetrics.monitor(registry, cache, "securityVersionCache");
+    }
+
+    /**
+     * Checks whether a security version is still the user's current one.
+     *
+     * @param userId  the user ID the token was issued to
+     * @param version the security version carried by the token
+     * @return true if the user exists and the version matches
+     */
+    public boolean isCurrent(@NotNull String userId, long version) {
+        return cache.getUnchecked(userId) == version;
+    }
+
+    /**
+     * Evicts a user's cached version once the current transaction commits, or immediately if there is none.
+     * Evicting only after commit keeps a concurrent request from caching the version that is being replaced.
+     *
+     * @param userId the user ID whose version changed
+     */
+    public void evict(@NotNull String userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(userId);
+                }
+            });
+        } else {
+            cache.invalidate(userId);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.project.thevergov.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.project.thevergov.domain.TokenData;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import jakarta.validation.constraints.NotNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * TokenCache: A bounded cache of verified {@link TokenData} keyed by the SHA-256 hash of the raw JWT.
+ * <p>
+ * Each entry remembers the expiration of the token it was built from, so a cached verification is never
+ * served once the token itself has expired, even if the cache-wide time-to-live has not elapsed yet.
+ * Hit and miss counts are published to the given {@link MeterRegistry} under the name {@code tokenCache}.
+ */
+@Slf4j
+public class TokenCache {
+
+    // Cache instance mapping token hashes to verified token data
+    private final Cache<String, Entry> cache;
+
+    /**
+     * Constructs a TokenCache with the specified size bound and time-to-live.
+     *
+     * @param maximumSize the maximum number of verified tokens to keep
+     * @param timeToLive  the duration after which an entry is re-verified even if the token is still valid
+     * @param timeUnit    the time unit for the time-to-live
+     * @param registry    the registry the cache statistics are published to
+     */
+    public TokenCache(long maximumSize, long timeToLive, TimeUnit timeUnit, MeterRegistry registry) {
+        cache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive, timeUnit)
+                .concurrencyLevel(Runtime.getRuntime().availableProcessors())
+                .recordStats()
+                .build();
+        GuavaCacheMetrics.monitor(registry, cache, "tokenCache");
+    }
+
+    /**
+     * Returns the verified data for a token, verifying it with the given loader on a miss.
+     * <p>
+     * Only valid tokens with an expiration in the future are stored. Exceptions thrown by the loader
+     * (for example on a bad signature) are propagated unchanged and nothing is cached.
+     *
+     * @param token  the raw JWT
+     * @param loader the function that verifies the token and builds its data
+     * @return the verified token data
+     */
+    public TokenData get(@NotNull String token, Function<String, TokenData> loader) {
+        var key = hash(token);
+        var entry = cache.getIfPresent(key);
+        if (entry != null) {
+            if (entry.expiresAt().isAfter(Instant.now())) {
+                return entry.tokenData();
+            }
+            // The token expired while cached; drop it and let the loader reject it
+            cache.invalidate(key);
+        }
+        var tokenData = loader.apply(token);
+        var expiration = tokenData.getClaims().getExpiration();
+        if (tokenData.isValid() && expiration != null && expiration.toInstant().isAfter(Instant.now())) {
+            cache.put(key, new Entry(tokenData, expiration.toInstant()));
+        }
+        return tokenData;
+    }
+
+    /**
+     * Evicts the cached verification of a single token.
+     *
+     * @param token the raw JWT whose entry is to be removed
+     */
+    public void evict(@NotNull String token) {
+        cache.invalidate(hash(token));
+    }
+
+    /**
+     * Evicts every cached verification, forcing all tokens to be verified again.
+     */
+    public void evictAll() {
+        log.info("Removing all entries from token cache");
+        cache.invalidateAll();
+    }
+
+    // Hashes the token so raw bearer credentials are not retained as cache keys
+    private static String hash(String token) {
+        return Hashing.sha256().hashString(token, UTF_8).toString();
+    }
+
+    // Verified token data paired with the instant the token stops being valid
+    private record Entry(TokenData tokenData, Instant expiresAt) {
+    }
+}
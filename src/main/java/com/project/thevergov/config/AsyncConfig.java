@@ -0,0 +1,26 @@
+package com.project.thevergov.config;
+
+import com.project.thevergov.domain.RequestContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Configuration class for asynchronous execution.
+ * <p>
+ * Spring Boot applies the TaskDecorator defined here to the executor behind {@code @Async}, both the pooled one
+ * and the virtual-thread one used when {@code spring.threads.virtual.enabled} is set.
+ */
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * Creates a TaskDecorator that carries the submitting request's user ID over to the async task.
+     *
+     * @return a TaskDecorator propagating the {@link RequestContext}
+     */
+    @Bean
+    public TaskDecorator requestContextTaskDecorator() {
+        return RequestContext::propagate;
+    }
+}
@@ -0,0 +1,39 @@
+package com.project.thevergov.config;
+
+import com.project.thevergov.mail.SmtpTransportPool;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+
+/**
+ * Configuration class for sending mail.
+ * <p>
+ * The pool takes its session, server and credentials from the {@link JavaMailSenderImpl} Spring Boot configures
+ * from the {@code spring.mail} properties, so both send with the same settings.
+ */
+@Configuration
+public class MailConfig {
+
+    /**
+     * Creates a SmtpTransportPool that keeps authenticated connections to the mail server open.
+     *
+     * @param mailSender the configured mail sender whose settings are used
+     * @param size       the maximum number of open connections
+     * @param maxIdle    the number of seconds a connection may stay unused before it is closed
+     * @param registry   the registry the pool metrics are published to
+     * @return a SmtpTransportPool for the configured mail server
+     */
+    @Bean
+    public SmtpTransportPool smtpTransportPool(JavaMailSenderImpl mailSender,
+                                               @Value("${spring.mail.pool.size:4}") int size,
+                                               @Value("${spring.mail.pool.max-idle:60}") long maxIdle,
+                                               MeterRegistry registry) {
+        return new SmtpTransportPool(mailSender.getSession(), mailSender.getProtocol(), mailSender.getHost(),
+                mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword(), size,
+                Duration.ofSeconds(maxIdle), registry);
+    }
+}
@@ -11,15 +11,13 @@ public class Constants {
     // File Storage Constants
     public static final String FILE_STORAGE = System.getProperty("user.home") + "/Downloads/uploads/";
 
-    // Security and Strength Constants
-    public static final int STRENGTH = 12;
-
     // URL Constants
     public static final String BASE_PATH = "/**";
     public static final String LOGIN_PATH = "/user/login";
+    public static final String MFA_QR_CODE_PATH = "/user/mfa/qrcode";
 
-    // Public URL Endpoints
-    public static final String[] PUBLIC_URLS = {
+    // Public Routes: permitted without authentication and skipped by the authorization filter (see RouteClassifier)
+    public static final String[] PUBLIC_ROUTES = {
             "/user/reset-password/reset/**",
             "/user/verify/reset-password/**",
             "/user/reset-password/**",
@@ -29,33 +27,13 @@ public class Constants {
             "/user/register/**",
             "/user/new/password/**",
             "/user/verify/**",
-            "/user/reset-password/**",
             "/user/image/**",
             "/user/verify/password/**"
     };
 
-    // Public Routes
-    public static final String[] PUBLIC_ROUTES = {
-            "/user/reset-password/reset",
-            "/user/verify/reset-password",
-            "/user/reset-password",
-            "/user/verify/qrcode",
-            "/user/stream",
-            "/user/id",
-            "/user/login",
-            "/user/register",
-            "/user/new/password",
-            "/user/verify",
-            "/user/refresh/token",
-            "/user/reset-password",
-            "/user/image",
-            "/user/verify/account",
-            "/user/verify/password",
-            "/user/verify/code"
-    };
-
     // Header Constants
     public static final String FILE_NAME = "File-Name";
+    public static final String RETRY_AFTER_SECONDS = "1";
 
     // Miscellaneous Constants
     public static final String AUTHORITIES = "authorities";
@@ -63,6 +41,11 @@ public class Constants {
     public static final String ROLE = "role";
     public static final String THE_VERGOV_APP = "THE_VERGOV_APP";
 
+    // Token Claim Constants
+    public static final String ID = "uid";
+    public static final String EMAIL = "email";
+    public static final String SECURITY_VERSION = "sv";
+
     // Role-related Constants
     /**
      * ROLE_PREFIX: The prefix to be added before role names.
@@ -101,6 +84,7 @@ public class Constants {
     public static final String MANAGER_AUTHORITIES = "paper:create,paper:read,paper:update,paper:delete";
 
     // SQL Query Constants
+    // Name search matches the escaped term as a literal substring (ILIKE '%term%'), which index_papers_name_trgm serves
     public static final String SELECT_PAPERS_QUERY =
             "SELECT paper.id, " +
                     "       paper.paper_id, " +
@@ -145,10 +129,11 @@ public class Constants {
                     "FROM papers paper " +
                     "JOIN users owner ON owner.id = paper.created_by " +
                     "JOIN users updater ON updater.id = paper.updated_by " +
-                    "WHERE name ~* :paperName";
+                    "WHERE paper.name ILIKE :namePattern ESCAPE '\\' " +
+                    "ORDER BY similarity(paper.name, :paperName) DESC, paper.name, paper.id";
 
     public static final String SELECT_COUNT_PAPERS_BY_NAME_QUERY =
-            "SELECT COUNT(*) FROM papers WHERE name ~* :paperName";
+            "SELECT COUNT(*) FROM papers WHERE name ILIKE :namePattern ESCAPE '\\'";
 
     public static final String SELECT_PAPER_QUERY =
             "SELECT paper.id, " +
@@ -171,4 +156,61 @@ public class Constants {
                     "JOIN users owner ON owner.id = paper.created_by " +
                     "JOIN users updater ON updater.id = paper.updated_by " +
                     "WHERE paper.paper_id = ?1";
+
+    // Keyset variants of the listing queries: they seek past the (name, id) of the last row a client has seen, so the
+    // cost of a page does not grow with how far the client has scrolled. Backed by index_papers_name_id.
+    public static final String SELECT_PAPERS_AFTER_QUERY =
+            "SELECT paper.id, " +
+                    "       paper.paper_id, " +
+                    "       paper.name, " +
+                    "       paper.description, " +
+                    "       paper.uri, " +
+                    "       paper.icon, " +
+                    "       paper.size, " +
+                    "       paper.formatted_size, " +
+                    "       paper.extension, " +
+                    "       paper.reference_id, " +
+                    "       paper.created_at, " +
+                    "       paper.updated_at, " +
+                    "       CONCAT(owner.first_name, ' ', owner.last_name) AS owner_name, " +
+                    "       owner.email AS owner_email, " +
+                    "       owner.last_login AS owner_last_login, " +
+                    "       CONCAT(updater.first_name, ' ', updater.last_name) AS updater_name " +
+                    "FROM papers paper " +
+                    "JOIN users owner ON owner.id = paper.created_by " +
+                    "JOIN users updater ON updater.id = paper.updated_by " +
+                    "WHERE (paper.name, paper.id) > (:afterName, :afterId) " +
+                    "ORDER BY paper.name, paper.id " +
+                    "LIMIT :limit";
+
+    public static final String SELECT_PAPERS_BY_NAME_AFTER_QUERY =
+            "SELECT paper.id, " +
+                    "       paper.paper_id, " +
+                    "       paper.name, " +
+                    "       paper.description, " +
+                    "       paper.uri, " +
+                    "       paper.icon, " +
+                    "       paper.size, " +
+                    "       paper.formatted_size, " +
+                    "       paper.extension, " +
+                    "       paper.reference_id, " +
+                    "       paper.created_at, " +
+                    "       paper.updated_at, " +
+                    "       CONCAT(owner.first_name, ' ', owner.last_name) AS owner_name, " +
+                    "       owner.email AS owner_email, " +
+                    "       owner.last_login AS owner_last_login, " +
+                    "       CONCAT(updater.first_name, ' ', updater.last_name) AS updater_name " +
+                    "FROM papers paper " +
+                    "JOIN users owner ON owner.id = paper.created_by " +
+                    "JOIN users updater ON updater.id = paper.updated_by " +
+                    "WHERE paper.name ILIKE :namePattern ESCAPE '\\' " +
+                    "AND (paper.name, paper.id) > (:afterName, :afterId) " +
+                    "ORDER BY paper.name, paper.id " +
+                    "LIMIT :limit";
+
+    // Upper bound on the page size a client may request from the cursor endpoints
+    public static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    // Upper bound on the number of suggestions a client may request from the suggest endpoint
+    public static final int MAX_SUGGESTIONS = 20;
 }
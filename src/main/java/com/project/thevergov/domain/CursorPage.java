@@ -0,0 +1,23 @@
+package com.project.thevergov.domain;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+/**
+ * CursorPage: A record class representing one page of a keyset-paginated listing.
+ * Unlike {@link org.springframework.data.domain.Page} it carries no total count or page number, only the token
+ * to pass back for the following page.
+ */
+@JsonInclude(NON_NULL) // Omit nextCursor on the last page
+public record CursorPage<T>(
+        List<T> content,     // The items of this page
+        int size,            // The number of items on this page
+        String nextCursor) { // The opaque cursor of the following page, or null when this is the last page
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
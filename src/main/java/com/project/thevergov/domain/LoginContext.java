@@ -0,0 +1,27 @@
+package com.project.thevergov.domain;
+
+import com.project.thevergov.dto.User;
+import com.project.thevergov.entity.CredentialEntity;
+import com.project.thevergov.security.RoleRegistry;
+
+/**
+ * LoginContext: Everything a login needs about a user, loaded together by a single joined query.
+ * <p>
+ * The user, their role and their credential are fetched once when the login request is authenticated and then
+ * passed along, so the rest of the login flow does not query them again.
+ *
+ * @param user       the user, with role and authorities
+ * @param credential the user's stored credential
+ */
+public record LoginContext(User user, CredentialEntity credential) {
+
+    /**
+     * Creates the Spring Security principal for this login.
+     *
+     * @param roleRegistry the registry the user's parsed authorities are taken from
+     * @return a UserPrincipal backed by the loaded user and credential
+     */
+    public UserPrincipal principal(RoleRegistry roleRegistry) {
+        return new UserPrincipal(user, credential, roleRegistry.getAuthorities(user.getAuthorities()));
+    }
+}
@@ -0,0 +1,53 @@
+package com.project.thevergov.domain;
+
+import com.project.thevergov.exception.ApiException;
+
+import java.util.Base64;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * PaperCursor: The position of a client in a keyset-paginated paper listing.
+ * A cursor holds the {@code (name, id)} of the last paper the client has seen; the next page starts strictly after
+ * that tuple in {@code ORDER BY name, id} order. It travels as an opaque URL-safe Base64 token so clients do not
+ * build or depend on its contents.
+ *
+ * @param name the name of the last paper returned
+ * @param id   the database id of the last paper returned, used to break ties between papers with the same name
+ */
+public record PaperCursor(String name, long id) {
+
+    // Sorts before every stored paper, since names are never null and ids start at 1
+    public static final PaperCursor FIRST = new PaperCursor("", 0L);
+
+    private static final char SEPARATOR = ':';
+
+    /**
+     * Encodes this cursor as an opaque token.
+     *
+     * @return the URL-safe Base64 token
+     */
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((id + String.valueOf(SEPARATOR) + name).getBytes(UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}; a missing or blank token is the start of the listing.
+     *
+     * @param token the token sent by the client, possibly null
+     * @return the decoded cursor, or {@link #FIRST} when no token was sent
+     * @throws ApiException if the token is not a valid cursor
+     */
+    public static PaperCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST;
+        }
+        try {
+            var value = new String(Base64.getUrlDecoder().decode(token), UTF_8);
+            var separator = value.indexOf(SEPARATOR);
+            return new PaperCursor(value.substring(separator + 1), Long.parseLong(value.substring(0, separator)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException exception) {
+            throw new ApiException("Invalid cursor");
+        }
+    }
+}
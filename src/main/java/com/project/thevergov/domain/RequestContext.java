@@ -2,6 +2,12 @@ package com.project.thevergov.domain;
 
 /**
  * RequestContext: Manages user-specific context information for the duration of a request/thread.
+ * <p>
+ * The user ID is bound to the thread handling the request and removed by
+ * {@link com.project.thevergov.security.RequestContextScopeFilter} when the request ends, so it is never left
+ * behind on a pooled platform thread nor kept alive by a parked virtual thread. Work handed off with
+ * {@code @Async} carries the ID along through {@link #propagate(Runnable)}, which binds it only for the duration
+ * of the task and restores the worker's previous state afterwards.
  */
 public class RequestContext {
 
@@ -20,6 +26,14 @@ public class RequestContext {
         USER_ID.remove();
     }
 
+    /**
+     * clear: Removes the user ID from the current thread.
+     * Called when a request or task ends, so the ID does not outlive it.
+     */
+    public static void clear() {
+        USER_ID.remove();
+    }
+
     /**
      * setUserId: Sets the user ID for the current thread.
      *
@@ -37,4 +51,31 @@ public class RequestContext {
     public static Long getUserId() {
         return USER_ID.get();
     }
+
+    /**
+     * propagate: Wraps a task so that it runs with the user ID of the thread that submits it.
+     *
+     * @param task The task to run on another thread.
+     * @return A task that binds the submitting thread's user ID while it runs and restores the previous one after.
+     */
+    public static Runnable propagate(Runnable task) {
+        var userId = USER_ID.get();
+        return () -> {
+            var previous = USER_ID.get();
+            bind(userId);
+            try {
+                task.run();
+            } finally {
+                bind(previous);
+            }
+        };
+    }
+
+    private static void bind(Long userId) {
+        if (userId == null) {
+            USER_ID.remove();
+        } else {
+            USER_ID.set(userId);
+        }
+    }
 }
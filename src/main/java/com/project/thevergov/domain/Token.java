@@ -1,21 +1,39 @@
 package com.project.thevergov.domain;
 
 import lombok.Builder;
-import lombok.Getter;
-import lombok.Setter;
+
+import java.util.function.Supplier;
 
 /**
  * Token: A class representing a pair of access and refresh tokens.
- * This class uses Lombok annotations to generate boilerplate code such as getters, setters, and a builder.
+ * Each token is minted by its supplier the first time it is read and reused afterwards, so a caller that only
+ * needs one of the two does not pay for signing the other.
+ * This class uses Lombok annotations to generate boilerplate code such as a builder.
  */
 @Builder
-@Getter
-@Setter
 public class Token {
 
-    // Access token used for authenticating API requests
-    private String access;
+    // Supplier of the access token used for authenticating API requests; expected to be memoized
+    private final Supplier<String> access;
+
+    // Supplier of the refresh token used to obtain a new access token when the current one expires; expected to be memoized
+    private final Supplier<String> refresh;
+
+    /**
+     * Returns the access token, minting it on first use.
+     *
+     * @return the access token
+     */
+    public String getAccess() {
+        return access.get();
+    }
 
-    // Refresh token used to obtain a new access token when the current one expires
-    private String refresh;
+    /**
+     * Returns the refresh token, minting it on first use.
+     *
+     * @return the refresh token
+     */
+    public String getRefresh() {
+        return refresh.get();
+    }
 }
@@ -5,7 +5,6 @@ import com.project.thevergov.entity.CredentialEntity;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
@@ -24,6 +23,9 @@ public class UserPrincipal implements UserDetails {
     // CredentialEntity object containing user's credentials
     private final CredentialEntity credentialEntity;
 
+    // Authorities granted to the user, parsed once from the user's authority string
+    private final Collection<? extends GrantedAuthority> authorities;
+
     /**
      * Retrieves the authorities granted to the user.
      *
@@ -31,7 +33,7 @@ public class UserPrincipal implements UserDetails {
      */
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return AuthorityUtils.commaSeparatedStringToAuthorityList(user.getAuthorities());
+        return authorities;
     }
 
     /**
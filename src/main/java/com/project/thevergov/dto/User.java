@@ -96,7 +96,7 @@ public class User {
     private String authorities;
 
     /**
-     * The URI for the user's QR code image, if applicable.
+     * The URL the user's MFA QR code image is served from, set when MFA is being set up.
      */
     private String qrCodeImageUri;
 
@@ -124,4 +124,10 @@ public class User {
      * Indicates whether the user's credentials have expired.
      */
     private boolean credentialsNonExpired;
+
+    /**
+     * The security version stamped into the user's tokens; tokens carrying an older version are rejected.
+     */
+    @JsonIgnore
+    private long securityVersion;
 }
@@ -0,0 +1,29 @@
+package com.project.thevergov.dto.api;
+
+/**
+ * iPaperName: A read-only projection of a paper's identifiers and name.
+ * It carries only what the paper suggest index needs, so loading the index does not read whole papers.
+ */
+public interface iPaperName {
+
+    /**
+     * Gets the unique identifier of the paper.
+     *
+     * @return the unique ID of the paper
+     */
+    Long getId();
+
+    /**
+     * Gets the paper ID as a string.
+     *
+     * @return the paper ID
+     */
+    String getPaperId();
+
+    /**
+     * Gets the name of the paper.
+     *
+     * @return the name of the paper
+     */
+    String getName();
+}
@@ -26,9 +26,10 @@ import static java.time.LocalDateTime.*;
 public abstract class Auditable {
 
     // Primary Key (generated automatically)
+    // Each entity gets its own sequence (e.g. papers_seq) stepping by 50; with the pooled-lo optimizer one
+    // nextval covers the next 50 inserts, so inserts neither wait on nor contend for a shared sequence
     @Id
-    @SequenceGenerator(name = "primary_key_seq", sequenceName = "primary_key_seq", allocationSize = 1)
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "primary_key_seq")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     @Column(name = "id", updatable = false)
     private Long id;
 
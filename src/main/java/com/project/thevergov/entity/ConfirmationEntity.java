@@ -6,6 +6,8 @@ import lombok.*;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_DEFAULT;
@@ -38,13 +40,37 @@ public class ConfirmationEntity extends Auditable {
     @JsonProperty("user_id") // Rename the userEntity field to "user_id" in JSON
     private UserEntity userEntity;
 
+    // The key is no longer accepted after this time, and the row is purged in the background
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
     /**
-     * Constructor: Creates a ConfirmationEntity with a given UserEntity and password.
+     * Constructor: Creates a ConfirmationEntity with a given UserEntity and a new key.
      *
      * @param userEntity The associated UserEntity
+     * @param ttl        How long the key is valid for
      */
-    public ConfirmationEntity(UserEntity userEntity) {
+    public ConfirmationEntity(UserEntity userEntity, Duration ttl) {
         this.userEntity = userEntity;
+        renew(ttl);
+    }
+
+    /**
+     * Replaces the key with a new one that is valid for the given time.
+     *
+     * @param ttl How long the new key is valid for
+     */
+    public void renew(Duration ttl) {
         this.tokenKey = UUID.randomUUID().toString();
+        this.expiresAt = LocalDateTime.now().plus(ttl);
+    }
+
+    /**
+     * Checks whether the key has expired.
+     *
+     * @return true if the key is no longer valid
+     */
+    public boolean isExpired() {
+        return expiresAt == null || !expiresAt.isAfter(LocalDateTime.now());
     }
 }
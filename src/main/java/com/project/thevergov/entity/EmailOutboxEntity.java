@@ -0,0 +1,57 @@
+package com.project.thevergov.entity;
+
+import com.project.thevergov.enumeration.EventType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * EmailOutboxEntity: An email waiting to be sent, written in the same transaction as the change that triggers it.
+ * <p>
+ * A rolled back registration or password reset therefore never sends mail, and mail queued before a crash is
+ * still sent afterwards. Rows are deleted once sent. A row whose next attempt time is null has used up its
+ * attempts and is left for inspection. Emails are queued while registering, where no user is set in the request
+ * context, so this entity does not extend {@link Auditable}.
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "email_outbox")
+public class EmailOutboxEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", updatable = false)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false)
+    private EventType type;
+
+    @Column(name = "recipient", nullable = false)
+    private String recipient;
+
+    @Column(name = "name", nullable = false)
+    private String name;
+
+    @ToString.Exclude
+    @Column(name = "token_key", nullable = false)
+    private String tokenKey;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,37 @@
+package com.project.thevergov.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * RevokedTokenEntity: A revoked JWT, identified by its ID (jti).
+ * <p>
+ * Rows are kept until the token expires, so every node can rebuild its in-memory denylist at startup and pick up
+ * revocations made on other nodes. Tokens are revoked while handling logouts and refresh-token reuse, where no
+ * user is set in the request context, so this entity does not extend {@link Auditable}.
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "revoked_tokens")
+public class RevokedTokenEntity {
+
+    @Id
+    @Column(name = "token_id", updatable = false, nullable = false)
+    private String tokenId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+}
@@ -58,6 +58,9 @@ public class UserEntity extends Auditable {
     //just an idea still
     private boolean accountNonLocked;
 
+    // When a lock set for too many login attempts lapses; null for a lock that only an admin lifts
+    private LocalDateTime lockedUntil;
+
     private boolean enabled;
 
     //just an idea still
@@ -67,9 +70,9 @@ public class UserEntity extends Auditable {
     @JsonIgnore
     private String qrCodeSecret;
 
-    //just an idea still
-    @Column(columnDefinition = "text")
-    private String qrCodeImageUri;
+    // Bumped whenever a change must invalidate the user's issued tokens
+    @Column(nullable = false)
+    private long securityVersion;
 
     @ManyToOne(fetch = EAGER)
     @JoinTable(
@@ -1,6 +1,10 @@
 package com.project.thevergov.enumeration;
 
+import java.util.Arrays;
+import java.util.Map;
+
 import static com.project.thevergov.constant.Constants.*;
+import static java.util.stream.Collectors.toUnmodifiableMap;
 
 /**
  * Authority: An enumeration representing various authority levels within the application.
@@ -32,6 +36,11 @@ public enum Authority {
      */
     MANAGER(MANAGER_AUTHORITIES);
 
+    // Authority levels by their permissions, for converting stored values back without scanning;
+    // levels sharing the same permissions resolve to the one declared first
+    private static final Map<String, Authority> BY_VALUE = Arrays.stream(values())
+            .collect(toUnmodifiableMap(Authority::getValue, authority -> authority, (first, second) -> first));
+
     private final String value; // The permissions associated with the authority level.
 
     /**
@@ -51,4 +60,14 @@ public enum Authority {
     public String getValue() {
         return this.value;
     }
+
+    /**
+     * Retrieves the authority level with the given permissions.
+     *
+     * @param value The permissions of the authority level.
+     * @return The matching authority level, or null if there is none.
+     */
+    public static Authority fromValue(String value) {
+        return BY_VALUE.get(value);
+    }
 }
@@ -4,8 +4,6 @@ import com.project.thevergov.enumeration.Authority;
 import jakarta.persistence.AttributeConverter;
 import jakarta.persistence.Converter;
 
-import java.util.stream.Stream;
-
 /**
  * RoleConverter: A JPA AttributeConverter that handles the conversion between the `Authority` enum and its String representation
  * for persistence in the database.
@@ -36,9 +34,10 @@ public class RoleConverter implements AttributeConverter<Authority, String> {
             return null;
         }
 
-        return Stream.of(Authority.values())
-                .filter(authority -> authority.getValue().equals(code))
-                .findFirst() // Get the first matching Authority, if any
-                .orElseThrow(IllegalAccessError::new); // Throw an error if no match found (should be IllegalArgumentException ideally)
+        var authority = Authority.fromValue(code); // Look up the matching Authority by its value
+        if (authority == null) {
+            throw new IllegalAccessError(); // Throw an error if no match found (should be IllegalArgumentException ideally)
+        }
+        return authority;
     }
 }
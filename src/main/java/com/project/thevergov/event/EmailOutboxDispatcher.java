@@ -0,0 +1,208 @@
+package com.project.thevergov.event;
+
+import com.project.thevergov.entity.EmailOutboxEntity;
+import com.project.thevergov.repository.EmailOutboxRepository;
+import com.project.thevergov.service.EmailService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EmailOutboxDispatcher: Sends the emails queued in the {@code email_outbox} table.
+ * <p>
+ * A single dispatch thread claims due rows in batches with {@code FOR UPDATE SKIP LOCKED} and leases them by moving
+ * their next attempt past the time it takes to send them, so several nodes can dispatch at once without sending an
+ * email twice, and a burst of sign-ups is worked off batch by batch instead of starting a thread per email. The thread
+ * is woken by {@link #signal()} once a transaction that queued an email has committed, and by a poll that picks up
+ * retries and rows queued on other nodes. Signals arriving while a dispatch is already waiting are dropped, since that
+ * dispatch will see their rows too. Each batch is claimed in one short transaction, sent over one pooled SMTP
+ * connection outside of any transaction, and settled in a second short transaction: rows repeating an email already in
+ * the batch are deleted unsent, sent rows are deleted and failed ones are retried with exponential backoff until they
+ * run out of attempts. Rows of a dispatch that never settles, for example because its node stopped, are sent again once
+ * their lease runs out.
+ */
+@Component
+@Slf4j
+public class EmailOutboxDispatcher {
+
+    private final EmailOutboxRepository emailOutboxRepository;
+
+    private final EmailService emailService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+
+    private final Duration lease;
+
+    private final int maxAttempts;
+
+    private final Duration retryDelay;
+
+    private final Duration maxRetryDelay;
+
+    // One dispatch running and at most one waiting; further signals are discarded
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1),
+            runnable -> {
+                var thread = new Thread(runnable, "email-dispatcher");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.DiscardPolicy());
+
+    /**
+     * Constructs an EmailOutboxDispatcher.
+     *
+     * @param emailOutboxRepository the repository of queued emails
+     * @param emailService          the service sending the emails
+     * @param transactionTemplate   the template each batch runs in
+     * @param batchSize             the number of emails claimed per transaction
+     * @param lease                 the time in seconds claimed emails are hidden from other dispatches while sent
+     * @param maxAttempts           the number of attempts after which an email is given up on
+     * @param retryDelay            the delay in seconds before the first retry, doubled for each further one
+     * @param maxRetryDelay         the longest delay in seconds between two attempts
+     */
+    public EmailOutboxDispatcher(EmailOutboxRepository emailOutboxRepository,
+                                 EmailService emailService,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${email.outbox.batch-size:50}") int batchSize,
+                                 @Value("${email.outbox.lease:300}") long lease,
+                                 @Value("${email.outbox.max-attempts:8}") int maxAttempts,
+                                 @Value("${email.outbox.retry-delay:30}") long retryDelay,
+                                 @Value("${email.outbox.max-retry-delay:3600}") long maxRetryDelay) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.emailService = emailService;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.lease = Duration.ofSeconds(lease);
+        this.maxAttempts = maxAttempts;
+        this.retryDelay = Duration.ofSeconds(retryDelay);
+        this.maxRetryDelay = Duration.ofSeconds(maxRetryDelay);
+    }
+
+    /**
+     * Wakes the dispatch thread, unless a dispatch is already waiting to run.
+     */
+    public void signal() {
+        executor.execute(this::dispatchLogged);
+    }
+
+    /**
+     * Wakes the dispatch thread for rows the signals do not cover.
+     */
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval:1000}")
+    public void poll() {
+        signal();
+    }
+
+    /**
+     * Sends every email that is due, batch by batch, until fewer than a full batch are left.
+     */
+    public void dispatch() {
+        int claimed;
+        do {
+            claimed = dispatchBatch();
+        } while (claimed == batchSize);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private void dispatchLogged() {
+        try {
+            dispatch();
+        } catch (RuntimeException exception) {
+            log.error("Unable to dispatch queued emails: {}", exception.getMessage());
+        }
+    }
+
+    private int dispatchBatch() {
+        var claimed = transactionTemplate.execute(status -> claim());
+        if (claimed == null || claimed.isEmpty()) {
+            return 0;
+        }
+        var emails = new ArrayList<EmailOutboxEntity>(claimed.size());
+        var duplicates = new ArrayList<EmailOutboxEntity>();
+        var keys = new HashSet<String>();
+        for (var email : claimed) {
+            if (keys.add(coalescingKey(email))) {
+                emails.add(email);
+            } else {
+                duplicates.add(email);
+            }
+        }
+        var failures = emailService.sendEmails(emails);
+        var now = LocalDateTime.now();
+        var sent = new ArrayList<EmailOutboxEntity>();
+        var failed = new ArrayList<EmailOutboxEntity>();
+        for (var i = 0; i < emails.size(); i++) {
+            if (failures.get(i) == null) {
+                sent.add(emails.get(i));
+            } else {
+                reschedule(emails.get(i), now, failures.get(i));
+                failed.add(emails.get(i));
+            }
+        }
+        sent.addAll(duplicates);
+        transactionTemplate.executeWithoutResult(status -> settle(sent, failed));
+        log.debug("Sent {} of {} queued emails, {} duplicates dropped", sent.size() - duplicates.size(), emails.size(), duplicates.size());
+        return claimed.size();
+    }
+
+    // Claims due rows and leases them, so the row locks are released before the emails are sent
+    private List<EmailOutboxEntity> claim() {
+        var now = LocalDateTime.now();
+        var claimed = emailOutboxRepository.claimDue(now, batchSize);
+        claimed.forEach(email -> email.setNextAttemptAt(now.plus(lease)));
+        return claimed;
+    }
+
+    private void settle(List<EmailOutboxEntity> sent, List<EmailOutboxEntity> failed) {
+        if (!sent.isEmpty()) {
+            emailOutboxRepository.deleteAllInBatch(sent);
+        }
+        if (!failed.isEmpty()) {
+            emailOutboxRepository.saveAll(failed);
+        }
+    }
+
+    // Rows with the same key would send the same email to the same recipient
+    private static String coalescingKey(EmailOutboxEntity email) {
+        return email.getType() + ":" + email.getRecipient().toLowerCase(Locale.ROOT) + ":" + email.getTokenKey();
+    }
+
+    // Schedules the next attempt after an exponentially growing delay, or gives up once the attempts are used up
+    private void reschedule(EmailOutboxEntity email, LocalDateTime now, Exception exception) {
+        var attempts = email.getAttempts() + 1;
+        email.setAttempts(attempts);
+        email.setLastError(truncate(exception.getMessage()));
+        if (attempts >= maxAttempts) {
+            email.setNextAttemptAt(null);
+            log.error("Giving up on {} email {} after {} attempts: {}", email.getType(), email.getId(), attempts, exception.getMessage());
+            return;
+        }
+        var delay = retryDelay.multipliedBy(1L << Math.min(attempts - 1, 30));
+        email.setNextAttemptAt(now.plus(delay.compareTo(maxRetryDelay) > 0 ? maxRetryDelay : delay));
+        log.warn("Unable to send {} email {}, attempt {}: {}", email.getType(), email.getId(), attempts, exception.getMessage());
+    }
+
+    private static String truncate(String message) {
+        return message == null || message.length() <= 255 ? message : message.substring(0, 255);
+    }
+}
@@ -1,51 +1,90 @@
 package com.project.thevergov.event.listener;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.project.thevergov.entity.EmailOutboxEntity;
+import com.project.thevergov.event.EmailOutboxDispatcher;
 import com.project.thevergov.event.UserEvent;
-import com.project.thevergov.service.EmailService;
-import lombok.RequiredArgsConstructor;
+import com.project.thevergov.repository.EmailOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 
 /**
  * UserEventListener: A component that listens for UserEvent events and performs actions based on the event type.
  * <p>
  * This listener is responsible for handling user-related events such as registration and password reset
- * by triggering corresponding email notifications through the EmailService.
+ * by queueing the corresponding email notifications in the outbox, from where the {@link EmailOutboxDispatcher}
+ * sends them. Once the transaction commits, the dispatcher is woken and the email is remembered for the
+ * coalescing window, during which further events of the same type for the same recipient and confirmation key
+ * queue nothing. Repeated password reset requests reuse the pending confirmation, so they cost one email.
  */
 @Component
-@RequiredArgsConstructor
+@Slf4j
 public class UserEventListener {
 
-    private final EmailService emailService;
+    private final EmailOutboxRepository emailOutboxRepository;
+
+    private final EmailOutboxDispatcher emailOutboxDispatcher;
+
+    // Event type, recipient and confirmation key of the emails committed within the window
+    private final Cache<String, Boolean> recentlyQueued;
 
     /**
-     * Handles UserEvent events by checking the type of the event and performing the corresponding action.
+     * Constructs a UserEventListener.
+     *
+     * @param emailOutboxRepository the repository the emails are queued in
+     * @param emailOutboxDispatcher the dispatcher woken after an email is committed
+     * @param window                the number of seconds during which repeated emails are dropped
+     * @param maximumSize           the maximum number of emails remembered
+     */
+    public UserEventListener(EmailOutboxRepository emailOutboxRepository,
+                             EmailOutboxDispatcher emailOutboxDispatcher,
+                             @Value("${email.coalesce.window:300}") long window,
+                             @Value("${email.coalesce.maximum-size:100000}") long maximumSize) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.emailOutboxDispatcher = emailOutboxDispatcher;
+        this.recentlyQueued = CacheBuilder.newBuilder()
+                .expireAfterWrite(window, TimeUnit.SECONDS)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    /**
+     * Handles UserEvent events by queueing the email that belongs to the event type.
      * <p>
-     * Depending on the type of event (e.g., REGISTRATION or RESETPASSWORD), this method sends appropriate emails
-     * using the EmailService. It retrieves necessary details from the event object and passes them to the service
-     * for email sending.
+     * Events are published synchronously inside the transaction of the user service, so the outbox row is
+     * committed or rolled back together with the change that caused it, and no mail server is contacted while
+     * the request is handled.
      *
      * @param event The UserEvent object containing details about the event.
      */
     @EventListener
     public void onUserEvent(UserEvent event) {
-        // Determine action based on the event type
+        // Both event types send an email carrying the confirmation key
         switch (event.getType()) {
-            case REGISTRATION ->
-                // Handle new account registration by sending a verification email
-                    emailService.sendNewAccountEmail(
-                            event.getUser().getFirstName(),
-                            event.getUser().getEmail(),
-                            (String) event.getData().get("key")
-                    );
-
-            case RESETPASSWORD ->
-                // Handle password reset request by sending a reset email
-                    emailService.sendPasswordResetEmail(
-                            event.getUser().getFirstName(),
-                            event.getUser().getEmail(),
-                            (String) event.getData().get("key")
-                    );
+            case REGISTRATION, RESETPASSWORD -> {
+                if (recentlyQueued.getIfPresent(coalescingKey(event)) != null) {
+                    log.debug("Dropping repeated {} email within the coalescing window", event.getType());
+                    return;
+                }
+                var now = LocalDateTime.now();
+                emailOutboxRepository.save(EmailOutboxEntity.builder()
+                        .type(event.getType())
+                        .recipient(event.getUser().getEmail())
+                        .name(event.getUser().getFirstName())
+                        .tokenKey((String) event.getData().get("key"))
+                        .nextAttemptAt(now)
+                        .createdAt(now)
+                        .build());
+            }
 
             // Default case to handle any unexpected event types
             default -> {
@@ -53,4 +92,22 @@ public class UserEventListener {
             }
         }
     }
+
+    /**
+     * Starts the coalescing window for the email and wakes the dispatcher once the email has been committed.
+     * <p>
+     * Only committed emails start a window, so a rolled back request never suppresses the next one. The window
+     * is not extended by events dropped within it.
+     *
+     * @param event The UserEvent object containing details about the event.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserEventCommitted(UserEvent event) {
+        recentlyQueued.asMap().putIfAbsent(coalescingKey(event), Boolean.TRUE);
+        emailOutboxDispatcher.signal();
+    }
+
+    private static String coalescingKey(UserEvent event) {
+        return event.getType() + ":" + event.getUser().getEmail().toLowerCase(Locale.ROOT) + ":" + event.getData().get("key");
+    }
 }
@@ -0,0 +1,12 @@
+package com.project.thevergov.exception;
+
+/**
+ * Thrown when a bounded resource such as the password hashing pool is saturated and the request is rejected
+ * instead of being queued. Mapped to {@code 503 Service Unavailable} with a {@code Retry-After} header.
+ */
+public class CapacityExceededException extends RuntimeException {
+
+    public CapacityExceededException(String message) {
+        super(message);
+    }
+}
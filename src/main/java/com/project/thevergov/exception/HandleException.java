@@ -28,6 +28,7 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 import java.sql.SQLIntegrityConstraintViolationException;
 import java.util.stream.Collectors;
 
+import static com.project.thevergov.constant.Constants.RETRY_AFTER_SECONDS;
 import static com.project.thevergov.utils.RequestUtils.handleErrorResponse;
 import static org.apache.commons.lang3.exception.ExceptionUtils.getRootCauseMessage;
 import static org.springframework.http.HttpStatus.*;
@@ -59,6 +60,14 @@ public class HandleException extends ResponseEntityExceptionHandler implements E
         return new ResponseEntity<>(handleErrorResponse(exception.getMessage(), getRootCauseMessage(exception), request, BAD_REQUEST), BAD_REQUEST);
     }
 
+    @ExceptionHandler(CapacityExceededException.class)
+    public ResponseEntity<Response> capacityExceededException(CapacityExceededException exception) {
+        log.error(String.format("CapacityExceededException: %s", exception.getMessage()));
+        return ResponseEntity.status(SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body(handleErrorResponse(exception.getMessage(), getRootCauseMessage(exception), request, SERVICE_UNAVAILABLE));
+    }
+
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<Response> badCredentialsException(BadCredentialsException exception) {
         log.error(String.format("BadCredentialsException: %s", exception.getMessage()));
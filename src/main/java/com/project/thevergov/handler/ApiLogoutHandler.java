@@ -15,9 +15,9 @@ import static com.project.thevergov.enumeration.TokenType.REFRESH;
 /**
  * ApiLogoutHandler: Custom implementation of {@link LogoutHandler} to manage user logout functionality.
  * <p>
- * This class handles the logout process by clearing the security context and removing JWT tokens from cookies.
- * It integrates with {@link JwtService} to ensure that authentication tokens are properly invalidated and removed
- * from the user's cookies upon logout.
+ * This class handles the logout process by clearing the security context, revoking the JWT tokens and removing
+ * them from cookies. It integrates with {@link JwtService} to ensure that authentication tokens are properly
+ * invalidated on the server, so a copy of them cannot be used after logout, and removed from the user's cookies.
  */
 @RequiredArgsConstructor
 @Service
@@ -29,8 +29,9 @@ public class ApiLogoutHandler implements LogoutHandler {
      * Handles the logout process by clearing the security context and removing authentication tokens.
      * <p>
      * This method is called during the logout process. It uses {@link SecurityContextLogoutHandler} to clear
-     * the security context and then invokes {@link JwtService#removeCookie(HttpServletRequest, HttpServletResponse, String)}
-     * to remove both the access and refresh tokens from the user's cookies.
+     * the security context, then revokes both the access and refresh tokens with
+     * {@link JwtService#revokeToken(HttpServletRequest, String)} and removes them from the user's cookies with
+     * {@link JwtService#removeCookie(HttpServletRequest, HttpServletResponse, String)}.
      *
      * @param request        the {@link HttpServletRequest} object that contains the request the client made to the server
      * @param response       the {@link HttpServletResponse} object that contains the response the server sends to the client
@@ -42,6 +43,10 @@ public class ApiLogoutHandler implements LogoutHandler {
         SecurityContextLogoutHandler logoutHandler = new SecurityContextLogoutHandler();
         logoutHandler.logout(request, response, authentication);
 
+        // Revoke access and refresh tokens so copies of them are rejected until they expire
+        jwtService.revokeToken(request, ACCESS.getValue());
+        jwtService.revokeToken(request, REFRESH.getValue());
+
         // Remove access and refresh tokens from cookies
         jwtService.removeCookie(request, response, ACCESS.getValue());
         jwtService.removeCookie(request, response, REFRESH.getValue());
@@ -0,0 +1,219 @@
+package com.project.thevergov.mail;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+
+/**
+ * SmtpTransportPool: Keeps authenticated SMTP connections open and sends batches of messages over them.
+ * <p>
+ * Sending through {@code JavaMailSender} opens a connection, negotiates STARTTLS and authenticates for every call.
+ * Here at most {@code size} connections are open at once; a batch borrows one, sends every message over it and
+ * returns it, and the most recently used connection is handed out first so idle ones can be closed once they
+ * exceed the idle limit. A rejected recipient fails only its own message. A broken connection is replaced and
+ * the message retried once. Connections opened, idle connections and batch send times are published to the given
+ * {@link MeterRegistry}.
+ */
+@Slf4j
+public class SmtpTransportPool implements AutoCloseable {
+
+    private final Session session;
+
+    private final String protocol;
+
+    private final String host;
+
+    private final int port;
+
+    private final String username;
+
+    private final String password;
+
+    private final long maxIdleNanos;
+
+    private final Semaphore permits;
+
+    // Open connections not borrowed by a batch, most recently used first
+    private final Deque<PooledTransport> idle = new ConcurrentLinkedDeque<>();
+
+    private final Counter connectionsOpened;
+
+    private final Timer batchTimer;
+
+    /**
+     * Constructs a SmtpTransportPool.
+     *
+     * @param session  the mail session the connections and messages belong to
+     * @param protocol the transport protocol, usually {@code smtp}
+     * @param host     the mail server host
+     * @param port     the mail server port, or -1 for the protocol default
+     * @param username the user to authenticate as, or null to connect without authentication
+     * @param password the password of the user
+     * @param size     the maximum number of open connections
+     * @param maxIdle  how long a connection may stay unused before it is closed instead of reused
+     * @param registry the registry the pool metrics are published to
+     */
+    public SmtpTransportPool(Session session, String protocol, String host, int port, String username, String password,
+                             int size, Duration maxIdle, MeterRegistry registry) {
+        this.session = session;
+        this.protocol = protocol;
+        this.host = host;
+        this.port = port;
+        this.username = username;
+        this.password = password;
+        this.maxIdleNanos = maxIdle.toNanos();
+        this.permits = new Semaphore(size, true);
+        this.connectionsOpened = Counter.builder("mail.smtp.connections.opened").register(registry);
+        this.batchTimer = Timer.builder("mail.smtp.batch").register(registry);
+        Gauge.builder("mail.smtp.connections.idle", idle, Deque::size).register(registry);
+    }
+
+    /**
+     * Returns the session new messages are created in.
+     *
+     * @return the mail session
+     */
+    public Session getSession() {
+        return session;
+    }
+
+    /**
+     * Sends messages over one pooled connection, waiting for a connection if all are in use.
+     *
+     * @param messages the messages to send
+     * @return the failure per message, in the order of the messages, with null for each message that was sent
+     */
+    public List<MessagingException> send(List<MimeMessage> messages) {
+        var failures = new ArrayList<MessagingException>(messages.size());
+        if (messages.isEmpty()) {
+            return failures;
+        }
+        var sample = Timer.start();
+        try {
+            permits.acquire();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            var failure = new MessagingException("Interrupted while waiting for an SMTP connection", exception);
+            messages.forEach(message -> failures.add(failure));
+            return failures;
+        }
+        PooledTransport transport = null;
+        try {
+            for (var message : messages) {
+                try {
+                    if (transport == null) {
+                        transport = borrow();
+                    }
+                    failures.add(send(transport, message));
+                } catch (MessagingException exception) {
+                    // Connecting failed or the connection broke again right after reconnecting
+                    close(transport);
+                    transport = null;
+                    failures.add(exception);
+                }
+            }
+        } finally {
+            if (transport != null) {
+                transport.lastUsed = System.nanoTime();
+                idle.offerFirst(transport);
+            }
+            permits.release();
+            sample.stop(batchTimer);
+        }
+        return failures;
+    }
+
+    /**
+     * Closes every idle connection.
+     */
+    @Override
+    public void close() {
+        PooledTransport transport;
+        while ((transport = idle.pollFirst()) != null) {
+            close(transport);
+        }
+    }
+
+    // Sends one message, replacing the connection and retrying once if it broke; returns the recipient failure
+    private MessagingException send(PooledTransport transport, MimeMessage message) throws MessagingException {
+        message.saveChanges();
+        try {
+            transport.transport.sendMessage(message, message.getAllRecipients());
+            return null;
+        } catch (SendFailedException exception) {
+            return exception;
+        } catch (MessagingException exception) {
+            log.debug("SMTP connection failed, reconnecting: {}", exception.getMessage());
+            reconnect(transport);
+            try {
+                transport.transport.sendMessage(message, message.getAllRecipients());
+                return null;
+            } catch (SendFailedException retryException) {
+                return retryException;
+            }
+        }
+    }
+
+    // Takes the most recently used connection that is still open, closing stale ones, or opens a new one
+    private PooledTransport borrow() throws MessagingException {
+        PooledTransport transport;
+        while ((transport = idle.pollFirst()) != null) {
+            if (System.nanoTime() - transport.lastUsed <= maxIdleNanos && transport.transport.isConnected()) {
+                return transport;
+            }
+            close(transport);
+        }
+        transport = new PooledTransport(session.getTransport(protocol));
+        connect(transport);
+        return transport;
+    }
+
+    private void reconnect(PooledTransport transport) throws MessagingException {
+        close(transport);
+        connect(transport);
+    }
+
+    private void connect(PooledTransport transport) throws MessagingException {
+        transport.transport.connect(host, port, username, password);
+        connectionsOpened.increment();
+    }
+
+    private void close(PooledTransport transport) {
+        if (transport == null) {
+            return;
+        }
+        try {
+            transport.transport.close();
+        } catch (MessagingException exception) {
+            log.debug("Unable to close SMTP connection: {}", exception.getMessage());
+        }
+    }
+
+    /**
+     * An open connection and the time it was last returned to the pool.
+     */
+    private static final class PooledTransport {
+
+        private final Transport transport;
+
+        private long lastUsed = System.nanoTime();
+
+        PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+    }
+}
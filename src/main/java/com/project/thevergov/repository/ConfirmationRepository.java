@@ -5,8 +5,12 @@ import com.project.thevergov.entity.ConfirmationEntity;
 import com.project.thevergov.entity.UserEntity;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 
@@ -14,7 +18,14 @@ import java.util.Optional;
 @Repository
 public interface ConfirmationRepository extends JpaRepository<ConfirmationEntity, Long> {
 
-    Optional<ConfirmationEntity> findByTokenKey(String token);
+    // Expired keys are treated as unknown, even before the purge removes them
+    @Query("SELECT c FROM ConfirmationEntity c WHERE c.tokenKey = :token AND c.expiresAt > CURRENT_TIMESTAMP")
+    Optional<ConfirmationEntity> findByTokenKey(@Param("token") String token);
 
     Optional<ConfirmationEntity> findByUserEntity(UserEntity userEntity);
+
+    // Deletes one batch of the oldest expired rows, found through the expires_at index; rows locked by a concurrent purge are skipped
+    @Modifying
+    @Query(value = "DELETE FROM confirmations WHERE id IN (SELECT id FROM confirmations WHERE expires_at <= :now ORDER BY expires_at LIMIT :limit FOR UPDATE SKIP LOCKED)", nativeQuery = true)
+    int deleteExpired(@Param("now") LocalDateTime now, @Param("limit") int limit);
 }
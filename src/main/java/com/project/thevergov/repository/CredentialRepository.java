@@ -2,6 +2,8 @@ package com.project.thevergov.repository;
 
 import com.project.thevergov.entity.CredentialEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -12,4 +14,8 @@ public interface CredentialRepository extends JpaRepository<CredentialEntity, Lo
 
 
     Optional<CredentialEntity> getCredentialByUserEntityId(Long userId);
+
+    // Loads the credential together with its user and role in one statement, for login
+    @Query("SELECT c FROM CredentialEntity c JOIN FETCH c.userEntity u JOIN FETCH u.role WHERE lower(u.email) = lower(:email)")
+    Optional<CredentialEntity> findLoginCredentialByEmail(@Param("email") String email);
 }
@@ -0,0 +1,18 @@
+package com.project.thevergov.repository;
+
+import com.project.thevergov.entity.EmailOutboxEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxEntity, Long> {
+
+    // Locks the claimed rows until the transaction ends; rows locked by another node are skipped, not waited for
+    @Query(value = "SELECT * FROM email_outbox WHERE next_attempt_at <= :now ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<EmailOutboxEntity> claimDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
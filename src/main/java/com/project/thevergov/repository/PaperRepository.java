@@ -1,6 +1,7 @@
 package com.project.thevergov.repository;
 
 import com.project.thevergov.dto.api.iPaper;
+import com.project.thevergov.dto.api.iPaperName;
 import com.project.thevergov.entity.PaperEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -8,6 +9,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 import static com.project.thevergov.constant.Constants.*;
@@ -21,12 +23,23 @@ public interface PaperRepository extends JpaRepository<PaperEntity, Long> {
 
 
     @Query(countQuery = SELECT_COUNT_PAPERS_BY_NAME_QUERY, value = SELECT_PAPERS_BY_NAME_QUERY, nativeQuery = true)
-    Page<iPaper> findPapersByName(@Param("paperName") String paperName, Pageable pageable);
+    Page<iPaper> findPapersByName(@Param("paperName") String paperName, @Param("namePattern") String namePattern, Pageable pageable);
+
+
+    @Query(value = SELECT_PAPERS_AFTER_QUERY, nativeQuery = true)
+    List<iPaper> findPapersAfter(@Param("afterName") String afterName, @Param("afterId") long afterId, @Param("limit") int limit);
+
+
+    @Query(value = SELECT_PAPERS_BY_NAME_AFTER_QUERY, nativeQuery = true)
+    List<iPaper> findPapersByNameAfter(@Param("namePattern") String namePattern, @Param("afterName") String afterName, @Param("afterId") long afterId, @Param("limit") int limit);
 
 
     @Query(value = SELECT_PAPER_QUERY, nativeQuery = true)
     Optional<iPaper> findPaperByPaperId(String paperId);
 
+    @Query("SELECT p.id AS id, p.paperId AS paperId, p.name AS name FROM PaperEntity p WHERE p.id > :afterId ORDER BY p.id")
+    List<iPaperName> findPaperNamesAfter(@Param("afterId") long afterId, Pageable pageable);
+
     Optional<PaperEntity> findByPaperId(String paperId);
 
     Optional<PaperEntity> findByName(String name);
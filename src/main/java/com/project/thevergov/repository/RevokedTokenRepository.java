@@ -0,0 +1,23 @@
+package com.project.thevergov.repository;
+
+import com.project.thevergov.entity.RevokedTokenEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedTokenEntity, String> {
+
+    List<RevokedTokenEntity> findByExpiresAtAfter(LocalDateTime now);
+
+    List<RevokedTokenEntity> findByRevokedAtAfter(LocalDateTime since);
+
+    @Modifying
+    @Query("DELETE FROM RevokedTokenEntity t WHERE t.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -2,7 +2,14 @@ package com.project.thevergov.repository;
 
 import com.project.thevergov.entity.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 
@@ -17,6 +24,25 @@ public interface UserRepository extends JpaRepository<UserEntity, Long> {
 
     Optional<UserEntity> findUserByUserId(String userId);
 
+    @Query("SELECT u.securityVersion FROM UserEntity u WHERE u.userId = :userId")
+    Optional<Long> findSecurityVersionByUserId(@Param("userId") String userId);
+
+    @Query("SELECT u.userId FROM UserEntity u WHERE lower(u.email) IN :emails")
+    List<String> findUserIdsByEmails(@Param("emails") Collection<String> emails);
+
+    @Modifying
+    @Query("UPDATE UserEntity u SET u.accountNonLocked = false, u.lockedUntil = :lockedUntil, u.securityVersion = u.securityVersion + 1 WHERE lower(u.email) IN :emails AND u.accountNonLocked = true")
+    int lockAccounts(@Param("emails") Collection<String> emails, @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    // Only lifts locks set for too many login attempts; a lock without an expiry was set by an admin
+    @Modifying
+    @Query("UPDATE UserEntity u SET u.accountNonLocked = true, u.lockedUntil = null, u.loginAttempts = 0 WHERE lower(u.email) IN :emails AND u.accountNonLocked = false AND u.lockedUntil IS NOT NULL")
+    int unlockAccounts(@Param("emails") Collection<String> emails);
+
+    @Modifying
+    @Query("UPDATE UserEntity u SET u.lastLogin = :lastLogin, u.loginAttempts = 0 WHERE lower(u.email) IN :emails")
+    int updateLastLogin(@Param("emails") Collection<String> emails, @Param("lastLogin") LocalDateTime lastLogin);
+
 
 }
 
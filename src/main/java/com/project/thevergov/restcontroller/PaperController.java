@@ -126,6 +126,96 @@ public class PaperController {
                         OK));
     }
 
+    /**
+     * Retrieves a page of papers using keyset pagination.
+     * <p>
+     * Papers are ordered by name and id. Each response carries a {@code nextCursor} which, passed back as
+     * {@code cursor}, returns the following page; it is omitted on the last page. Unlike {@link #getPapers}, the cost of
+     * a page does not depend on how far the client has scrolled.
+     *
+     * @param user    the authenticated user making the request
+     * @param request the HTTP request object for generating the response
+     * @param cursor  the cursor returned with the previous page (omit for the first page)
+     * @param size    the size of each page (default is 5)
+     * @return a response entity containing the page of retrieved papers
+     */
+    @GetMapping("/cursor")
+    @PreAuthorize("hasAnyAuthority('paper:read') or hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+    public ResponseEntity<Response> getPapersAfter(
+            @AuthenticationPrincipal User user,
+            HttpServletRequest request,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "5") int size
+    ) {
+        var papers = paperService.getPapersAfter(cursor, size);
+        return ResponseEntity
+                .ok()
+                .body(getResponse(request,
+                        Map.of("papers", papers),
+                        "Paper(s) retrieved",
+                        OK));
+    }
+
+    /**
+     * Searches for papers by name using keyset pagination.
+     * <p>
+     * Behaves like {@link #getPapersAfter} restricted to papers whose name matches the filter. A cursor is only
+     * meaningful together with the filter it was issued for.
+     *
+     * @param user    the authenticated user making the request
+     * @param request the HTTP request object for generating the response
+     * @param cursor  the cursor returned with the previous page (omit for the first page)
+     * @param size    the size of each page (default is 5)
+     * @param name    the name filter for searching papers (default is an empty string)
+     * @return a response entity containing the page of papers that match the search criteria
+     */
+    @GetMapping("search/cursor")
+    @PreAuthorize("hasAnyAuthority('paper:read') or hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+    public ResponseEntity<Response> searchPapersAfter(
+            @AuthenticationPrincipal User user,
+            HttpServletRequest request,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "5") int size,
+            @RequestParam(value = "name", defaultValue = "") String name
+    ) {
+        var papers = paperService.getPapersAfter(cursor, size, name);
+        return ResponseEntity
+                .ok()
+                .body(getResponse(request,
+                        Map.of("papers", papers),
+                        "Paper(s) retrieved",
+                        OK));
+    }
+
+    /**
+     * Suggests papers whose name starts with the given prefix.
+     * <p>
+     * This endpoint serves type-ahead in the UI. It is answered from an in-memory index rather than the database, so
+     * it can be called on every keystroke.
+     *
+     * @param user    the authenticated user making the request
+     * @param request the HTTP request object for generating the response
+     * @param prefix  the prefix typed so far
+     * @param limit   the maximum number of suggestions (default is 10, at most 20)
+     * @return a response entity containing the suggested papers ordered by name
+     */
+    @GetMapping("/suggest")
+    @PreAuthorize("hasAnyAuthority('paper:read') or hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+    public ResponseEntity<Response> suggestPapers(
+            @AuthenticationPrincipal User user,
+            HttpServletRequest request,
+            @RequestParam(value = "prefix", defaultValue = "") String prefix,
+            @RequestParam(value = "limit", defaultValue = "10") int limit
+    ) {
+        var suggestions = paperService.suggestPapers(prefix, limit);
+        return ResponseEntity
+                .ok()
+                .body(getResponse(request,
+                        Map.of("suggestions", suggestions),
+                        "Suggestion(s) retrieved",
+                        OK));
+    }
+
     /**
      * Retrieves a specific paper by its ID.
      * <p>
@@ -179,6 +269,33 @@ public class PaperController {
                         OK));
     }
 
+    /**
+     * Deletes a specific paper.
+     * <p>
+     * This endpoint removes the paper identified by its ID together with its stored file. Access is controlled by
+     * user permissions.
+     *
+     * @param user     the authenticated user performing the deletion
+     * @param paperId  the ID of the paper to be deleted
+     * @param request  the HTTP request object for generating the response
+     * @return a response entity confirming the deletion
+     */
+    @DeleteMapping("/{paperId}")
+    @PreAuthorize("hasAnyAuthority('paper:delete') or hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+    public ResponseEntity<Response> deletePaper(
+            @AuthenticationPrincipal User user,
+            @PathVariable("paperId") String paperId,
+            HttpServletRequest request
+    ) {
+        paperService.deletePaper(paperId);
+        return ResponseEntity
+                .ok()
+                .body(getResponse(request,
+                        emptyMap(),
+                        "Paper deleted",
+                        OK));
+    }
+
     /**
      * Downloads a paper by its name.
      * <p>
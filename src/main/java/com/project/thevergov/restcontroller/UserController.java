@@ -10,6 +10,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -112,96 +113,114 @@ public class UserController {
      * Updates the profile of the authenticated user.
      * <p>
      * This endpoint allows the authenticated user to update their profile details such as name, email, and bio.
+     * The change revokes the user's tokens, so the caller gets new cookies carrying the updated profile.
      *
      * @param userPrincipal the authenticated user
      * @param userRequest   the request body containing updated user details
+     * @param response      the HTTP response object for reissuing the session cookies
      * @param request       the HTTP request object for generating the response
      * @return a response entity indicating the update status
      */
     @PatchMapping("/update")
     @PreAuthorize("hasAnyAuthority('user:update') or hasAnyRole('ADMIN', 'SUPER_ADMIN')")
-    public ResponseEntity<Response> update(@AuthenticationPrincipal User userPrincipal, @RequestBody UserRequest userRequest, HttpServletRequest request) {
+    public ResponseEntity<Response> update(@AuthenticationPrincipal User userPrincipal, @RequestBody UserRequest userRequest, HttpServletResponse response, HttpServletRequest request) {
         User user = userService.updateUser(userPrincipal.getUserId(), userRequest.getFirstName(), userRequest.getLastName(), userRequest.getEmail(), userRequest.getBio());
+        reissueCookies(userPrincipal.getUserId(), response);
         return ResponseEntity.ok().body(getResponse(request, Map.of("user", user), "User is updated successfully", OK));
     }
 
     /**
      * Updates the role of the authenticated user.
      * <p>
-     * This endpoint allows the authenticated user to update their role.
+     * This endpoint allows the authenticated user to update their role. The change revokes the user's tokens,
+     * so the caller gets new cookies carrying the new role's authorities.
      *
      * @param userPrincipal the authenticated user
      * @param roleRequest   the request body containing the new role
+     * @param response      the HTTP response object for reissuing the session cookies
      * @param request       the HTTP request object for generating the response
      * @return a response entity indicating the role update status
      */
     @PatchMapping("/update-role")
     @PreAuthorize("hasAnyAuthority('user:update') or hasAnyRole('ADMIN', 'SUPER_ADMIN')")
-    public ResponseEntity<Response> updateRole(@AuthenticationPrincipal User userPrincipal, @RequestBody RoleRequest roleRequest, HttpServletRequest request) {
+    public ResponseEntity<Response> updateRole(@AuthenticationPrincipal User userPrincipal, @RequestBody RoleRequest roleRequest, HttpServletResponse response, HttpServletRequest request) {
         userService.updateRole(userPrincipal.getUserId(), roleRequest.getRole());
+        reissueCookies(userPrincipal.getUserId(), response);
         return ResponseEntity.ok().body(getResponse(request, emptyMap(), "Role is updated successfully", OK));
     }
 
     /**
      * Toggles the locked status of the authenticated user account.
      * <p>
-     * This endpoint allows toggling the locked status of the user's account.
+     * This endpoint allows toggling the locked status of the user's account. The change revokes the user's tokens;
+     * the caller gets new cookies if the account can still log in, and is logged out otherwise.
      *
      * @param userPrincipal the authenticated user
+     * @param response      the HTTP response object for reissuing the session cookies
      * @param request       the HTTP request object for generating the response
      * @return a response entity indicating the account locked status update
      */
     @PatchMapping("/toggle-account-locked")
     @PreAuthorize("hasAnyAuthority('user:update') or hasAnyRole('ADMIN', 'SUPER_ADMIN')")
-    public ResponseEntity<Response> toggleAccountLocked(@AuthenticationPrincipal User userPrincipal, HttpServletRequest request) {
+    public ResponseEntity<Response> toggleAccountLocked(@AuthenticationPrincipal User userPrincipal, HttpServletResponse response, HttpServletRequest request) {
         userService.toggleAccountLocked(userPrincipal.getUserId());
+        reissueCookies(userPrincipal.getUserId(), response);
         return ResponseEntity.ok().body(getResponse(request, emptyMap(), "Account is updated successfully", OK));
     }
 
     /**
      * Toggles the enabled status of the authenticated user account.
      * <p>
-     * This endpoint allows toggling the enabled status of the user's account.
+     * This endpoint allows toggling the enabled status of the user's account. The change revokes the user's tokens;
+     * the caller gets new cookies if the account can still log in, and is logged out otherwise.
      *
      * @param userPrincipal the authenticated user
+     * @param response      the HTTP response object for reissuing the session cookies
      * @param request       the HTTP request object for generating the response
      * @return a response entity indicating the account enabled status update
      */
     @PatchMapping("/toggle-account-enabled")
     @PreAuthorize("hasAnyAuthority('user:update') or hasAnyRole('ADMIN', 'SUPER_ADMIN')")
-    public ResponseEntity<Response> toggleAccountEnabled(@AuthenticationPrincipal User userPrincipal, HttpServletRequest request) {
+    public ResponseEntity<Response> toggleAccountEnabled(@AuthenticationPrincipal User userPrincipal, HttpServletResponse response, HttpServletRequest request) {
         userService.toggleAccountEnabled(userPrincipal.getUserId());
+        reissueCookies(userPrincipal.getUserId(), response);
         return ResponseEntity.ok().body(getResponse(request, emptyMap(), "Account is updated successfully", OK));
     }
 
     /**
      * Toggles the expired status of the authenticated user account.
      * <p>
-     * This endpoint allows toggling the expired status of the user's account.
+     * This endpoint allows toggling the expired status of the user's account. The change revokes the user's tokens;
+     * the caller gets new cookies if the account can still log in, and is logged out otherwise.
      *
      * @param userPrincipal the authenticated user
+     * @param response      the HTTP response object for reissuing the session cookies
      * @param request       the HTTP request object for generating the response
      * @return a response entity indicating the account expired status update
      */
     @PatchMapping("/toggle-account-expired")
     @PreAuthorize("hasAnyAuthority('user:update') or hasAnyRole('ADMIN', 'SUPER_ADMIN')")
-    public ResponseEntity<Response> toggleAccountExpired(@AuthenticationPrincipal User userPrincipal, HttpServletRequest request) {
+    public ResponseEntity<Response> toggleAccountExpired(@AuthenticationPrincipal User userPrincipal, HttpServletResponse response, HttpServletRequest request) {
         userService.toggleAccountExpired(userPrincipal.getUserId());
+        reissueCookies(userPrincipal.getUserId(), response);
         return ResponseEntity.ok().body(getResponse(request, emptyMap(), "Account is updated successfully", OK));
     }
 
     /**
      * Toggles the expired status of the authenticated user's credentials.
      * <p>
-     * This endpoint allows toggling the expired status of the user's credentials.
+     * This endpoint allows toggling the expired status of the user's credentials. The change revokes the user's
+     * tokens; the caller gets new cookies if the credentials are still valid, and is logged out otherwise.
      *
      * @param userPrincipal the authenticated user
+     * @param response      the HTTP response object for reissuing the session cookies
      * @param request       the HTTP request object for generating the response
      * @return a response entity indicating the credentials expired status update
      */
     @PatchMapping("/toggle-credentials-expired")
-    public ResponseEntity<Response> toggleCredentialsExpired(@AuthenticationPrincipal User userPrincipal, HttpServletRequest request) {
+    public ResponseEntity<Response> toggleCredentialsExpired(@AuthenticationPrincipal User userPrincipal, HttpServletResponse response, HttpServletRequest request) {
         userService.toggleCredentialsExpired(userPrincipal.getUserId());
+        reissueCookies(userPrincipal.getUserId(), response);
         return ResponseEntity.ok().body(getResponse(request, emptyMap(), "Account is updated successfully", OK));
     }
 
@@ -237,6 +256,22 @@ public class UserController {
         return ResponseEntity.ok().body(getResponse(httpServletRequest, Map.of("user", user), "MFA canceled successfully", OK));
     }
 
+    /**
+     * Retrieves the MFA QR code image of the authenticated user.
+     * <p>
+     * The image is rendered from the user's secret on demand. It encodes the secret, so it must not be stored by
+     * browsers or intermediaries.
+     *
+     * @param userPrincipal the authenticated user
+     * @return the QR code as a PNG image
+     */
+    @GetMapping(value = "/mfa/qrcode", produces = {IMAGE_PNG_VALUE})
+    @PreAuthorize("hasAnyAuthority('user:update') or hasAnyRole('USER','ADMIN', 'SUPER_ADMIN')")
+    public ResponseEntity<byte[]> getQrCode(@AuthenticationPrincipal User userPrincipal) {
+        var image = userService.getQrCodeImage(userPrincipal.getUserId());
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(image.png());
+    }
+
     /**
      * Verifies a QR code for Multi-Factor Authentication (MFA).
      * <p>
@@ -258,16 +293,19 @@ public class UserController {
     /**
      * Updates the password of the authenticated user.
      * <p>
-     * This endpoint allows the authenticated user to update their password.
+     * This endpoint allows the authenticated user to update their password. Every other session of the user is
+     * logged out; the caller gets new cookies.
      *
      * @param userPrincipal the authenticated user
      * @param passwordRequest the request body containing the current and new passwords
+     * @param response      the HTTP response object for reissuing the session cookies
      * @param request       the HTTP request object for generating the response
      * @return a response entity indicating the password update status
      */
     @PatchMapping("/update-password")
-    public ResponseEntity<Response> updatePassword(@AuthenticationPrincipal User userPrincipal, @RequestBody UpdatePasswordRequest passwordRequest, HttpServletRequest request) {
+    public ResponseEntity<Response> updatePassword(@AuthenticationPrincipal User userPrincipal, @RequestBody UpdatePasswordRequest passwordRequest, HttpServletResponse response, HttpServletRequest request) {
         userService.updatePassword(userPrincipal.getUserId(), passwordRequest.getPassword(), passwordRequest.getNewPassword(), passwordRequest.getConfirmNewPassword());
+        reissueCookies(userPrincipal.getUserId(), response);
         return ResponseEntity.ok().body(getResponse(request, emptyMap(), "Password is updated successfully", OK));
     }
 
@@ -306,7 +344,8 @@ public class UserController {
     /**
      * Resets the user's password.
      * <p>
-     * This endpoint allows the user to set a new password after verifying the reset key.
+     * This endpoint allows the user to set a new password after verifying the reset key. Every session of the user
+     * is logged out, so the user logs in again with the new password.
      *
      * @param resetPasswordRequest the request body containing the new password details
      * @param request              the HTTP request object for generating the response
@@ -381,6 +420,21 @@ public class UserController {
         return Files.readAllBytes(Paths.get(FILE_STORAGE + filename));
     }
 
+    /**
+     * Issues new access and refresh cookies to the caller after a change revoked the user's tokens, as the refresh
+     * path does, unless the account can no longer log in.
+     *
+     * @param userId   the ID of the user whose tokens were revoked
+     * @param response the HTTP response object for setting cookies
+     */
+    private void reissueCookies(String userId, HttpServletResponse response) {
+        var user = userService.getUserByUserId(userId);
+        if (user.isAccountNonLocked() && user.isEnabled() && user.isAccountNonExpired() && user.isCredentialsNonExpired()) {
+            jwtService.addCookie(response, user, TokenType.ACCESS);
+            jwtService.addCookie(response, user, TokenType.REFRESH);
+        }
+    }
+
     /**
      * Generates a URI for the response headers.
      * <p>
@@ -1,6 +1,7 @@
 package com.project.thevergov.security;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.project.thevergov.domain.Response;
 import com.project.thevergov.dto.LoginRequest;
 import com.project.thevergov.dto.User;
@@ -43,6 +44,9 @@ import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 @Slf4j
 public class ApiAuthenticationFilter extends AbstractAuthenticationProcessingFilter {
 
+    private static final ObjectMapper MAPPER = new ObjectMapper().configure(AUTO_CLOSE_SOURCE, true);
+    private static final ObjectReader LOGIN_REQUEST_READER = MAPPER.readerFor(LoginRequest.class);
+
     private final UserService userService;
     private final JwtService jwtService;
 
@@ -78,11 +82,10 @@ public class ApiAuthenticationFilter extends AbstractAuthenticationProcessingFil
             throws AuthenticationException, IOException, ServletException {
         try {
             // Parse the login request from the request body
-            var user = new ObjectMapper().configure(AUTO_CLOSE_SOURCE, true)
-                    .readValue(request.getInputStream(), LoginRequest.class);
+            LoginRequest user = LOGIN_REQUEST_READER.readValue(request.getInputStream());
 
             // Update login attempt in the user service
-            userService.updateLoginAttempt(user.getEmail(), LoginType.LOGIN_ATTEMPT);
+            userService.updateLoginAttempt(user.getEmail(), request.getRemoteAddr(), LoginType.LOGIN_ATTEMPT);
 
             // Create an authentication object and authenticate
             var authentication = unauthenticated(user.getEmail(), user.getPassword());
@@ -109,7 +112,7 @@ public class ApiAuthenticationFilter extends AbstractAuthenticationProcessingFil
                                             FilterChain chain, Authentication authentication)
             throws IOException, ServletException {
         var user = (User) authentication.getPrincipal();
-        userService.updateLoginAttempt(user.getEmail(), LoginType.LOGIN_SUCCESS);
+        userService.updateLoginAttempt(user.getEmail(), request.getRemoteAddr(), LoginType.LOGIN_SUCCESS);
 
         // Determine the appropriate response based on MFA status
         var httpResponse = user.isMfa() ? sendQrCode(request, user) : sendResponse(request, response, user);
@@ -117,8 +120,7 @@ public class ApiAuthenticationFilter extends AbstractAuthenticationProcessingFil
         response.setContentType(APPLICATION_JSON_VALUE);
         response.setStatus(OK.value());
         var out = response.getOutputStream();
-        var mapper = new ObjectMapper();
-        mapper.writeValue(out, httpResponse);
+        MAPPER.writeValue(out, httpResponse);
         out.flush();
     }
 
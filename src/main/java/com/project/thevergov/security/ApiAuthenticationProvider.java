@@ -4,30 +4,53 @@ import com.project.thevergov.domain.UserPrincipal;
 import com.project.thevergov.domain.VergovAuthentication;
 import com.project.thevergov.exception.ApiException;
 import com.project.thevergov.service.UserService;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.security.authentication.*;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
 import static com.project.thevergov.domain.VergovAuthentication.authenticated;
+import static org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME;
 
 /**
  * ApiAuthenticationProvider: Custom implementation of AuthenticationProvider.
  * <p>
  * This provider handles the authentication logic, including checking credentials,
- * account status, and more. It uses BCrypt for password encoding and validation.
+ * account status, and more. Passwords are verified on the {@link PasswordHasher} pool, and a password whose stored
+ * hash was made with outdated encoder settings is rehashed after a successful login.
  */
 @Component
-@RequiredArgsConstructor
+@Slf4j
 public class ApiAuthenticationProvider implements AuthenticationProvider {
 
     private final UserService userService;
-    private final BCryptPasswordEncoder encoder;
+    private final PasswordHasher passwordHasher;
+    private final RoleRegistry roleRegistry;
+
+    // Runs the database write of an upgraded hash, so the hashing pool is only ever busy hashing
+    private final Executor upgradeExecutor;
+
+    /**
+     * Constructs the provider.
+     *
+     * @param userService     the service loading the login context and storing upgraded hashes
+     * @param passwordHasher  the pool verifying and hashing passwords
+     * @param roleRegistry    the registry resolving the user's authorities
+     * @param upgradeExecutor the executor storing upgraded hashes; the application's {@code @Async} executor
+     */
+    public ApiAuthenticationProvider(UserService userService, PasswordHasher passwordHasher, RoleRegistry roleRegistry,
+                                     @Qualifier(APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor upgradeExecutor) {
+        this.userService = userService;
+        this.passwordHasher = passwordHasher;
+        this.roleRegistry = roleRegistry;
+        this.upgradeExecutor = upgradeExecutor;
+    }
 
     /**
      * Authenticates the user by verifying their credentials and account status.
@@ -41,32 +64,43 @@ public class ApiAuthenticationProvider implements AuthenticationProvider {
         // Convert Authentication to VergovAuthentication
         var apiAuthentication = authenticationFunction.apply(authentication);
 
-        // Retrieve the user by email
-        var user = userService.getUserByEmail(apiAuthentication.getEmail());
-
-        if (user != null) {
-            // Retrieve user credentials
-            var userCredential = userService.getUserCredentialById(user.getId());
+        // Load the user, role and credential with a single query
+        var loginContext = userService.getLoginContext(apiAuthentication.getEmail());
+        var user = loginContext.user();
+        var userCredential = loginContext.credential();
 
-            // Check if the credentials are expired
-            if (!user.isCredentialsNonExpired()) {
-                throw new ApiException("Credentials are expired. Please reset your password");
-            }
+        // Check if the credentials are expired
+        if (!user.isCredentialsNonExpired()) {
+            throw new ApiException("Credentials are expired. Please reset your password");
+        }
 
-            var userPrincipal = new UserPrincipal(user, userCredential);
+        var userPrincipal = loginContext.principal(roleRegistry);
 
-            // Validate the account status
-            validAccount.accept(userPrincipal);
+        // Validate the account status
+        validAccount.accept(userPrincipal);
 
-            // Verify the password
-            if (encoder.matches(apiAuthentication.getPassword(), userCredential.getPassword())) {
-                return authenticated(user, userPrincipal.getAuthorities());
-            } else {
-                throw new BadCredentialsException("Email and/or password incorrect. Please try again");
-            }
+        // Verify the password on the hashing pool so request threads are not tied up by BCrypt
+        if (passwordHasher.matches(apiAuthentication.getPassword(), userCredential.getPassword())) {
+            upgradePasswordHash(user.getId(), userCredential.getPassword(), apiAuthentication.getPassword());
+            return authenticated(user, userPrincipal.getAuthorities());
+        } else {
+            throw new BadCredentialsException("Email and/or password incorrect. Please try again");
         }
+    }
 
-        throw new ApiException("Unable to authenticate");
+    // Rehashes the verified password on the hashing pool if its stored hash uses another algorithm or a lower cost,
+    // then stores it from the upgrade executor; the login does not wait for it and a failure only leaves the old hash
+    private void upgradePasswordHash(Long userId, String encodedPassword, String password) {
+        if (!passwordHasher.upgradeEncoding(encodedPassword)) {
+            return;
+        }
+        passwordHasher.encodeAsync(password)
+                .thenAcceptAsync(upgradedPassword -> userService.upgradePasswordHash(userId, encodedPassword, upgradedPassword),
+                        upgradeExecutor)
+                .exceptionally(exception -> {
+                    log.warn("Unable to upgrade password hash for user {}: {}", userId, exception.getMessage());
+                    return null;
+                });
     }
 
     // Function to convert Authentication to VergovAuthentication
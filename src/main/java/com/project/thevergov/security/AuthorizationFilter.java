@@ -6,7 +6,6 @@
 package com.project.thevergov.security;
 
 import com.project.thevergov.domain.RequestContext;
-import com.project.thevergov.domain.Token;
 import com.project.thevergov.domain.TokenData;
 import com.project.thevergov.service.JwtService;
 import jakarta.servlet.FilterChain;
@@ -22,13 +21,12 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
-import java.util.Arrays;
 
-import static com.project.thevergov.constant.Constants.PUBLIC_ROUTES;
 import static com.project.thevergov.domain.VergovAuthentication.authenticated;
 import static com.project.thevergov.enumeration.TokenType.ACCESS;
 import static com.project.thevergov.enumeration.TokenType.REFRESH;
 import static com.project.thevergov.utils.RequestUtils.handleErrorResponse;
+import static java.util.function.Function.identity;
 
 /**
  * AuthorizationFilter is a Spring Web filter responsible for handling authorization
@@ -40,6 +38,7 @@ import static com.project.thevergov.utils.RequestUtils.handleErrorResponse;
 public class AuthorizationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
+    private final RouteClassifier routeClassifier;
 
     /**
      * Intercepts incoming requests to extract and validate JWT tokens for authorization.
@@ -49,21 +48,27 @@ public class AuthorizationFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
         try {
-            // Extract and validate Access Token
-            var accessToken = jwtService.extractToken(request, ACCESS.getValue());
-            if (accessToken.isPresent() && jwtService.getTokenData(accessToken.get(), TokenData::isValid)) {
+            // Extract and verify the Access Token once; every later lookup reuses the same TokenData
+            var accessTokenData = jwtService.extractToken(request, ACCESS.getValue())
+                    .map(token -> jwtService.getTokenData(token, identity()));
+            if (accessTokenData.isPresent() && accessTokenData.get().isValid()) {
                 // Set authentication context if Access Token is valid
-                SecurityContextHolder.getContext().setAuthentication(getAuthentication(accessToken.get(), request));
-                RequestContext.setUserId(jwtService.getTokenData(accessToken.get(), TokenData::getUser).getId());
+                SecurityContextHolder.getContext().setAuthentication(getAuthentication(accessTokenData.get(), request));
+                RequestContext.setUserId(accessTokenData.get().getUser().getId());
             } else {
                 // If Access Token is not valid, try Refresh Token
-                var refreshToken = jwtService.extractToken(request, REFRESH.getValue());
-                if (refreshToken.isPresent() && jwtService.getTokenData(refreshToken.get(), TokenData::isValid)) {
-                    // Generate new Access Token and set authentication context
-                    var user = jwtService.getTokenData(refreshToken.get(), TokenData::getUser);
+                var refreshTokenData = jwtService.extractToken(request, REFRESH.getValue())
+                        .map(token -> jwtService.getTokenData(token, identity()));
+                // Exchange the Refresh Token once; concurrent requests with the same token share the new pair
+                var refreshedToken = refreshTokenData.filter(TokenData::isValid).flatMap(jwtService::refreshToken);
+                if (refreshedToken.isPresent()) {
+                    // Set authentication context from the new Access Token
+                    var user = refreshTokenData.get().getUser();
+                    var accessToken = refreshedToken.get().getAccess();
                     SecurityContextHolder.getContext().setAuthentication(getAuthentication(
-                            jwtService.createToken(user, Token::getAccess), request));
-                    jwtService.addCookie(response, user, ACCESS); // Add new Access Token to response
+                            jwtService.getTokenData(accessToken, identity()), request));
+                    jwtService.addCookie(response, accessToken, ACCESS); // Add new Access Token to response
+                    jwtService.addCookie(response, refreshedToken.get().getRefresh(), REFRESH); // Rotate the Refresh Token
                     RequestContext.setUserId(user.getId()); // Update RequestContext with user ID
                 } else {
                     // Clear security context if no valid tokens found
@@ -78,13 +83,13 @@ public class AuthorizationFilter extends OncePerRequestFilter {
     }
 
     /**
-     * Checks if the request method is OPTIONS or if the request URI is public.
+     * Checks if the request method is OPTIONS or if the request URI is public, as decided by the {@link RouteClassifier}.
      * If true, sets RequestContext's user ID to 0 (indicating anonymous user).
      */
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) throws ServletException {
         var shouldNotFilter = request.getMethod().equalsIgnoreCase(HttpMethod.OPTIONS.name()) ||
-                Arrays.asList(PUBLIC_ROUTES).contains(request.getRequestURI());
+                routeClassifier.isPublic(request);
 
         if (shouldNotFilter) {
             RequestContext.setUserId(0L); // Set RequestContext user ID to 0 for public routes
@@ -93,12 +98,12 @@ public class AuthorizationFilter extends OncePerRequestFilter {
     }
 
     /**
-     * Constructs and returns an Authentication object based on the token and request details.
+     * Constructs and returns an Authentication object based on the verified token data and request details.
      */
-    private Authentication getAuthentication(String token, HttpServletRequest request) {
+    private Authentication getAuthentication(TokenData tokenData, HttpServletRequest request) {
         var authentication = authenticated(
-                jwtService.getTokenData(token, TokenData::getUser), // Get user details from token
-                jwtService.getTokenData(token, TokenData::getAuthorities)); // Get authorities from token
+                tokenData.getUser(), // Get user details from token
+                tokenData.getAuthorities()); // Get authorities from token
         authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request)); // Set request details
         return authentication; // Return constructed Authentication object
     }
@@ -0,0 +1,166 @@
+package com.project.thevergov.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.regex.Pattern;
+
+/**
+ * CalibratedPasswordEncoder: A {@link PasswordEncoder} that hashes new passwords with one configured algorithm
+ * and cost, and verifies hashes made with any supported algorithm.
+ * <p>
+ * New hashes are prefixed with their algorithm id ({@code {bcrypt}} or {@code {argon2}}); hashes stored before the
+ * prefix was introduced are verified as BCrypt. {@link #upgradeEncoding(String)} reports every hash made with another
+ * algorithm or a lower cost than the current one, so it can be replaced after the next successful login. Hashes with
+ * a higher cost are kept, so nodes calibrated to different costs do not keep rehashing each other's passwords.
+ * The cost itself can be calibrated at startup against a latency budget with {@link #calibrate}.
+ */
+@Slf4j
+public class CalibratedPasswordEncoder implements PasswordEncoder {
+
+    public static final String BCRYPT = "bcrypt";
+    public static final String ARGON2 = "argon2";
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+    private static final Pattern ARGON2_PARAMETERS = Pattern.compile("^\\$argon2(?:id|i|d)\\$v=\\d+\\$m=(\\d+),t=(\\d+),p=(\\d+)\\$");
+    private static final String CALIBRATION_PASSWORD = "calibration-password";
+    private static final int CALIBRATION_SAMPLES = 3;
+
+    // Encoder that hashes with the configured algorithm and verifies every supported one
+    private final DelegatingPasswordEncoder delegate;
+
+    // Prefix of hashes made with the configured algorithm
+    private final String prefix;
+
+    // Cost of hashes made with the configured settings, in the units returned by cost()
+    private final long targetCost;
+
+    private CalibratedPasswordEncoder(String idForEncode, PasswordEncoder encoder, long targetCost) {
+        var bcrypt = BCRYPT.equals(idForEncode) ? encoder : new BCryptPasswordEncoder();
+        var argon2 = ARGON2.equals(idForEncode) ? encoder : Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8();
+        this.delegate = new DelegatingPasswordEncoder(idForEncode, Map.of(BCRYPT, bcrypt, ARGON2, argon2));
+        this.delegate.setDefaultPasswordEncoderForMatches(bcrypt);
+        this.prefix = "{" + idForEncode + "}";
+        this.targetCost = targetCost;
+    }
+
+    /**
+     * Creates an encoder that hashes new passwords with BCrypt.
+     *
+     * @param cost the BCrypt log rounds
+     * @return the encoder
+     */
+    public static CalibratedPasswordEncoder bcrypt(int cost) {
+        return new CalibratedPasswordEncoder(BCRYPT, new BCryptPasswordEncoder(cost), cost);
+    }
+
+    /**
+     * Creates an encoder that hashes new passwords with Argon2id.
+     *
+     * @param memory      the memory cost in KiB
+     * @param iterations  the number of iterations
+     * @param parallelism the number of lanes
+     * @return the encoder
+     */
+    public static CalibratedPasswordEncoder argon2(int memory, int iterations, int parallelism) {
+        return new CalibratedPasswordEncoder(ARGON2, argon2Encoder(memory, iterations, parallelism), argon2Cost(memory, iterations));
+    }
+
+    /**
+     * Creates a bare Argon2id encoder with the given parameters and the Spring Security default salt and hash lengths.
+     *
+     * @param memory      the memory cost in KiB
+     * @param iterations  the number of iterations
+     * @param parallelism the number of lanes
+     * @return the Argon2 encoder
+     */
+    public static PasswordEncoder argon2Encoder(int memory, int iterations, int parallelism) {
+        return new Argon2PasswordEncoder(16, 32, parallelism, memory, iterations);
+    }
+
+    /**
+     * Picks the highest cost whose median hashing time on this machine stays within the latency budget.
+     * Costs are tried from the minimum upwards; the minimum is returned even if it exceeds the budget, so slow
+     * hardware never weakens hashes below the floor.
+     *
+     * @param encoderForCost the function creating an encoder for a given cost
+     * @param minCost        the lowest acceptable cost
+     * @param maxCost        the highest cost to try
+     * @param budget         the latency budget for a single hash
+     * @return the calibrated cost
+     */
+    public static int calibrate(IntFunction<PasswordEncoder> encoderForCost, int minCost, int maxCost, Duration budget) {
+        // Warm up so class loading and JIT compilation do not count against the first cost
+        encoderForCost.apply(minCost).encode(CALIBRATION_PASSWORD);
+        var cost = minCost;
+        for (int candidate = minCost; candidate <= maxCost; candidate++) {
+            var median = medianHashTime(encoderForCost.apply(candidate));
+            log.info("Password hashing at cost {} takes {} ms (budget {} ms)", candidate, median.toMillis(), budget.toMillis());
+            if (median.compareTo(budget) > 0) {
+                break;
+            }
+            cost = candidate;
+        }
+        return cost;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return delegate.matches(rawPassword, encodedPassword);
+    }
+
+    /**
+     * Reports whether a stored hash was made with a different algorithm or a lower cost than new hashes are.
+     *
+     * @param encodedPassword the stored hash
+     * @return true if the password should be hashed again
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || !encodedPassword.startsWith(prefix)) {
+            return true;
+        }
+        return cost(encodedPassword.substring(prefix.length())) < targetCost;
+    }
+
+    // Extracts the cost of a BCrypt or Argon2 hash, or -1 if it is neither
+    private static long cost(String hash) {
+        var bcrypt = BCRYPT_COST.matcher(hash);
+        if (bcrypt.find()) {
+            return Integer.parseInt(bcrypt.group(1));
+        }
+        var argon2 = ARGON2_PARAMETERS.matcher(hash);
+        if (argon2.find()) {
+            return argon2Cost(Integer.parseInt(argon2.group(1)), Integer.parseInt(argon2.group(2)));
+        }
+        return -1;
+    }
+
+    // Argon2 work grows with memory times iterations; the number of lanes does not change it
+    private static long argon2Cost(int memory, int iterations) {
+        return (long) memory * iterations;
+    }
+
+    private static Duration medianHashTime(PasswordEncoder encoder) {
+        var samples = new long[CALIBRATION_SAMPLES];
+        for (int i = 0; i < samples.length; i++) {
+            var start = System.nanoTime();
+            encoder.encode(CALIBRATION_PASSWORD);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return Duration.ofNanos(samples[samples.length / 2]);
+    }
+}
@@ -0,0 +1,72 @@
+package com.project.thevergov.security;
+
+import com.project.thevergov.repository.ConfirmationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * ConfirmationPurger: Deletes expired account and password reset confirmations in the background.
+ * <p>
+ * Keys are rejected at lookup as soon as they expire, so the purge only keeps the table and its indexes from
+ * growing with abandoned sign-ups. Each run deletes the expired rows oldest first in small batches found through
+ * the {@code expires_at} index, each in its own short transaction, so no run scans the table or holds locks for
+ * long. Rows locked by a concurrent purge on another node are skipped. A run stops after a bounded number of
+ * batches and the next run continues.
+ */
+@Component
+@Slf4j
+public class ConfirmationPurger {
+
+    private final ConfirmationRepository confirmationRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+
+    private final int maxBatches;
+
+    /**
+     * Constructs a ConfirmationPurger.
+     *
+     * @param confirmationRepository the repository of confirmations
+     * @param transactionTemplate    the template each batch runs in
+     * @param batchSize              the number of rows deleted per transaction
+     * @param maxBatches             the maximum number of batches per run
+     */
+    public ConfirmationPurger(ConfirmationRepository confirmationRepository,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${confirmation.purge.batch-size:500}") int batchSize,
+                              @Value("${confirmation.purge.max-batches:100}") int maxBatches) {
+        this.confirmationRepository = confirmationRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+    }
+
+    /**
+     * Deletes expired confirmations until none are left or the batch limit is reached.
+     *
+     * @return the number of deleted confirmations
+     */
+    @Scheduled(initialDelayString = "${confirmation.purge.interval:60000}", fixedDelayString = "${confirmation.purge.interval:60000}")
+    public int purge() {
+        var now = LocalDateTime.now();
+        var deleted = 0;
+        for (var batch = 0; batch < maxBatches; batch++) {
+            Integer count = transactionTemplate.execute(status -> confirmationRepository.deleteExpired(now, batchSize));
+            deleted += count == null ? 0 : count;
+            if (count == null || count < batchSize) {
+                break;
+            }
+        }
+        if (deleted > 0) {
+            log.debug("Deleted {} expired confirmations", deleted);
+        }
+        return deleted;
+    }
+}
@@ -3,6 +3,7 @@ package com.project.thevergov.security;
 import com.project.thevergov.handler.ApiAccessDeniedHandler;
 import com.project.thevergov.handler.ApiAuthenticationEntryPoint;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -38,6 +39,7 @@ public class FilterChainConfiguration {
     private final ApiAccessDeniedHandler apiAccessDeniedHandler;
     private final ApiAuthenticationEntryPoint apiAuthenticationEntryPoint;
     private final ApiHttpConfigurer apiHttpConfigurer;
+    private final RouteClassifier routeClassifier;
 
     /**
      * Configures the security filter chain for the application.
@@ -63,10 +65,11 @@ public class FilterChainConfiguration {
                         exception.accessDeniedHandler(apiAccessDeniedHandler) // Custom handler for access denied responses
                                 .authenticationEntryPoint(apiAuthenticationEntryPoint)) // Custom entry point for handling authentication errors
                 .authorizeHttpRequests(request ->
-                        request.requestMatchers(PUBLIC_URLS).permitAll() // Allows unrestricted access to public URLs
+                        request.requestMatchers(routeClassifier::isPublic).permitAll() // Allows unrestricted access to public routes
                                 .requestMatchers(HttpMethod.OPTIONS).permitAll() // Permits all pre-flight OPTIONS requests
                                 .requestMatchers(HttpMethod.DELETE, "/user/delete/**").hasAnyAuthority("user:delete") // Restricts DELETE operations to authorized users with specific authority
                                 .requestMatchers(HttpMethod.DELETE, "/document/delete/**").hasAnyAuthority("document:delete") // Restricts DELETE operations to authorized users with specific authority
+                                .requestMatchers(EndpointRequest.to(JwtKeyRingEndpoint.class)).hasAnyRole("ADMIN", "SUPER_ADMIN") // Restricts inspecting and rotating the JWT signing keys to administrators
                                 .anyRequest().authenticated()) // Requires authentication for all other requests
                 .with(apiHttpConfigurer, Customizer.withDefaults()); // Integrates custom HTTP configurations
 
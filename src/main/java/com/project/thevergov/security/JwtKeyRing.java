@@ -0,0 +1,161 @@
+package com.project.thevergov.security;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.security.Key;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JwtKeyRing: Holds the HMAC keys used to sign and verify JWT tokens.
+ * <p>
+ * Keys and the {@link JwtParser} are built once instead of on every sign and verify. Every token is
+ * stamped with the {@code kid} of the key that signed it and verified against the key with that id.
+ * Rotating to a new key keeps the previous keys verifiable for an overlap window, so tokens issued
+ * before the rotation stay valid until their cookies expire instead of every session being invalidated.
+ * Tokens issued before key ids were introduced carry no {@code kid} and are verified with the key
+ * configured at startup.
+ */
+@Component
+@Slf4j
+public class JwtKeyRing {
+
+    // Smallest secret, in bytes, that HS512 accepts
+    private static final int MIN_SECRET_BYTES = 64;
+
+    // All keys that can still verify tokens, by key id
+    private final Map<String, SigningKey> keys = new ConcurrentHashMap<>();
+
+    // Id of the key configured at startup, used for tokens issued without a kid header
+    private final String initialKeyId;
+
+    // How long a key that was rotated out keeps verifying tokens
+    private final Duration overlap;
+
+    // Parser built once; it resolves the verification key from the token's kid header
+    private final JwtParser parser;
+
+    // Key currently used to sign new tokens
+    private volatile SigningKey active;
+
+    /**
+     * Constructs the key ring from the configured secret.
+     *
+     * @param secret         the base64 encoded secret of the initial signing key
+     * @param keyId          the id stamped on tokens signed with the initial key
+     * @param overlapSeconds how long, in seconds, a rotated-out key keeps verifying tokens
+     */
+    public JwtKeyRing(@Value("${jwt.secret}") String secret,
+                      @Value("${jwt.kid:primary}") String keyId,
+                      @Value("${jwt.rotation.overlap:7200}") long overlapSeconds) {
+        this.initialKeyId = keyId;
+        this.overlap = Duration.ofSeconds(overlapSeconds);
+        this.active = new SigningKey(keyId, toSecretKey(secret), Instant.MAX);
+        this.keys.put(keyId, active);
+        this.parser = Jwts.parser().keyLocator(new KeyIdLocator()).build();
+    }
+
+    /**
+     * Returns the key new tokens are signed with.
+     *
+     * @return the active signing key
+     */
+    public SigningKey active() {
+        return active;
+    }
+
+    /**
+     * Returns the shared parser that verifies tokens against the key named by their kid header.
+     *
+     * @return the JWT parser
+     */
+    public JwtParser parser() {
+        return parser;
+    }
+
+    /**
+     * Makes a new key the signing key. The previous signing key keeps verifying tokens until the overlap
+     * window has passed. Every node must be rotated to the same key for tokens to verify cluster-wide.
+     *
+     * @param keyId  the id of the new key; must not already be in use
+     * @param secret the base64 encoded secret of the new key; at least 64 bytes, as tokens are signed with HS512
+     */
+    public synchronized void rotate(String keyId, String secret) {
+        if (keys.containsKey(keyId)) {
+            throw new IllegalArgumentException("Key id is already in use");
+        }
+        // Build the new key before touching the ring, so a rejected secret leaves the current key active
+        var bytes = Decoders.BASE64.decode(secret);
+        if (bytes.length < MIN_SECRET_BYTES) {
+            throw new IllegalArgumentException("Secret must be at least " + MIN_SECRET_BYTES + " bytes for HS512");
+        }
+        var key = Keys.hmacShaKeyFor(bytes);
+        var retiring = active;
+        var retireAt = Instant.now().plus(overlap);
+        keys.put(retiring.kid(), new SigningKey(retiring.kid(), retiring.key(), retireAt));
+        active = new SigningKey(keyId, key, Instant.MAX);
+        keys.put(keyId, active);
+        keys.values().removeIf(SigningKey::isRetired);
+        log.info("Rotated JWT signing key from {} to {}; {} verifies until {}", retiring.kid(), keyId, retiring.kid(), retireAt);
+    }
+
+    /**
+     * Lists the keys that can currently verify tokens, without their secrets.
+     *
+     * @return the key ids and the instants they stop verifying tokens
+     */
+    public List<Map<String, String>> describe() {
+        return keys.values().stream()
+                .filter(key -> !key.isRetired())
+                .map(key -> Map.of(
+                        "kid", key.kid(),
+                        "active", String.valueOf(key == active),
+                        "retireAt", key.retireAt().equals(Instant.MAX) ? "never" : key.retireAt().toString()))
+                .toList();
+    }
+
+    private static SecretKey toSecretKey(String secret) {
+        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+    }
+
+    /**
+     * SigningKey: An HMAC key together with its id and the instant it stops verifying tokens.
+     *
+     * @param kid      the key id stamped in the token header
+     * @param key      the HMAC secret key
+     * @param retireAt the instant after which the key no longer verifies tokens
+     */
+    public record SigningKey(String kid, SecretKey key, Instant retireAt) {
+
+        boolean isRetired() {
+            return retireAt.isBefore(Instant.now());
+        }
+    }
+
+    // Resolves the verification key from the kid header of a signed token
+    private class KeyIdLocator extends LocatorAdapter<Key> {
+
+        @Override
+        protected Key locate(JwsHeader header) {
+            var keyId = header.getKeyId() == null ? initialKeyId : header.getKeyId();
+            var signingKey = keys.get(keyId);
+            if (signingKey == null || signingKey.isRetired()) {
+                throw new UnsupportedJwtException("Token was signed with an unknown or retired key");
+            }
+            return signingKey.key();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.project.thevergov.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JwtKeyRingEndpoint: Actuator endpoint for inspecting and rotating the JWT signing keys at runtime.
+ * <p>
+ * The endpoint is not exposed over HTTP unless {@code jwtkeys} is added to
+ * {@code management.endpoints.web.exposure.include}, and the security filter chain restricts it to administrators.
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "jwtkeys")
+public class JwtKeyRingEndpoint {
+
+    private final JwtKeyRing jwtKeyRing;
+
+    /**
+     * Lists the key ids that can currently verify tokens.
+     *
+     * @return the key ids and their retirement instants
+     */
+    @ReadOperation
+    public List<Map<String, String>> keys() {
+        return jwtKeyRing.describe();
+    }
+
+    /**
+     * Rotates to a new signing key without a restart.
+     *
+     * @param kid    the id of the new key
+     * @param secret the base64 encoded secret of the new key
+     * @return the key ids that can verify tokens after the rotation
+     */
+    @WriteOperation
+    public List<Map<String, String>> rotate(String kid, String secret) {
+        jwtKeyRing.rotate(kid, secret);
+        return jwtKeyRing.describe();
+    }
+}
@@ -0,0 +1,151 @@
+package com.project.thevergov.security;
+
+import com.project.thevergov.cache.LoginAttemptLimiter;
+import com.project.thevergov.cache.SecurityVersionCache;
+import com.project.thevergov.repository.UserRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * LoginStateWriter: Persists the login state changes decided in memory with write-behind, batched updates.
+ * <p>
+ * Locks, unlocks and successful logins are queued per email, and later changes to the same email replace earlier
+ * ones, so a burst of attempts against one account costs at most one update per flush. Each flush issues one bulk
+ * update for all locked accounts, one for all unlocked accounts and one per distinct second of last-login times.
+ * Locking an account also bumps its security version, which revokes the tokens issued to it, and stores when the
+ * lock lapses, so other nodes and restarted ones lift it too. Accounts whose lock lapsed in the
+ * {@link LoginAttemptLimiter} without another attempt are unlocked. Unlocking never lifts a lock set by an admin,
+ * even if the limiter locked and unlocked the same account in the meantime. Changes still queued
+ * when a flush fails are put back for the next one, unless newer ones arrived in the meantime.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LoginStateWriter {
+
+    private final UserRepository userRepository;
+    private final SecurityVersionCache securityVersions;
+    private final LoginAttemptLimiter loginAttemptLimiter;
+
+    // Pending state changes per lower-cased email, coalesced until the next flush
+    private final ConcurrentMap<String, PendingState> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Queues locking the account with the given email.
+     *
+     * @param email the email of the account to lock
+     */
+    public void lock(String email) {
+        queue(email, new PendingState(false, null));
+    }
+
+    /**
+     * Queues unlocking the account with the given email.
+     *
+     * @param email the email of the account to unlock
+     */
+    public void unlock(String email) {
+        queue(email, new PendingState(true, null));
+    }
+
+    /**
+     * Queues recording a successful login, which also resets the persisted attempt count.
+     *
+     * @param email     the email of the account that logged in
+     * @param lastLogin the time of the login
+     */
+    public void recordLogin(String email, LocalDateTime lastLogin) {
+        queue(email, new PendingState(null, lastLogin));
+    }
+
+    /**
+     * Writes every queued change to the database.
+     */
+    @Scheduled(fixedDelayString = "${login.attempts.flush-interval:5000}")
+    @Transactional(rollbackOn = Exception.class)
+    public void flush() {
+        loginAttemptLimiter.drainExpiredLocks().forEach(this::unlock);
+        var batch = drain();
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            write(batch);
+        } catch (RuntimeException exception) {
+            log.error("Unable to write {} login state changes: {}", batch.size(), exception.getMessage());
+            batch.forEach(pending::putIfAbsent);
+            throw exception;
+        }
+    }
+
+    private void write(Map<String, PendingState> batch) {
+        var locks = batch.entrySet().stream()
+                .filter(entry -> Boolean.FALSE.equals(entry.getValue().accountNonLocked()))
+                .map(Map.Entry::getKey)
+                .toList();
+        var unlocks = batch.entrySet().stream()
+                .filter(entry -> Boolean.TRUE.equals(entry.getValue().accountNonLocked()))
+                .map(Map.Entry::getKey)
+                .toList();
+        var logins = batch.entrySet().stream()
+                .filter(entry -> entry.getValue().lastLogin() != null)
+                .collect(groupingBy(entry -> entry.getValue().lastLogin().truncatedTo(ChronoUnit.SECONDS),
+                        mapping(Map.Entry::getKey, toList())));
+        if (!locks.isEmpty()) {
+            userRepository.lockAccounts(locks, LocalDateTime.now().plus(loginAttemptLimiter.lockoutDuration()));
+            userRepository.findUserIdsByEmails(locks).forEach(securityVersions::evict);
+        }
+        if (!unlocks.isEmpty()) {
+            userRepository.unlockAccounts(unlocks);
+        }
+        logins.forEach((lastLogin, emails) -> userRepository.updateLastLogin(emails, lastLogin));
+        log.debug("Wrote login state changes for {} accounts", batch.size());
+    }
+
+    // Removes and returns every queued change; changes queued meanwhile are left for the next flush
+    private Map<String, PendingState> drain() {
+        var batch = new HashMap<String, PendingState>();
+        for (var email : List.copyOf(pending.keySet())) {
+            var state = pending.remove(email);
+            if (state != null) {
+                batch.put(email, state);
+            }
+        }
+        return batch;
+    }
+
+    private void queue(String email, PendingState state) {
+        pending.merge(email.toLowerCase(Locale.ROOT), state, PendingState::then);
+    }
+
+    /**
+     * The coalesced state change for one account.
+     *
+     * @param accountNonLocked the lock state to write, or null to leave it unchanged
+     * @param lastLogin        the last login time to write, or null to leave it unchanged
+     */
+    private record PendingState(Boolean accountNonLocked, LocalDateTime lastLogin) {
+
+        // Combines this change with a later one, the later one winning where both set a value
+        PendingState then(PendingState later) {
+            return new PendingState(later.accountNonLocked != null ? later.accountNonLocked : accountNonLocked,
+                    later.lastLogin != null ? later.lastLogin : lastLogin);
+        }
+    }
+}
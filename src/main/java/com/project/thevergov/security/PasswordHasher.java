@@ -0,0 +1,161 @@
+package com.project.thevergov.security;
+
+import com.project.thevergov.exception.ApiException;
+import com.project.thevergov.exception.CapacityExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PasswordHasher: Runs password hashing and verification on a dedicated, CPU-sized thread pool.
+ * <p>
+ * Hashing is deliberately slow, so running it on request threads lets a burst of logins starve every other
+ * endpoint. Here at most one hash per pool thread runs at a time and waiting work is held in a bounded queue;
+ * once the queue is full further requests fail fast with a {@link CapacityExceededException} instead of piling up.
+ * Queue depth, rejections and hash latency (queue wait included) are published to the {@link MeterRegistry}.
+ */
+@Component
+@Slf4j
+public class PasswordHasher {
+
+    private static final String BUSY_MESSAGE = "The server is busy. Please try again shortly.";
+
+    private final PasswordEncoder encoder;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Timer encodeTimer;
+
+    private final Timer matchesTimer;
+
+    private final Counter rejections;
+
+    /**
+     * Constructs a PasswordHasher with its own thread pool.
+     *
+     * @param encoder       the encoder doing the actual hashing
+     * @param threads       the number of hashing threads; 0 or less uses one per available processor
+     * @param queueCapacity the number of hashing requests that may wait for a thread before new ones are rejected
+     * @param registry      the registry the hashing metrics are published to
+     */
+    public PasswordHasher(PasswordEncoder encoder,
+                          @Value("${password.hashing.threads:0}") int threads,
+                          @Value("${password.hashing.queue-capacity:64}") int queueCapacity,
+                          MeterRegistry registry) {
+        this.encoder = encoder;
+        var poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        var threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    var thread = new Thread(runnable, "password-hasher-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.encodeTimer = Timer.builder("password.hash").tag("operation", "encode").register(registry);
+        this.matchesTimer = Timer.builder("password.hash").tag("operation", "matches").register(registry);
+        this.rejections = Counter.builder("password.hash.rejected").register(registry);
+        Gauge.builder("password.hash.queue.depth", executor, pool -> pool.getQueue().size()).register(registry);
+        Gauge.builder("password.hash.active", executor, ThreadPoolExecutor::getActiveCount).register(registry);
+    }
+
+    /**
+     * Hashes a raw password on the hashing pool.
+     *
+     * @param rawPassword the password to hash
+     * @return the encoded password
+     * @throws CapacityExceededException if the hashing queue is full
+     */
+    public String encode(CharSequence rawPassword) {
+        return execute(encodeTimer, () -> encoder.encode(rawPassword));
+    }
+
+    /**
+     * Hashes a raw password on the hashing pool without waiting for the result, for work no request waits on.
+     *
+     * @param rawPassword the password to hash
+     * @return the encoded password, completed on a hashing thread, or failed with a
+     * {@link CapacityExceededException} if the hashing queue is full
+     */
+    public CompletableFuture<String> encodeAsync(CharSequence rawPassword) {
+        var sample = Timer.start();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return encoder.encode(rawPassword);
+                } finally {
+                    sample.stop(encodeTimer);
+                }
+            }, executor);
+        } catch (RejectedExecutionException exception) {
+            rejections.increment();
+            return CompletableFuture.failedFuture(new CapacityExceededException(BUSY_MESSAGE));
+        }
+    }
+
+    /**
+     * Verifies a raw password against an encoded one on the hashing pool.
+     *
+     * @param rawPassword     the password to verify
+     * @param encodedPassword the stored encoded password
+     * @return true if the passwords match
+     * @throws CapacityExceededException if the hashing queue is full
+     */
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(matchesTimer, () -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Reports whether an encoded password was made with different settings than new hashes and should be
+     * hashed again. Only parses the stored hash, so it runs on the calling thread.
+     *
+     * @param encodedPassword the stored encoded password
+     * @return true if the password should be hashed again
+     */
+    public boolean upgradeEncoding(String encodedPassword) {
+        return encoder.upgradeEncoding(encodedPassword);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    // Runs a hashing task on the pool and waits for its result, rejecting it if the queue is full
+    private <T> T execute(Timer timer, Callable<T> task) {
+        var sample = Timer.start();
+        try {
+            return executor.submit(task).get();
+        } catch (RejectedExecutionException exception) {
+            rejections.increment();
+            log.warn("Password hashing queue is full; rejecting request");
+            throw new CapacityExceededException(BUSY_MESSAGE);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new ApiException("Password hashing was interrupted");
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new ApiException(exception.getCause().getMessage());
+        } finally {
+            sample.stop(timer);
+        }
+    }
+}
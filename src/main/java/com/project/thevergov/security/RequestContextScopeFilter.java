@@ -0,0 +1,36 @@
+package com.project.thevergov.security;
+
+import com.project.thevergov.domain.RequestContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * RequestContextScopeFilter: Limits the {@link RequestContext} to the request it was set for.
+ * <p>
+ * Runs before every other filter, including Spring Security's chain, and clears the context both before and after
+ * the rest of the chain, so a user ID set by the authorization filter or the login flow never carries over to the
+ * next request handled by the same thread.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestContextScopeFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestContext.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestContext.clear();
+        }
+    }
+}
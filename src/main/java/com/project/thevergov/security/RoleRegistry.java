@@ -0,0 +1,126 @@
+package com.project.thevergov.security;
+
+import com.project.thevergov.entity.RoleEntity;
+import com.project.thevergov.exception.ApiException;
+import com.project.thevergov.repository.RoleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import static com.project.thevergov.constant.Constants.AUTHORITY_DELIMITER;
+import static com.project.thevergov.constant.Constants.ROLE_PREFIX;
+import static java.util.stream.Collectors.toUnmodifiableMap;
+
+/**
+ * RoleRegistry: Keeps the roles and the parsed authority lists in memory, so lookups do not query or parse again.
+ * <p>
+ * The {@code roles} table is small and almost never changes, so all roles are loaded once when the application
+ * starts and replaced as a whole on {@link #refresh()}, which also runs on a schedule to pick up changes made
+ * directly in the database. Comma-separated authority strings are parsed once into immutable lists of shared
+ * {@link GrantedAuthority} instances; there are only a few distinct strings, one per role, so up to
+ * {@code MAX_AUTHORITY_LISTS} of them are kept and any beyond that are parsed on every call.
+ * The returned roles are shared between threads and must not be modified.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RoleRegistry {
+
+    private static final int MAX_AUTHORITY_LISTS = 256;
+
+    private final RoleRepository roleRepository;
+
+    // Roles by name, replaced as a whole on refresh; null until first loaded
+    private volatile Map<String, RoleEntity> roles;
+
+    // Parsed authority lists by their comma-separated form
+    private final ConcurrentMap<String, List<GrantedAuthority>> authorityLists = new ConcurrentHashMap<>();
+
+    // Shared authority instances by name, reused across lists
+    private final ConcurrentMap<String, GrantedAuthority> grantedAuthorities = new ConcurrentHashMap<>();
+
+    /**
+     * Reloads every role from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${roles.refresh-interval:300000}", fixedDelayString = "${roles.refresh-interval:300000}")
+    public void refresh() {
+        roles = roleRepository.findAll().stream().collect(toUnmodifiableMap(RoleEntity::getName, Function.identity()));
+        log.debug("Loaded {} roles", roles.size());
+    }
+
+    /**
+     * Retrieves a role by its name.
+     *
+     * @param name the name of the role
+     * @return the role
+     * @throws ApiException if there is no role with the name
+     */
+    public RoleEntity getRole(String name) {
+        var loaded = roles;
+        if (loaded == null) {
+            refresh();
+            loaded = roles;
+        }
+        var role = loaded.get(name);
+        if (role == null) {
+            throw new ApiException("Role not found");
+        }
+        return role;
+    }
+
+    /**
+     * Retrieves the parsed authorities of a comma-separated authority string.
+     *
+     * @param authorities the comma-separated authorities
+     * @return an immutable list of the authorities
+     */
+    public List<GrantedAuthority> getAuthorities(String authorities) {
+        if (authorities == null) {
+            return List.of();
+        }
+        var list = authorityLists.get(authorities);
+        if (list != null) {
+            return list;
+        }
+        if (authorityLists.size() >= MAX_AUTHORITY_LISTS) {
+            return parse(authorities, SimpleGrantedAuthority::new);
+        }
+        return authorityLists.computeIfAbsent(authorities,
+                key -> parse(key, name -> grantedAuthorities.computeIfAbsent(name, SimpleGrantedAuthority::new)));
+    }
+
+    /**
+     * Retrieves the parsed authorities of a comma-separated authority string together with a role.
+     *
+     * @param authorities the comma-separated authorities
+     * @param role        the name of the role, granted with the role prefix
+     * @return an immutable list of the authorities followed by the role
+     */
+    public List<GrantedAuthority> getAuthorities(String authorities, String role) {
+        return getAuthorities(authorities + AUTHORITY_DELIMITER + ROLE_PREFIX + role);
+    }
+
+    // Splits the string the way AuthorityUtils.commaSeparatedStringToAuthorityList does
+    private static List<GrantedAuthority> parse(String authorities, Function<String, GrantedAuthority> factory) {
+        var names = StringUtils.tokenizeToStringArray(authorities, AUTHORITY_DELIMITER);
+        var list = new ArrayList<GrantedAuthority>(names.length);
+        for (var name : names) {
+            list.add(factory.apply(name));
+        }
+        return List.copyOf(list);
+    }
+}
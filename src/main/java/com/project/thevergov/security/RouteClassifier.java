@@ -0,0 +1,147 @@
+package com.project.thevergov.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.project.thevergov.constant.Constants.PUBLIC_ROUTES;
+
+/**
+ * RouteClassifier: Decides whether a request path is public, from the single list of public route patterns.
+ * <p>
+ * Spring Security's permit-all rule and the {@link AuthorizationFilter} skip decision both ask this classifier, so
+ * the two can no longer disagree. The patterns are compiled once: literal paths and paths ending in {@code /**}
+ * go into a character trie, which matches a path in one pass over its characters without allocating. Any other
+ * pattern is parsed into a {@link PathPattern} and only tried when the trie does not match.
+ */
+@Component
+public class RouteClassifier {
+
+    private static final String SUBTREE_SUFFIX = "/**";
+
+    private final Node root = new Node();
+
+    private final List<PathPattern> patterns = new ArrayList<>();
+
+    /**
+     * Constructs a RouteClassifier for the application's public routes.
+     */
+    public RouteClassifier() {
+        this(PUBLIC_ROUTES);
+    }
+
+    /**
+     * Constructs a RouteClassifier for the given route patterns.
+     *
+     * @param routes the patterns of the public routes
+     */
+    public RouteClassifier(String... routes) {
+        var parser = new PathPatternParser();
+        for (var route : routes) {
+            var literal = route.endsWith(SUBTREE_SUFFIX) ? route.substring(0, route.length() - SUBTREE_SUFFIX.length()) : route;
+            if (literal.indexOf('*') >= 0 || literal.indexOf('{') >= 0 || literal.indexOf('?') >= 0) {
+                patterns.add(parser.parse(route));
+            } else if (literal.equals(route)) {
+                root.insert(literal).exact = true;
+            } else {
+                root.insert(literal).subtree = true;
+            }
+        }
+    }
+
+    /**
+     * Checks whether a request targets a public route.
+     *
+     * @param request the request, whose path is taken without the context path
+     * @return true if the route is public
+     */
+    public boolean isPublic(HttpServletRequest request) {
+        return isPublic(request.getRequestURI(), request.getContextPath().length());
+    }
+
+    /**
+     * Checks whether a path is a public route.
+     *
+     * @param path the path within the application
+     * @return true if the route is public
+     */
+    public boolean isPublic(String path) {
+        return isPublic(path, 0);
+    }
+
+    private boolean isPublic(String uri, int start) {
+        if (root.matches(uri, start)) {
+            return true;
+        }
+        if (patterns.isEmpty()) {
+            return false;
+        }
+        var path = PathContainer.parsePath(uri.substring(start));
+        return patterns.stream().anyMatch(pattern -> pattern.matches(path));
+    }
+
+    /**
+     * One character of the trie. Children are kept in parallel arrays, since each node has only a few.
+     */
+    private static final class Node {
+
+        private char[] labels = new char[0];
+
+        private Node[] children = new Node[0];
+
+        // Whether the path ending here is public
+        private boolean exact;
+
+        // Whether the path ending here and every path below it are public
+        private boolean subtree;
+
+        Node insert(String path) {
+            var node = this;
+            for (var i = 0; i < path.length(); i++) {
+                var child = node.child(path.charAt(i));
+                if (child == null) {
+                    child = new Node();
+                    node.labels = Arrays.copyOf(node.labels, node.labels.length + 1);
+                    node.children = Arrays.copyOf(node.children, node.children.length + 1);
+                    node.labels[node.labels.length - 1] = path.charAt(i);
+                    node.children[node.children.length - 1] = child;
+                }
+                node = child;
+            }
+            return node;
+        }
+
+        boolean matches(String path, int start) {
+            var node = this;
+            if (node.subtree) {
+                return true;
+            }
+            for (var i = start; i < path.length(); i++) {
+                node = node.child(path.charAt(i));
+                if (node == null) {
+                    return false;
+                }
+                // A subtree covers its own path and everything after a following slash
+                if (node.subtree && (i + 1 == path.length() || path.charAt(i + 1) == '/')) {
+                    return true;
+                }
+            }
+            return node.exact;
+        }
+
+        private Node child(char label) {
+            for (var i = 0; i < labels.length; i++) {
+                if (labels[i] == label) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -1,10 +1,16 @@
 package com.project.thevergov.security;
 
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
-import static com.project.thevergov.constant.Constants.STRENGTH;
+import java.time.Duration;
+
+import static com.project.thevergov.security.CalibratedPasswordEncoder.ARGON2;
+import static com.project.thevergov.security.CalibratedPasswordEncoder.calibrate;
 
 /**
  * Configuration class for Spring Security components.
@@ -15,24 +21,62 @@ import static com.project.thevergov.constant.Constants.STRENGTH;
  * </p>
  */
 @Configuration
+@Slf4j
 public class SecurityConfiguration {
 
+    @Value("${password.encoder:bcrypt}")
+    private String encoder;
+
+    @Value("${password.hashing.latency-budget:80ms}")
+    private Duration latencyBudget;
+
+    @Value("${password.bcrypt.cost:0}")
+    private int bcryptCost;
+
+    @Value("${password.bcrypt.min-cost:12}")
+    private int bcryptMinCost;
+
+    @Value("${password.bcrypt.max-cost:14}")
+    private int bcryptMaxCost;
+
+    @Value("${password.argon2.memory:19456}")
+    private int argon2Memory;
+
+    @Value("${password.argon2.iterations:0}")
+    private int argon2Iterations;
+
+    @Value("${password.argon2.min-iterations:2}")
+    private int argon2MinIterations;
+
+    @Value("${password.argon2.max-iterations:10}")
+    private int argon2MaxIterations;
+
+    @Value("${password.argon2.parallelism:1}")
+    private int argon2Parallelism;
+
     /**
-     * Provides a BCryptPasswordEncoder bean for encoding and validating passwords.
+     * Provides the password encoder used for encoding and validating passwords.
      * <p>
-     * BCryptPasswordEncoder is a password encoder that uses the BCrypt hashing
-     * algorithm. The strength parameter specifies the log rounds used to create
-     * the BCrypt hash. The higher the number, the more computationally expensive
-     * the hash computation is, which increases security but also requires more
-     * processing power.
+     * New passwords are hashed with BCrypt, or Argon2id when {@code password.encoder} is {@code argon2}.
+     * Unless a fixed cost is configured, the cost is calibrated at startup: the highest BCrypt cost (or Argon2
+     * iteration count) whose median hash time on this machine fits {@code password.hashing.latency-budget} is
+     * used, never going below the configured minimum. Hashes made with any other algorithm or cost still verify
+     * and are reported by {@link PasswordEncoder#upgradeEncoding(String)} so they get rehashed on the next login.
      * </p>
      *
-     * @return A BCryptPasswordEncoder instance configured with the specified strength.
+     * @return A CalibratedPasswordEncoder instance configured with the calibrated cost.
      */
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        // Strength is set to a value defined in Constants.STRENGTH.
-        // A value of 12 is commonly used, providing a good balance between security and performance.
-        return new BCryptPasswordEncoder(STRENGTH);
+    public PasswordEncoder passwordEncoder() {
+        if (ARGON2.equals(encoder)) {
+            var iterations = argon2Iterations > 0 ? argon2Iterations : calibrate(cost ->
+                    CalibratedPasswordEncoder.argon2Encoder(argon2Memory, cost, argon2Parallelism),
+                    argon2MinIterations, argon2MaxIterations, latencyBudget);
+            log.info("Hashing passwords with Argon2id (m={}, t={}, p={})", argon2Memory, iterations, argon2Parallelism);
+            return CalibratedPasswordEncoder.argon2(argon2Memory, iterations, argon2Parallelism);
+        }
+        var cost = bcryptCost > 0 ? bcryptCost : calibrate(BCryptPasswordEncoder::new, bcryptMinCost, bcryptMaxCost, latencyBudget);
+        log.info("Hashing passwords with BCrypt (cost {})", cost);
+        return CalibratedPasswordEncoder.bcrypt(cost);
     }
 }
@@ -0,0 +1,110 @@
+package com.project.thevergov.security;
+
+import com.project.thevergov.cache.RevokedTokenSet;
+import com.project.thevergov.entity.RevokedTokenEntity;
+import com.project.thevergov.repository.RevokedTokenRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+
+/**
+ * TokenDenylist: Revokes individual JWTs by their ID (jti) before they expire.
+ * <p>
+ * Checks are answered from a {@link RevokedTokenSet} in memory, so no request waits on the database. Each
+ * revocation is added to the set and stored in the {@code revoked_tokens} table. The table is loaded into the
+ * set when the application starts and polled for rows added by other nodes since the previous poll. Each poll
+ * reads back a short overlap, so rows committed while the previous poll ran are not missed. Expired
+ * revocations are dropped from the set by the first poll after the earliest of them expires, and from the
+ * table on a slower schedule.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TokenDenylist {
+
+    // How far back each poll reads past the previous one, covering transactions still open at that time
+    private static final Duration POLL_OVERLAP = Duration.ofSeconds(30);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final RevokedTokenSet revokedTokens;
+
+    // Start time of the last load or poll; null until the revocations have been loaded
+    private volatile LocalDateTime lastPoll;
+
+    /**
+     * Revokes a token until it expires.
+     *
+     * @param tokenId    the ID (jti) of the token
+     * @param expiration the expiration of the token
+     */
+    public void revoke(String tokenId, Date expiration) {
+        revokedTokens.add(tokenId, expiration.toInstant().getEpochSecond());
+        revokedTokenRepository.save(RevokedTokenEntity.builder()
+                .tokenId(tokenId)
+                .expiresAt(LocalDateTime.ofInstant(expiration.toInstant(), ZoneId.systemDefault()))
+                .revokedAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * Checks whether a token has been revoked.
+     *
+     * @param tokenId the ID (jti) of the token, or null for tokens issued without one
+     * @return true if the token has been revoked
+     */
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && revokedTokens.contains(tokenId);
+    }
+
+    /**
+     * Loads every revocation whose token has not expired yet.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        var start = LocalDateTime.now();
+        var revocations = revokedTokenRepository.findByExpiresAtAfter(start);
+        revocations.forEach(this::add);
+        lastPoll = start;
+        log.debug("Loaded {} revoked tokens", revocations.size());
+    }
+
+    /**
+     * Adds the revocations made since the previous poll, including those made on other nodes.
+     */
+    @Scheduled(initialDelayString = "${jwt.revocation.poll-interval:5000}", fixedDelayString = "${jwt.revocation.poll-interval:5000}")
+    public void poll() {
+        var since = lastPoll;
+        if (since == null) {
+            load();
+            return;
+        }
+        var start = LocalDateTime.now();
+        revokedTokenRepository.findByRevokedAtAfter(since.minus(POLL_OVERLAP)).forEach(this::add);
+        lastPoll = start;
+        revokedTokens.purge(Instant.now().getEpochSecond());
+    }
+
+    /**
+     * Deletes the stored revocations whose token has expired.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval:3600000}")
+    @Transactional(rollbackOn = Exception.class)
+    public void purgeExpired() {
+        var deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        log.debug("Deleted {} expired revoked tokens", deleted);
+    }
+
+    private void add(RevokedTokenEntity revocation) {
+        revokedTokens.add(revocation.getTokenId(), revocation.getExpiresAt().atZone(ZoneId.systemDefault()).toEpochSecond());
+    }
+}
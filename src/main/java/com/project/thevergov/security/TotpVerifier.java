@@ -0,0 +1,158 @@
+package com.project.thevergov.security;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.io.BaseEncoding;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.project.thevergov.exception.ApiException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.time.Clock;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TotpVerifier: Verifies time-based one-time passwords (RFC 6238, HMAC-SHA1, 6 digits, 30-second steps) and
+ * rejects codes that were already used.
+ * <p>
+ * Decoding a Base32 secret and keying HMAC are done once per secret: the keyed {@link Mac} is cached and cloned
+ * for each verification, which copies its precomputed key state instead of repeating it. A code is accepted if it
+ * matches any time step within the configured drift of the current one; that step is then recorded for the user
+ * in an expiring set, so the same code, or any other code for the same or an earlier step, cannot be replayed.
+ * Entries are dropped once their step is outside the drift window, which keeps the set small.
+ */
+@Component
+@Slf4j
+public class TotpVerifier {
+
+    public static final int DIGITS = 6;
+    public static final int PERIOD_SECONDS = 30;
+
+    private static final String ALGORITHM = "HmacSHA1";
+    private static final int MODULUS = (int) Math.pow(10, DIGITS);
+
+    private final Clock clock;
+
+    private final int drift;
+
+    // Keyed MAC prototypes per Base32 secret, cloned for each verification
+    private final LoadingCache<String, Mac> keys;
+
+    // Latest accepted time step per user, expiring once it can no longer be matched
+    private final Cache<String, Long> usedSteps;
+
+    /**
+     * Constructs a TotpVerifier that uses the system clock.
+     *
+     * @param drift       the number of time steps before and after the current one that are still accepted
+     * @param maximumSize the maximum number of secrets whose keyed MAC is kept
+     * @param registry    the registry the key cache statistics are published to
+     */
+    @Autowired
+    public TotpVerifier(@Value("${mfa.totp.drift:1}") int drift,
+                        @Value("${mfa.totp.key-cache.maximum-size:10000}") long maximumSize,
+                        MeterRegistry registry) {
+        this(Clock.systemUTC(), drift, maximumSize, registry);
+    }
+
+    TotpVerifier(Clock clock, int drift, long maximumSize, MeterRegistry registry) {
+        this.clock = clock;
+        this.drift = drift;
+        this.keys = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(1, TimeUnit.HOURS)
+                .recordStats()
+                .build(CacheLoader.from(TotpVerifier::keyedMac));
+        this.usedSteps = CacheBuilder.newBuilder()
+                .expireAfterWrite((2L * drift + 1) * PERIOD_SECONDS, TimeUnit.SECONDS)
+                .build();
+        GuavaCacheMetrics.monitor(registry, keys, "totpKeyCache");
+    }
+
+    /**
+     * Verifies a code against a user's secret and marks its time step as used.
+     *
+     * @param userId the ID of the user the code belongs to
+     * @param secret the user's Base32 encoded secret
+     * @param code   the code entered by the user
+     * @return true if the code is valid and has not been used before
+     */
+    public boolean verify(String userId, String secret, String code) {
+        if (secret == null || secret.isEmpty() || code == null || code.length() != DIGITS || !code.chars().allMatch(Character::isDigit)) {
+            return false;
+        }
+        var expected = Integer.parseInt(code);
+        var currentStep = clock.millis() / 1000 / PERIOD_SECONDS;
+        var mac = keyedMacOf(secret);
+        var matchedStep = -1L;
+        // Check every step in the window so the time taken does not reveal which one matched
+        for (var step = currentStep - drift; step <= currentStep + drift; step++) {
+            if (generate(mac, step) == expected && matchedStep < 0) {
+                matchedStep = step;
+            }
+        }
+        return matchedStep >= 0 && markUsed(userId, matchedStep);
+    }
+
+    private Mac keyedMacOf(String secret) {
+        try {
+            return keys.getUnchecked(secret);
+        } catch (UncheckedExecutionException exception) {
+            throw (RuntimeException) exception.getCause();
+        }
+    }
+
+    // Records the step as used unless it or a later one already was; the check and update are atomic per user
+    private boolean markUsed(String userId, long step) {
+        var accepted = new boolean[1];
+        usedSteps.asMap().compute(userId, (ignored, lastStep) -> {
+            accepted[0] = lastStep == null || step > lastStep;
+            return accepted[0] ? step : lastStep;
+        });
+        if (!accepted[0]) {
+            log.warn("Rejected reused one-time code for user {}", userId);
+        }
+        return accepted[0];
+    }
+
+    // Computes the code for one time step with a clone of the keyed MAC
+    private static int generate(Mac keyedMac, long step) {
+        var hash = cloneOf(keyedMac).doFinal(ByteBuffer.allocate(Long.BYTES).putLong(step).array());
+        var offset = hash[hash.length - 1] & 0xf;
+        var binary = ((hash[offset] & 0x7f) << 24)
+                | ((hash[offset + 1] & 0xff) << 16)
+                | ((hash[offset + 2] & 0xff) << 8)
+                | (hash[offset + 3] & 0xff);
+        return binary % MODULUS;
+    }
+
+    private static Mac cloneOf(Mac keyedMac) {
+        try {
+            return (Mac) keyedMac.clone();
+        } catch (CloneNotSupportedException exception) {
+            throw new ApiException("Unable to verify one-time code");
+        }
+    }
+
+    private static Mac keyedMac(String secret) {
+        try {
+            var key = BaseEncoding.base32().omitPadding().decode(secret.replace("=", "").toUpperCase(Locale.ROOT));
+            var mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(key, ALGORITHM));
+            return mac;
+        } catch (GeneralSecurityException | IllegalArgumentException exception) {
+            throw new ApiException("Unable to verify one-time code");
+        }
+    }
+}
@@ -1,8 +1,20 @@
 package com.project.thevergov.service;
 
+import com.project.thevergov.entity.EmailOutboxEntity;
+
+import java.util.List;
+
 public interface EmailService {
 
     void sendNewAccountEmail(String name, String email, String token);
     //Just an idea still //TODO
     void sendPasswordResetEmail(String name, String email, String token);
+
+    /**
+     * Sends queued emails in one batch over a pooled connection.
+     *
+     * @param emails the queued emails
+     * @return the failure per email, in the order of the emails, with null for each email that was sent
+     */
+    List<Exception> sendEmails(List<EmailOutboxEntity> emails);
 }
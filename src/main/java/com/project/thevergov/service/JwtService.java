@@ -19,7 +19,13 @@ public interface JwtService {
 
     void addCookie(HttpServletResponse response, User user, TokenType tokenType);
 
+    void addCookie(HttpServletResponse response, String token, TokenType tokenType);
+
+    Optional<Token> refreshToken(TokenData refreshTokenData);
+
     <T> T getTokenData(String token, Function<TokenData, T> tokenFunction);
 
     void removeCookie(HttpServletRequest request, HttpServletResponse response, String cookieName);
+
+    void revokeToken(HttpServletRequest request, String cookieName);
 }
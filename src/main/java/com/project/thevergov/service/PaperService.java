@@ -1,5 +1,7 @@
 package com.project.thevergov.service;
 
+import com.project.thevergov.cache.PaperSuggestIndex;
+import com.project.thevergov.domain.CursorPage;
 import com.project.thevergov.dto.Paper;
 import com.project.thevergov.dto.api.iPaper;
 import org.springframework.core.io.Resource;
@@ -15,12 +17,18 @@ public interface PaperService {
 
     Page<iPaper> getPapers(int page, int size, String name);
 
+    CursorPage<iPaper> getPapersAfter(String cursor, int size);
+
+    CursorPage<iPaper> getPapersAfter(String cursor, int size, String name);
+
     Collection<Paper> savePapers(String userId, List<MultipartFile> papers);
 
     iPaper updatePaper(String paperId, String name, String description);
 
     void deletePaper(String paperId);
 
+    List<PaperSuggestIndex.Suggestion> suggestPapers(String prefix, int limit);
+
     iPaper getPaperByPaperId(String paperId);
 
     Resource getResource(String documentName);
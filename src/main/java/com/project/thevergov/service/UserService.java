@@ -1,5 +1,7 @@
 package com.project.thevergov.service;
 
+import com.project.thevergov.cache.QrCodeCache.QrCodeImage;
+import com.project.thevergov.domain.LoginContext;
 import com.project.thevergov.dto.User;
 import com.project.thevergov.entity.CredentialEntity;
 import com.project.thevergov.entity.RoleEntity;
@@ -24,7 +26,7 @@ public interface UserService {
 
     void verifyAccount(String key);
 
-    void updateLoginAttempt(String email, LoginType loginType);
+    void updateLoginAttempt(String email, String ipAddress, LoginType loginType);
 
     User getUserByUserId(String userId);
 
@@ -32,10 +34,14 @@ public interface UserService {
 
     CredentialEntity getUserCredentialById(Long id);
 
+    LoginContext getLoginContext(String email);
+
     User setupMfa(Long id);
 
     User cancelMfa(Long id);
 
+    QrCodeImage getQrCodeImage(String userId);
+
     User verifyQrCode(String userId, String qrCode);
 
     void resetPassword(String email);
@@ -62,5 +68,9 @@ public interface UserService {
 
     User getUserById(Long id);
 
+    void revokeTokens(String userId);
+
+    void upgradePasswordHash(Long id, String encodedPassword, String upgradedPassword);
+
     List<UserEntity> getUsers();
 }
@@ -1,15 +1,21 @@
 package com.project.thevergov.service.impl;
 
+import com.project.thevergov.entity.EmailOutboxEntity;
 import com.project.thevergov.exception.ApiException;
+import com.project.thevergov.mail.SmtpTransportPool;
 import com.project.thevergov.service.EmailService;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.mail.javamail.MimeMailMessage;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static com.project.thevergov.utils.EmailUtils.getEmailMessage;
 import static com.project.thevergov.utils.EmailUtils.getResetPasswordMessage;
 
@@ -17,8 +23,9 @@ import static com.project.thevergov.utils.EmailUtils.getResetPasswordMessage;
  * EmailServiceImpl: Implementation of the EmailService interface responsible for
  * sending various types of emails such as account verification and password reset emails.
  * <p>
- * This service utilizes JavaMailSender to send emails and handles asynchronous email
- * sending to improve application responsiveness.
+ * This service sends emails over the connections kept open by the {@link SmtpTransportPool}, so a batch costs
+ * one connection rather than one per email. Emails are sent from the outbox by the
+ * {@link com.project.thevergov.event.EmailOutboxDispatcher}, off the request threads, which retries on failure.
  * </p>
  */
 @Service // Indicates that this class is a Spring service component
@@ -30,8 +37,8 @@ public class EmailServiceImpl implements EmailService {
     private static final String NEW_USER_ACCOUNT_VERIFICATION = "New User Account Verification";
     private static final String PASSWORD_RESET_REQUEST = "Reset Password Request";
 
-    // Injected JavaMailSender instance used to send emails
-    private final JavaMailSender sender;
+    // Injected pool of open SMTP connections used to send emails
+    private final SmtpTransportPool transportPool;
 
     // Configuration properties for email sending
     @Value("${spring.mail.verify.host}") // Base URL for email verification
@@ -42,7 +49,7 @@ public class EmailServiceImpl implements EmailService {
     /**
      * Sends an email to verify a new user account.
      * <p>
-     * This method constructs an email with a verification link and sends it asynchronously
+     * This method constructs an email with a verification link and sends it
      * to the specified email address.
      * </p>
      *
@@ -51,22 +58,14 @@ public class EmailServiceImpl implements EmailService {
      * @param token The verification token to include in the email
      */
     @Override
-    @Async // Marks this method as asynchronous to prevent blocking the caller thread
     public void sendNewAccountEmail(String name, String email, String token) {
         try {
-            // Prepare the email message
-            var mailMessage = new SimpleMailMessage();
-            mailMessage.setSubject(NEW_USER_ACCOUNT_VERIFICATION); // Set the subject of the email
-            mailMessage.setFrom(fromEmail); // Set the sender's email address
-            mailMessage.setTo(email); // Set the recipient's email address
-            mailMessage.setText(getEmailMessage(name, host, token)); // Construct the email body using utility method
-
-            // Send the email
-            sender.send(mailMessage);
+            // Construct the email body using utility method and send it
+            send(createMessage(NEW_USER_ACCOUNT_VERIFICATION, email, getEmailMessage(name, host, token)));
         } catch (Exception exception) {
             // Log the error and wrap it in a custom exception
             log.error("Error sending new account verification email: {}", exception.getMessage());
-            // Consider if throwing an exception is appropriate; usually, email failures are non-critical
+            // Rethrow so the outbox dispatcher schedules a retry
             throw new ApiException("Unable to send email");
         }
     }
@@ -74,7 +73,7 @@ public class EmailServiceImpl implements EmailService {
     /**
      * Sends an email to reset a user's password.
      * <p>
-     * This method constructs an email with a password reset link and sends it asynchronously
+     * This method constructs an email with a password reset link and sends it
      * to the specified email address.
      * </p>
      *
@@ -83,23 +82,75 @@ public class EmailServiceImpl implements EmailService {
      * @param token The password reset token to include in the email
      */
     @Override
-    @Async
     public void sendPasswordResetEmail(String name, String email, String token) {
         try {
-            // Prepare the email message
-            var mailMessage = new SimpleMailMessage();
-            mailMessage.setSubject(PASSWORD_RESET_REQUEST); // Set the subject of the email
-            mailMessage.setFrom(fromEmail); // Set the sender's email address
-            mailMessage.setTo(email); // Set the recipient's email address
-            mailMessage.setText(getResetPasswordMessage(name, host, token)); // Construct the email body using utility method
-
-            // Send the email
-            sender.send(mailMessage);
+            // Construct the email body using utility method and send it
+            send(createMessage(PASSWORD_RESET_REQUEST, email, getResetPasswordMessage(name, host, token)));
         } catch (Exception exception) {
             // Log the error and wrap it in a custom exception
             log.error("Error sending password reset email: {}", exception.getMessage());
-            // Handling of email sending errors should consider user experience; avoid failing silently
+            // Rethrow so the outbox dispatcher schedules a retry
             throw new ApiException("Unable to send email");
         }
     }
+
+    /**
+     * Sends queued emails in one batch over a pooled connection.
+     * <p>
+     * An email that cannot be built fails on its own and is not part of the batch.
+     * </p>
+     *
+     * @param emails the queued emails
+     * @return the failure per email, in the order of the emails, with null for each email that was sent
+     */
+    @Override
+    public List<Exception> sendEmails(List<EmailOutboxEntity> emails) {
+        var failures = new ArrayList<Exception>(emails.size());
+        var messages = new ArrayList<MimeMessage>(emails.size());
+        var positions = new ArrayList<Integer>(emails.size());
+        for (var email : emails) {
+            try {
+                messages.add(createMessage(email));
+                positions.add(failures.size());
+                failures.add(null);
+            } catch (Exception exception) {
+                failures.add(exception);
+            }
+        }
+        var sendFailures = transportPool.send(messages);
+        for (var i = 0; i < sendFailures.size(); i++) {
+            if (sendFailures.get(i) != null) {
+                failures.set(positions.get(i), sendFailures.get(i));
+            }
+        }
+        return failures;
+    }
+
+    private MimeMessage createMessage(EmailOutboxEntity email) throws MessagingException {
+        return switch (email.getType()) {
+            case REGISTRATION -> createMessage(NEW_USER_ACCOUNT_VERIFICATION, email.getRecipient(),
+                    getEmailMessage(email.getName(), host, email.getTokenKey()));
+            case RESETPASSWORD -> createMessage(PASSWORD_RESET_REQUEST, email.getRecipient(),
+                    getResetPasswordMessage(email.getName(), host, email.getTokenKey()));
+        };
+    }
+
+    private MimeMessage createMessage(String subject, String email, String text) throws MessagingException {
+        // Prepare the email message
+        var mailMessage = new SimpleMailMessage();
+        mailMessage.setSubject(subject); // Set the subject of the email
+        mailMessage.setFrom(fromEmail); // Set the sender's email address
+        mailMessage.setTo(email); // Set the recipient's email address
+        mailMessage.setText(text); // Set the body of the email
+        var mimeMessage = new MimeMessage(transportPool.getSession());
+        mailMessage.copyTo(new MimeMailMessage(mimeMessage));
+        return mimeMessage;
+    }
+
+    private void send(MimeMessage message) throws MessagingException {
+        var failure = transportPool.send(List.of(message)).get(0);
+        if (failure != null) {
+            throw failure;
+        }
+    }
 }
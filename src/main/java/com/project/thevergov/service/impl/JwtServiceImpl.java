@@ -4,28 +4,34 @@
  */
 package com.project.thevergov.service.impl;
 
+import com.google.common.base.Suppliers;
+import com.project.thevergov.cache.RefreshTokenCache;
+import com.project.thevergov.cache.SecurityVersionCache;
+import com.project.thevergov.cache.TokenCache;
 import com.project.thevergov.domain.Token;
 import com.project.thevergov.domain.TokenData;
 import com.project.thevergov.dto.User;
 import com.project.thevergov.enumeration.TokenType;
 import com.project.thevergov.function.TriConsumer;
 import com.project.thevergov.security.JwtConfiguration;
+import com.project.thevergov.security.JwtKeyRing;
+import com.project.thevergov.security.RoleRegistry;
+import com.project.thevergov.security.TokenDenylist;
 import com.project.thevergov.service.JwtService;
 import com.project.thevergov.service.UserService;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
 import java.time.Instant;
 import java.util.*;
 import java.util.function.BiFunction;
@@ -39,7 +45,6 @@ import static io.jsonwebtoken.Header.JWT_TYPE;
 import static io.jsonwebtoken.Header.TYPE;
 import static java.util.Arrays.stream;
 import static org.springframework.boot.web.server.Cookie.SameSite.NONE;
-import static org.springframework.security.core.authority.AuthorityUtils.commaSeparatedStringToAuthorityList;
 
 /**
  * JwtServiceImpl implements {@link JwtService} to manage JWT token operations.
@@ -51,19 +56,24 @@ public class JwtServiceImpl extends JwtConfiguration implements JwtService {
 
     private final UserService userService;
 
-    // Supplier for generating HMAC secret key from base64 encoded secret
-    private final Supplier<SecretKey> key = () -> Keys.hmacShaKeyFor(Decoders.BASE64.decode(getSecret()));
+    private final TokenCache tokenCache;
 
-    // Function to parse JWT claims from token
-    private final Function<String, Claims> claimsFunction = token ->
-            Jwts.parser()
-                    .verifyWith(key.get())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+    private final JwtKeyRing keyRing;
 
-    // Function to extract subject (user ID) from JWT token
-    private final Function<String, String> subject = token -> getClaimsValue(token, Claims::getSubject);
+    private final SecurityVersionCache securityVersions;
+
+    private final RefreshTokenCache refreshTokenCache;
+
+    private final RoleRegistry roleRegistry;
+
+    private final TokenDenylist tokenDenylist;
+
+    // Whether access tokens are turned into the authenticated user from their claims alone, without a user lookup
+    @Value("${jwt.stateless:false}")
+    private boolean stateless;
+
+    // Function to parse JWT claims from token, verifying it against the key named by its kid header
+    private final Function<String, Claims> claimsFunction = this::parseClaims;
 
     // BiFunction to extract JWT token from HttpServletRequest cookies by cookie name
     private final BiFunction<HttpServletRequest, String, Optional<String>> extractToken = (request, cookieName) ->
@@ -80,36 +90,30 @@ public class JwtServiceImpl extends JwtConfiguration implements JwtService {
                             .findAny())
                     .orElse(Optional.empty());
 
-    // Supplier for building JWT token with header, audience, ID, issuedAt, notBefore, and signing with secret key
-    private final Supplier<JwtBuilder> builder = () ->
-            Jwts.builder()
-                    .header().add(Map.of(TYPE, JWT_TYPE))
-                    .and()
-                    .audience().add(THE_VERGOV_APP)
-                    .and()
-                    .id(UUID.randomUUID().toString())
-                    .issuedAt(Date.from(Instant.now()))
-                    .notBefore(new Date())
-                    .signWith(key.get(), Jwts.SIG.HS512);
+    // Supplier for building JWT token with header, key ID, audience, ID, issuedAt, notBefore, and signing with the active key
+    private final Supplier<JwtBuilder> builder = this::newBuilder;
 
     // BiFunction to build JWT token based on user and token type (ACCESS or REFRESH)
     private final BiFunction<User, TokenType, String> buildToken = (user, type) ->
             Objects.equals(type, ACCESS) ? builder.get()
                     .subject(user.getUserId())
+                    .claim(ID, user.getId())
+                    .claim(EMAIL, user.getEmail())
                     .claim(AUTHORITIES, user.getAuthorities())
                     .claim(ROLE, user.getRole())
-                    .expiration(Date.from(Instant.now().plusSeconds(getExpiration())))
+                    .claim(SECURITY_VERSION, user.getSecurityVersion())
+                    .expiration(Date.from(Instant.now().plusMillis(getExpiration())))
                     .compact() : builder.get()
                     .subject(user.getUserId())
-                    .expiration(Date.from(Instant.now().plusSeconds(getExpiration())))
+                    .claim(SECURITY_VERSION, user.getSecurityVersion())
+                    .expiration(Date.from(Instant.now().plusMillis(getExpiration())))
                     .compact();
 
-    // TriConsumer to add JWT token as cookie to HttpServletResponse based on token type (ACCESS or REFRESH)
-    private final TriConsumer<HttpServletResponse, User, TokenType> addCookie = (response, user, type) -> {
+    // TriConsumer to add an already minted JWT token as cookie to HttpServletResponse based on token type (ACCESS or REFRESH)
+    private final TriConsumer<HttpServletResponse, String, TokenType> addCookie = (response, token, type) -> {
         switch (type) {
             case ACCESS -> {
-                var accessToken = createToken(user, Token::getAccess);
-                var cookie = new Cookie(type.getValue(), accessToken);
+                var cookie = new Cookie(type.getValue(), token);
 
                 cookie.setHttpOnly(true);
                 //cookie.setSecure(true);
@@ -119,8 +123,7 @@ public class JwtServiceImpl extends JwtConfiguration implements JwtService {
                 response.addCookie(cookie);
             }
             case REFRESH -> {
-                var refreshToken = createToken(user, Token::getRefresh);
-                var cookie = new Cookie(type.getValue(), refreshToken);
+                var cookie = new Cookie(type.getValue(), token);
 
                 cookie.setHttpOnly(true);
                 //cookie.setSecure(true);
@@ -132,14 +135,29 @@ public class JwtServiceImpl extends JwtConfiguration implements JwtService {
         }
     };
 
-    // Function to extract authorities from JWT token
-    public Function<String, List<GrantedAuthority>> authorities = token ->
-            commaSeparatedStringToAuthorityList(new StringJoiner(AUTHORITY_DELIMITER)
-                    .add(claimsFunction.apply(token).get(AUTHORITIES, String.class))
-                    .add(ROLE_PREFIX + claimsFunction.apply(token).get(ROLE, String.class)).toString());
+    // Function to extract authorities from verified JWT claims
+    private final Function<Claims, List<GrantedAuthority>> authorities = this::parseAuthorities;
+
+    // Function to rebuild the authenticated user from the claims of a verified access token
+    private final Function<Claims, User> userFromClaims = claims -> {
+        var user = new User();
+        user.setId(claims.get(ID, Long.class));
+        user.setUserId(claims.getSubject());
+        user.setEmail(claims.get(EMAIL, String.class));
+        user.setRole(claims.get(ROLE, String.class));
+        user.setAuthorities(claims.get(AUTHORITIES, String.class));
+        user.setSecurityVersion(claims.get(SECURITY_VERSION, Long.class));
+        // Tokens are only issued to usable accounts; later changes bump the security version instead
+        user.setEnabled(true);
+        user.setAccountNonLocked(true);
+        user.setAccountNonExpired(true);
+        user.setCredentialsNonExpired(true);
+        return user;
+    };
 
     /**
      * Creates a JWT token for the given user and token function.
+     * Only the token read by the token function is minted.
      *
      * @param user          The user for whom the token is created.
      * @param tokenFunction The function to retrieve the token type (access or refresh).
@@ -147,8 +165,7 @@ public class JwtServiceImpl extends JwtConfiguration implements JwtService {
      */
     @Override
     public String createToken(User user, Function<Token, String> tokenFunction) {
-        var token = Token.builder().access(buildToken.apply(user, ACCESS)).refresh(buildToken.apply(user, REFRESH)).build();
-        return tokenFunction.apply(token);
+        return tokenFunction.apply(newToken(user));
     }
 
     /**
@@ -172,11 +189,50 @@ public class JwtServiceImpl extends JwtConfiguration implements JwtService {
      */
     @Override
     public void addCookie(HttpServletResponse response, User user, TokenType tokenType) {
-        addCookie.accept(response, user, tokenType);
+        addCookie.accept(response, createToken(user, Objects.equals(tokenType, ACCESS) ? Token::getAccess : Token::getRefresh), tokenType);
+    }
+
+    /**
+     * Adds an already minted JWT token as a cookie to HttpServletResponse based on token type (access or refresh).
+     *
+     * @param response  The HttpServletResponse object.
+     * @param token     The JWT token to be stored in the cookie.
+     * @param tokenType The type of token to be added (access or refresh).
+     */
+    @Override
+    public void addCookie(HttpServletResponse response, String token, TokenType tokenType) {
+        addCookie.accept(response, token, tokenType);
+    }
+
+    /**
+     * Exchanges a verified refresh token for a new access and refresh token pair.
+     * <p>
+     * Concurrent refreshes with the same refresh token share a single newly minted pair. A refresh token that
+     * was already exchanged and is presented again after the grace period is treated as stolen: every token of
+     * the user is revoked and no pair is returned.
+     *
+     * @param refreshTokenData The verified data of the refresh token.
+     * @return Optional containing the new token pair, or empty if the refresh token was reused.
+     */
+    @Override
+    public Optional<Token> refreshToken(TokenData refreshTokenData) {
+        var claims = refreshTokenData.getClaims();
+        if (refreshTokenCache.isReused(claims.getId())) {
+            log.warn("Refresh token reuse detected for user {}; revoking all tokens", claims.getSubject());
+            userService.revokeTokens(claims.getSubject());
+            return Optional.empty();
+        }
+        return Optional.of(refreshTokenCache.rotate(claims.getId(), () -> newToken(refreshTokenData.getUser())));
     }
 
     /**
      * Retrieves token data from JWT token using the provided token function.
+     * <p>
+     * The token is verified and its user loaded at most once per cache lifetime; later calls with the
+     * same token are served from the {@link TokenCache} until the token expires. On every call the token is
+     * checked against the {@link TokenDenylist} and its security version against the user's current one, so
+     * revoked tokens and tokens of locked, disabled or otherwise changed users are reported as invalid without
+     * loading the user.
      *
      * @param token         The JWT token as a String.
      * @param tokenFunction The function to retrieve specific token data.
@@ -185,14 +241,17 @@ public class JwtServiceImpl extends JwtConfiguration implements JwtService {
      */
     @Override
     public <T> T getTokenData(String token, Function<TokenData, T> tokenFunction) {
-        return tokenFunction.apply(
-                TokenData.builder()
-                        .valid(Objects.equals(userService.getUserByUserId(subject.apply(token)).getUserId(), claimsFunction.apply(token).getSubject()))
-                        .authorities(authorities.apply(token))
-                        .claims(claimsFunction.apply(token))
-                        .user(userService.getUserByUserId(subject.apply(token))) //TODO: Complete the user retrieval
-                        .build()
-        );
+        var tokenData = tokenCache.get(token, this::verifyToken);
+        if (tokenData.isValid() && (tokenDenylist.isRevoked(tokenData.getClaims().getId()) || !isCurrentVersion(tokenData.getClaims()))) {
+            tokenCache.evict(token);
+            tokenData = TokenData.builder()
+                    .valid(false)
+                    .authorities(tokenData.getAuthorities())
+                    .claims(tokenData.getClaims())
+                    .user(tokenData.getUser())
+                    .build();
+        }
+        return tokenFunction.apply(tokenData);
     }
 
     @Override
@@ -206,8 +265,80 @@ public class JwtServiceImpl extends JwtConfiguration implements JwtService {
         }
     }
 
-    // Private method to retrieve specific claim value from JWT token
-    private <T> T getClaimsValue(String token, Function<Claims, T> claims) {
-        return claimsFunction.andThen(claims).apply(token);
+    /**
+     * Revokes the token in the given cookie until it expires, so it is rejected even if it was copied elsewhere.
+     * Tokens that no longer verify are rejected anyway and are not recorded.
+     *
+     * @param request    The HTTP request carrying the token cookie.
+     * @param cookieName The name of the cookie holding the token.
+     */
+    @Override
+    public void revokeToken(HttpServletRequest request, String cookieName) {
+        extractToken(request, cookieName).ifPresent(token -> {
+            try {
+                var claims = claimsFunction.apply(token);
+                if (claims.getId() != null) {
+                    tokenDenylist.revoke(claims.getId(), claims.getExpiration());
+                }
+                tokenCache.evict(token);
+            } catch (JwtException exception) {
+                log.debug("Token in cookie {} was not revoked: {}", cookieName, exception.getMessage());
+            }
+        });
+    }
+
+    // Private method to verify a JWT token once and assemble its token data from the verified claims;
+    // in stateless mode access tokens are not looked up, refresh tokens and older tokens still are
+    private TokenData verifyToken(String token) {
+        var claims = claimsFunction.apply(token);
+        var user = stateless && claims.containsKey(ID) && claims.containsKey(AUTHORITIES)
+                ? userFromClaims.apply(claims)
+                : userService.getUserByUserId(claims.getSubject());
+        return TokenData.builder()
+                .valid(Objects.equals(user.getUserId(), claims.getSubject()))
+                .authorities(authorities.apply(claims))
+                .claims(claims)
+                .user(user)
+                .build();
+    }
+
+    // Private method to look up the parsed authorities and role carried by verified claims
+    private List<GrantedAuthority> parseAuthorities(Claims claims) {
+        return roleRegistry.getAuthorities(claims.get(AUTHORITIES, String.class), claims.get(ROLE, String.class));
+    }
+
+    // Private method to create a token pair whose tokens are each minted only when first read
+    private Token newToken(User user) {
+        return Token.builder()
+                .access(Suppliers.memoize(() -> buildToken.apply(user, ACCESS)))
+                .refresh(Suppliers.memoize(() -> buildToken.apply(user, REFRESH)))
+                .build();
+    }
+
+    // Private method to check a token's security version; tokens issued before versions were stamped are accepted
+    private boolean isCurrentVersion(Claims claims) {
+        var version = claims.get(SECURITY_VERSION, Long.class);
+        return version == null || securityVersions.isCurrent(claims.getSubject(), version);
+    }
+
+    // Private method to verify a token against the key named by its kid header and parse its claims
+    private Claims parseClaims(String token) {
+        return keyRing.parser()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    // Private method to start a token signed with the active key and stamped with its key ID
+    private JwtBuilder newBuilder() {
+        var signingKey = keyRing.active();
+        return Jwts.builder()
+                .header().add(Map.of(TYPE, JWT_TYPE)).keyId(signingKey.kid())
+                .and()
+                .audience().add(THE_VERGOV_APP)
+                .and()
+                .id(UUID.randomUUID().toString())
+                .issuedAt(Date.from(Instant.now()))
+                .notBefore(new Date())
+                .signWith(signingKey.key(), Jwts.SIG.HS512);
     }
 }
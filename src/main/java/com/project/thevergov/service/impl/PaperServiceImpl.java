@@ -1,7 +1,13 @@
 package com.project.thevergov.service.impl;
 
+import com.project.thevergov.cache.PaperCache;
+import com.project.thevergov.cache.PaperSuggestIndex;
+import com.project.thevergov.domain.CursorPage;
+import com.project.thevergov.domain.PaperCursor;
 import com.project.thevergov.dto.Paper;
+import com.project.thevergov.dto.User;
 import com.project.thevergov.dto.api.iPaper;
+import com.project.thevergov.dto.api.iPaperName;
 import com.project.thevergov.entity.PaperEntity;
 import com.project.thevergov.exception.ApiException;
 import com.project.thevergov.repository.PaperRepository;
@@ -10,21 +16,33 @@ import com.project.thevergov.service.PaperService;
 import com.project.thevergov.service.UserService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
 
 import static com.project.thevergov.constant.Constants.FILE_STORAGE;
+import static com.project.thevergov.constant.Constants.MAX_CURSOR_PAGE_SIZE;
+import static com.project.thevergov.constant.Constants.MAX_SUGGESTIONS;
 import static com.project.thevergov.utils.PaperUtil.fromPaperEntity;
 import static com.project.thevergov.utils.PaperUtil.setIcon;
+import static com.project.thevergov.utils.PaperUtil.toContainsPattern;
 import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 import static org.apache.commons.io.FileUtils.byteCountToDisplaySize;
 import static org.apache.commons.io.FilenameUtils.getExtension;
@@ -36,12 +54,18 @@ import static org.springframework.util.StringUtils.cleanPath;
  */
 @RequiredArgsConstructor
 @Service
+@Slf4j
 @Transactional(rollbackOn = Exception.class) // Ensures the transaction is rolled back in case of an exception
 public class PaperServiceImpl implements PaperService {
 
     private final PaperRepository paperRepository; // Repository for paper entities
     private final UserRepository userRepository; // Repository for user entities
     private final UserService userService; // Service for user operations
+    private final PaperSuggestIndex suggestIndex; // In-memory index answering name type-ahead
+    private final PaperCache paperCache; // Read-through cache of single paper views
+
+    @Value("${paper.suggest.load-batch-size:10000}")
+    private int suggestLoadBatchSize; // Papers read per query while loading the suggest index
 
     /**
      * Retrieves a paginated list of papers with default sorting by name.
@@ -56,16 +80,52 @@ public class PaperServiceImpl implements PaperService {
     }
 
     /**
-     * Retrieves a paginated list of papers filtered by name with default sorting by name.
+     * Retrieves a paginated list of papers whose name contains the given term, most similar names first.
+     * <p>
+     * The term is matched literally and case-insensitively, using the trigram index on the paper name.
+     * </p>
      *
      * @param page The page number to retrieve.
      * @param size The number of papers per page.
-     * @param name The name filter for the papers.
+     * @param name The term to search paper names for.
      * @return A page of {@link iPaper} objects.
      */
     @Override
     public Page<iPaper> getPapers(int page, int size, String name) {
-        return paperRepository.findPapersByName(name, PageRequest.of(page, size, Sort.by("name")));
+        return paperRepository.findPapersByName(name, toContainsPattern(name), PageRequest.of(page, size));
+    }
+
+    /**
+     * Retrieves the papers that follow the given cursor, ordered by name and id.
+     * <p>
+     * Seeks on the {@code (name, id)} index instead of skipping an offset, so every page costs the same
+     * however far the client has scrolled.
+     * </p>
+     *
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param size   The number of papers per page.
+     * @return A {@link CursorPage} of {@link iPaper} objects.
+     */
+    @Override
+    public CursorPage<iPaper> getPapersAfter(String cursor, int size) {
+        var after = PaperCursor.decode(cursor);
+        var limit = cursorPageSize(size);
+        return toCursorPage(paperRepository.findPapersAfter(after.name(), after.id(), limit + 1), limit);
+    }
+
+    /**
+     * Retrieves the papers matching the name filter that follow the given cursor, ordered by name and id.
+     *
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param size   The number of papers per page.
+     * @param name   The name filter for the papers.
+     * @return A {@link CursorPage} of {@link iPaper} objects.
+     */
+    @Override
+    public CursorPage<iPaper> getPapersAfter(String cursor, int size, String name) {
+        var after = PaperCursor.decode(cursor);
+        var limit = cursorPageSize(size);
+        return toCursorPage(paperRepository.findPapersByNameAfter(toContainsPattern(name), after.name(), after.id(), limit + 1), limit);
     }
 
     /**
@@ -80,19 +140,19 @@ public class PaperServiceImpl implements PaperService {
      */
     @Override
     public Collection<Paper> savePapers(String userId, List<MultipartFile> papers) {
-        List<Paper> newPapers = new ArrayList<>();
         var userEntity = userRepository.findUserByUserId(userId).get();
 
         var storage = Paths.get(FILE_STORAGE).toAbsolutePath().normalize();
         try {
+            List<PaperEntity> paperEntities = new ArrayList<>(papers.size());
             for (MultipartFile paper : papers) {
                 var filename = cleanPath(Objects.requireNonNull(paper.getOriginalFilename()));
                 // Validate filename to prevent directory traversal attacks
                 if (filename.contains("..")) {
                     throw new ApiException(String.format("Invalid file name: %s", filename));
                 }
-                // Create and save PaperEntity
-                var paperEntity = PaperEntity.builder()
+                // Create PaperEntity
+                paperEntities.add(PaperEntity.builder()
                         .paperId(UUID.randomUUID().toString())
                         .name(filename)
                         .owner(userEntity)
@@ -100,17 +160,26 @@ public class PaperServiceImpl implements PaperService {
                         .uri(getPaperUri(filename))
                         .formattedSize(byteCountToDisplaySize(paper.getSize()))
                         .icon(setIcon(getExtension(filename)))
-                        .build();
-                var savedPaper = paperRepository.save(paperEntity);
+                        .build());
+            }
+            // Persist all papers at once; the inserts go out as one JDBC batch when the transaction flushes
+            var savedPapers = paperRepository.saveAll(paperEntities);
+            savedPapers.forEach(savedPaper -> suggestIndex.put(savedPaper.getId(), savedPaper.getPaperId(), savedPaper.getName()));
+            paperCache.evictAll(savedPapers.stream().map(PaperEntity::getPaperId).toList());
 
+            // Creators and updaters are the same few users, so each is looked up once
+            Map<Long, User> users = new HashMap<>();
+            List<Paper> newPapers = new ArrayList<>(savedPapers.size());
+            for (var i = 0; i < savedPapers.size(); i++) {
+                var savedPaper = savedPapers.get(i);
                 // Save the file to the storage directory
-                Files.copy(paper.getInputStream(), storage.resolve(filename), REPLACE_EXISTING);
+                Files.copy(papers.get(i).getInputStream(), storage.resolve(savedPaper.getName()), REPLACE_EXISTING);
 
                 // Convert PaperEntity to Paper DTO and add to the list
                 Paper newPaper = fromPaperEntity(
                         savedPaper,
-                        userService.getUserById(savedPaper.getCreatedBy()),
-                        userService.getUserById(savedPaper.getUpdatedBy())
+                        users.computeIfAbsent(savedPaper.getCreatedBy(), userService::getUserById),
+                        users.computeIfAbsent(savedPaper.getUpdatedBy(), userService::getUserById)
                 );
                 newPapers.add(newPaper);
             }
@@ -148,10 +217,15 @@ public class PaperServiceImpl implements PaperService {
             var paperPath = Paths.get(FILE_STORAGE).resolve(paperEntity.getName()).toAbsolutePath().normalize();
             // Rename the file in storage
             Files.move(paperPath, paperPath.resolveSibling(name), REPLACE_EXISTING);
+            suggestIndex.remove(paperEntity.getId(), paperEntity.getName());
             paperEntity.setName(name);
             paperEntity.setDescription(description);
             paperRepository.save(paperEntity);
-            return getPaperByPaperId(paperId);
+            suggestIndex.put(paperEntity.getId(), paperEntity.getPaperId(), name);
+            paperCache.evict(paperId);
+            // Read past the cache: the cached view is only evicted once this transaction commits
+            return paperRepository.findPaperByPaperId(paperId)
+                    .orElseThrow(() -> new ApiException("Paper not found"));
         } catch (Exception exception) {
             throw new ApiException("Unable to update paper");
         }
@@ -171,25 +245,85 @@ public class PaperServiceImpl implements PaperService {
     /**
      * Deletes a paper by its ID.
      * <p>
-     * This method is currently not implemented.
+     * Removes the paper from the database and the suggest index. The stored file is deleted once the
+     * transaction commits, so a rolled back delete keeps it.
      * </p>
      *
      * @param paperId The ID of the paper to delete.
      */
     @Override
     public void deletePaper(String paperId) {
-        // TODO: Implement paper deletion logic
+        var paperEntity = getPaperEntity(paperId);
+        try {
+            paperRepository.delete(paperEntity);
+            suggestIndex.remove(paperEntity.getId(), paperEntity.getName());
+            paperCache.evict(paperId);
+        } catch (Exception exception) {
+            throw new ApiException("Unable to delete paper");
+        }
+        var file = Paths.get(FILE_STORAGE).resolve(paperEntity.getName()).toAbsolutePath().normalize();
+        afterCommit(() -> deleteFile(file));
+    }
+
+    /**
+     * Suggests papers whose name starts with the given prefix, answered from the in-memory suggest index.
+     *
+     * @param prefix The prefix typed so far.
+     * @param limit  The maximum number of suggestions.
+     * @return The matching papers ordered by name.
+     */
+    @Override
+    public List<PaperSuggestIndex.Suggestion> suggestPapers(String prefix, int limit) {
+        return suggestIndex.suggest(prefix, Math.max(1, Math.min(limit, MAX_SUGGESTIONS)));
+    }
+
+    /**
+     * Loads the names of all papers into the suggest index once the application is ready, and reloads them on a
+     * schedule to pick up papers added, renamed or deleted on other nodes.
+     * <p>
+     * Papers are read in batches ordered by id, seeking past the last id of the previous batch. Each batch is read
+     * in its own short transaction rather than holding one open for the whole load.
+     * </p>
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${paper.suggest.refresh-interval:900000}", fixedDelayString = "${paper.suggest.refresh-interval:900000}")
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public void loadSuggestIndex() {
+        var loader = suggestIndex.loader();
+        try {
+            var afterId = 0L;
+            List<iPaperName> batch;
+            do {
+                batch = paperRepository.findPaperNamesAfter(afterId, PageRequest.of(0, suggestLoadBatchSize));
+                for (var paper : batch) {
+                    if (!loader.add(paper.getId(), paper.getPaperId(), paper.getName())) {
+                        log.warn("Paper suggest index is full at {} papers; the remaining papers are not suggested", loader.size());
+                        batch = List.of();
+                        break;
+                    }
+                    afterId = paper.getId();
+                }
+            } while (batch.size() == suggestLoadBatchSize);
+        } catch (RuntimeException exception) {
+            // Keep serving the current index and stop recording changes for a load that will not happen
+            suggestIndex.abandon(loader);
+            throw exception;
+        }
+        suggestIndex.load(loader);
     }
 
     /**
      * Retrieves a paper by its ID.
+     * <p>
+     * Served from the paper cache, which loads the paper on a miss.
+     * </p>
      *
      * @param paperId The ID of the paper to retrieve.
      * @return The {@link iPaper} object.
      */
     @Override
     public iPaper getPaperByPaperId(String paperId) {
-        return paperRepository.findPaperByPaperId(paperId)
+        return paperCache.get(paperId)
                 .orElseThrow(() -> new ApiException("Paper not found"));
     }
 
@@ -215,4 +349,62 @@ public class PaperServiceImpl implements PaperService {
             throw new ApiException("Unable to download paper");
         }
     }
+
+    /**
+     * Deletes a stored paper file, logging rather than failing since the paper is already gone from the database.
+     *
+     * @param file The file to delete.
+     */
+    private static void deleteFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException exception) {
+            log.warn("Unable to delete paper file {}", file, exception);
+        }
+    }
+
+    /**
+     * Runs the given action once the current transaction commits, or immediately if there is none.
+     *
+     * @param action The action to run.
+     */
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Clamps a requested cursor page size to between 1 and {@code MAX_CURSOR_PAGE_SIZE}.
+     *
+     * @param size The requested page size.
+     * @return The page size to query for.
+     */
+    private static int cursorPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+    }
+
+    /**
+     * Builds a cursor page from rows fetched with one extra row beyond the page size; the extra row only signals
+     * that a further page exists and is not returned.
+     *
+     * @param rows The fetched rows, at most {@code size + 1}.
+     * @param size The page size.
+     * @return The page, with a next cursor pointing at its last row when more rows follow.
+     */
+    private static CursorPage<iPaper> toCursorPage(List<iPaper> rows, int size) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, rows.size(), null);
+        }
+        var content = rows.subList(0, size);
+        var last = content.get(size - 1);
+        return new CursorPage<>(content, size, new PaperCursor(last.getName(), last.getId()).encode());
+    }
 }
@@ -1,6 +1,10 @@
 package com.project.thevergov.service.impl;
 
-import com.project.thevergov.cache.CacheStore;
+import com.project.thevergov.cache.LoginAttemptLimiter;
+import com.project.thevergov.cache.QrCodeCache;
+import com.project.thevergov.cache.QrCodeCache.QrCodeImage;
+import com.project.thevergov.cache.SecurityVersionCache;
+import com.project.thevergov.domain.LoginContext;
 import com.project.thevergov.domain.RequestContext;
 import com.project.thevergov.dto.User;
 import com.project.thevergov.entity.ConfirmationEntity;
@@ -14,33 +18,32 @@ import com.project.thevergov.event.UserEvent;
 import com.project.thevergov.exception.ApiException;
 import com.project.thevergov.repository.ConfirmationRepository;
 import com.project.thevergov.repository.CredentialRepository;
-import com.project.thevergov.repository.RoleRepository;
 import com.project.thevergov.repository.UserRepository;
+import com.project.thevergov.security.LoginStateWriter;
+import com.project.thevergov.security.PasswordHasher;
+import com.project.thevergov.security.RoleRegistry;
+import com.project.thevergov.security.TotpVerifier;
 import com.project.thevergov.service.UserService;
-import dev.samstevens.totp.code.CodeGenerator;
-import dev.samstevens.totp.code.CodeVerifier;
-import dev.samstevens.totp.code.DefaultCodeGenerator;
-import dev.samstevens.totp.code.DefaultCodeVerifier;
-import dev.samstevens.totp.time.SystemTimeProvider;
-import dev.samstevens.totp.time.TimeProvider;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.authentication.LockedException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiFunction;
 
 import static com.project.thevergov.constant.Constants.FILE_STORAGE;
+import static com.project.thevergov.constant.Constants.MFA_QR_CODE_PATH;
 import static com.project.thevergov.utils.UserUtils.*;
 import static com.project.thevergov.validation.UserValidation.verifyAccountStatus;
 import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
@@ -60,36 +63,52 @@ import static org.apache.logging.log4j.util.Strings.EMPTY;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository; // Repository for user data
-    private final RoleRepository roleRepository; // Repository for role data
+    private final RoleRegistry roleRegistry; // Roles loaded once and kept in memory
     private final CredentialRepository credentialRepository; // Repository for user credentials
     private final ConfirmationRepository confirmationRepository; // Repository for account confirmation data
-    private final BCryptPasswordEncoder encoder; // Encoder for hashing passwords
-    private final CacheStore<String, Integer> userCache; // Cache to store login attempt counts
+    private final PasswordHasher passwordHasher; // Hashes passwords on a bounded pool off the request threads
+    private final LoginAttemptLimiter loginAttemptLimiter; // Decides login lockout in memory
+    private final LoginStateWriter loginStateWriter; // Persists lock changes and last logins in batches
+    private final TotpVerifier totpVerifier; // Verifies MFA codes and rejects replays
+    private final QrCodeCache qrCodeCache; // Recently rendered MFA QR code images
     private final ApplicationEventPublisher publisher; // Publisher for user-related events
+    private final SecurityVersionCache securityVersions; // Cache of security versions checked against tokens
+
+    @Value("${confirmation.ttl:86400}")
+    private long confirmationTtl; // Seconds a confirmation key stays valid
 
     @Override
     public void createUser(String firstName, String lastName, String username, String email, String password) {
+        // Registering again before verifying replaces the pending profile and password and sends a new link,
+        // so a link sent for an earlier submission can never enable an account with that submission's password
+        var existingUser = userRepository.findByEmailIgnoreCase(email);
+        if (existingUser.isPresent() && !existingUser.get().isEnabled()) {
+            replaceRegistration(existingUser.get(), firstName, lastName, username, password);
+            return;
+        }
         // Create and save a new user, set credentials and confirmation, and publish an event
         UserEntity newUser = createNewUser(firstName, lastName, username, email);
         var userEntity = userRepository.save(newUser);
-        var credentialEntity = new CredentialEntity(userEntity, password);
+        var credentialEntity = new CredentialEntity(userEntity, passwordHasher.encode(password));
         credentialRepository.save(credentialEntity);
-        var confirmationEntity = new ConfirmationEntity(userEntity);
+        var confirmationEntity = new ConfirmationEntity(userEntity, Duration.ofSeconds(confirmationTtl));
         confirmationRepository.save(confirmationEntity);
         publisher.publishEvent(new UserEvent(userEntity, EventType.REGISTRATION, Map.of("key", confirmationEntity.getTokenKey())));
     }
 
     @Override
     public RoleEntity getRoleName(String name) {
-        // Retrieve a role by name or throw an exception if not found
-        var role = roleRepository.findRoleEntityByName(name);
-        return role.orElseThrow(() -> new ApiException("Role not found"));
+        // Retrieve a role by name from the in-memory registry or throw an exception if not found
+        return roleRegistry.getRole(name);
     }
 
     @Override
     public void verifyAccount(String key) {
         // Verify account using confirmation key and enable user account
         var confirmationEntity = getUserConfirmation(key);
+        if (confirmationEntity == null) {
+            throw new ApiException("Unable to find key");
+        }
         UserEntity userEntity = getUserEntityByEmail(confirmationEntity.getUserEntity().getEmail());
         userEntity.setEnabled(true);
         userRepository.save(userEntity);
@@ -97,30 +116,28 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public void updateLoginAttempt(String email, LoginType loginType) {
-        // Update login attempt count and account lock status based on login type
-        var userEntity = getUserEntityByEmail(email);
-        RequestContext.setUserId(userEntity.getId());
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public void updateLoginAttempt(String email, String ipAddress, LoginType loginType) {
+        // Decide lockout in memory; only lock changes and successful logins are queued for a batched write
         switch (loginType) {
             case LOGIN_ATTEMPT -> {
-                if (userCache.get(userEntity.getEmail()) == null) {
-                    userEntity.setLoginAttempts(0);
-                    userEntity.setAccountNonLocked(true);
-                }
-                userEntity.setLoginAttempts(userEntity.getLoginAttempts() + 1);
-                userCache.put(userEntity.getEmail(), userEntity.getLoginAttempts());
-                if (userCache.get(userEntity.getEmail()) > 5) {
-                    userEntity.setAccountNonLocked(false);
+                switch (loginAttemptLimiter.recordAttempt(email, ipAddress)) {
+                    case THROTTLED -> throw new ApiException("Too many login attempts. Please try again later");
+                    case LOCKED -> {
+                        loginStateWriter.lock(email);
+                        throw new LockedException("Your account is currently locked");
+                    }
+                    case BLOCKED -> throw new LockedException("Your account is currently locked");
+                    case UNLOCKED -> loginStateWriter.unlock(email);
+                    case ALLOWED -> {
+                    }
                 }
             }
             case LOGIN_SUCCESS -> {
-                userEntity.setAccountNonLocked(true);
-                userEntity.setLoginAttempts(0);
-                userEntity.setLastLogin(LocalDateTime.now());
-                userCache.evict(userEntity.getEmail());
+                loginAttemptLimiter.recordSuccess(email);
+                loginStateWriter.recordLogin(email, LocalDateTime.now());
             }
         }
-        userRepository.save(userEntity);
     }
 
     @Override
@@ -144,16 +161,44 @@ public class UserServiceImpl implements UserService {
         return credentialById.orElseThrow(() -> new ApiException("Unable to find user credential"));
     }
 
+    @Override
+    public LoginContext getLoginContext(String email) {
+        // Load the user, role and credential for a login with a single joined query
+        var credentialEntity = credentialRepository.findLoginCredentialByEmail(email)
+                .orElseThrow(() -> new ApiException("User not found"));
+        var userEntity = credentialEntity.getUserEntity();
+        var user = fromUserEntity(userEntity, userEntity.getRole(), credentialEntity);
+        // A lock for too many attempts lapses even if this node never saw them, e.g. after a restart
+        var lockedUntil = userEntity.getLockedUntil();
+        if (!userEntity.isAccountNonLocked() && lockedUntil != null && lockedUntil.isBefore(LocalDateTime.now())) {
+            loginStateWriter.unlock(email);
+            user.setAccountNonLocked(true);
+        }
+        return new LoginContext(user, credentialEntity);
+    }
+
     @Override
     public User setupMfa(Long id) {
         // Set up multi-factor authentication (MFA) for a user
         UserEntity userEntity = getUserEntityById(id);
         var codeSecret = qrCodeSecret.get();
-        userEntity.setQrCodeImageUri(qrCodeImageUri.apply(userEntity.getEmail(), codeSecret));
         userEntity.setQrCodeSecret(codeSecret);
         userEntity.setMfa(true);
         userRepository.save(userEntity);
-        return fromUserEntity(userEntity, userEntity.getRole(), getUserCredentialById(userEntity.getId()));
+        var user = fromUserEntity(userEntity, userEntity.getRole(), getUserCredentialById(userEntity.getId()));
+        user.setQrCodeImageUri(ServletUriComponentsBuilder.fromCurrentContextPath().path(MFA_QR_CODE_PATH).toUriString());
+        return user;
+    }
+
+    @Override
+    public QrCodeImage getQrCodeImage(String userId) {
+        // Render the MFA QR code from the stored secret, reusing a recent rendering of the same secret
+        var userEntity = getUserEntityByUserId(userId);
+        var codeSecret = userEntity.getQrCodeSecret();
+        if (!userEntity.isMfa() || codeSecret == null || codeSecret.isEmpty()) {
+            throw new ApiException("MFA is not set up");
+        }
+        return qrCodeCache.get(codeSecret, () -> qrCodeImage.apply(userEntity.getEmail(), codeSecret));
     }
 
     private UserEntity getUserEntityById(Long id) {
@@ -168,7 +213,6 @@ public class UserServiceImpl implements UserService {
         UserEntity userEntity = getUserEntityById(id);
         userEntity.setMfa(false);
         userEntity.setQrCodeSecret(EMPTY);
-        userEntity.setQrCodeImageUri(EMPTY);
         userRepository.save(userEntity);
         return fromUserEntity(userEntity, userEntity.getRole(), getUserCredentialById(userEntity.getId()));
     }
@@ -177,7 +221,7 @@ public class UserServiceImpl implements UserService {
     public User verifyQrCode(String userId, String qrCode) {
         // Verify the provided QR code for a user
         UserEntity userEntity = getUserEntityByUserId(userId);
-        verifyCode(qrCode, userEntity.getQrCodeSecret());
+        verifyCode(userEntity, qrCode);
         return fromUserEntity(userEntity, userEntity.getRole(), getUserCredentialById(userEntity.getId()));
     }
 
@@ -186,10 +230,15 @@ public class UserServiceImpl implements UserService {
         // Trigger password reset process for a user
         var user = getUserEntityByEmail(email);
         var confirmation = getUserConfirmation(user);
-        if (confirmation != null) {
+        if (confirmation != null && !confirmation.isExpired()) {
+            publisher.publishEvent(new UserEvent(user, EventType.RESETPASSWORD, Map.of("key", confirmation.getTokenKey())));
+        } else if (confirmation != null) {
+            // The expired row is not purged yet; give it a new key rather than adding a second row for the user
+            confirmation.renew(Duration.ofSeconds(confirmationTtl));
+            confirmationRepository.save(confirmation);
             publisher.publishEvent(new UserEvent(user, EventType.RESETPASSWORD, Map.of("key", confirmation.getTokenKey())));
         } else {
-            var confirmationEntity = new ConfirmationEntity(user);
+            var confirmationEntity = new ConfirmationEntity(user, Duration.ofSeconds(confirmationTtl));
             confirmationRepository.save(confirmationEntity);
             publisher.publishEvent(new UserEvent(user, EventType.RESETPASSWORD, Map.of("key", confirmationEntity.getTokenKey())));
         }
@@ -217,10 +266,24 @@ public class UserServiceImpl implements UserService {
         if (!confirmNewPassword.equals(newPassword)) {
             throw new ApiException("Passwords don't match. Please try again.");
         }
-        var user = getUserByUserId(userId);
-        var credentials = getUserCredentialById(user.getId());
-        credentials.setPassword(encoder.encode(newPassword));
+        var userEntity = getUserEntityByUserId(userId);
+        var credentials = getUserCredentialById(userEntity.getId());
+        credentials.setPassword(passwordHasher.encode(newPassword));
         credentialRepository.save(credentials);
+        revokeTokens(userEntity);
+        userRepository.save(userEntity);
+    }
+
+    @Override
+    public void upgradePasswordHash(Long id, String encodedPassword, String upgradedPassword) {
+        // Replace the verified hash with one made with the current encoder settings, unless the password changed meanwhile
+        RequestContext.setUserId(id);
+        var credentialEntity = getUserCredentialById(id);
+        if (!encodedPassword.equals(credentialEntity.getPassword())) {
+            return;
+        }
+        credentialEntity.setPassword(upgradedPassword);
+        credentialRepository.save(credentialEntity);
     }
 
     @Override
@@ -231,6 +294,8 @@ public class UserServiceImpl implements UserService {
         userEntity.setLastName(lastName);
         userEntity.setEmail(email);
         userEntity.setBio(bio);
+        // Stateless tokens carry the profile as claims, so tokens issued before the change must go
+        revokeTokens(userEntity);
         userRepository.save(userEntity);
         return fromUserEntity(userEntity, userEntity.getRole(), getUserCredentialById(userEntity.getId()));
     }
@@ -240,6 +305,7 @@ public class UserServiceImpl implements UserService {
         // Update the user's role
         var userEntity = getUserEntityByUserId(userId);
         userEntity.setRole(getRoleName(role));
+        revokeTokens(userEntity);
         userRepository.save(userEntity);
     }
 
@@ -248,6 +314,7 @@ public class UserServiceImpl implements UserService {
         // Toggle account expiration status
         var userEntity = getUserEntityByUserId(userId);
         userEntity.setAccountNonExpired(!userEntity.isAccountNonExpired());
+        revokeTokens(userEntity);
         userRepository.save(userEntity);
     }
 
@@ -256,6 +323,8 @@ public class UserServiceImpl implements UserService {
         // Toggle account lock status
         var userEntity = getUserEntityByUserId(userId);
         userEntity.setAccountNonLocked(!userEntity.isAccountNonLocked());
+        userEntity.setLockedUntil(null);
+        revokeTokens(userEntity);
         userRepository.save(userEntity);
     }
 
@@ -264,6 +333,7 @@ public class UserServiceImpl implements UserService {
         // Toggle account enabled status
         var userEntity = getUserEntityByUserId(userId);
         userEntity.setEnabled(!userEntity.isEnabled());
+        revokeTokens(userEntity);
         userRepository.save(userEntity);
     }
 
@@ -273,6 +343,7 @@ public class UserServiceImpl implements UserService {
         var userEntity = getUserEntityByUserId(userId);
         var credentials = getUserCredentialById(userEntity.getId());
         credentials.setUpdatedAt(LocalDateTime.of(1995, 7, 12, 11, 11)); // Hardcoded date for testing
+        revokeTokens(userEntity);
         userRepository.save(userEntity);
     }
 
@@ -282,13 +353,15 @@ public class UserServiceImpl implements UserService {
         if (!confirmNewPassword.equals(newPassword)) {
             throw new ApiException("Passwords don't match. Please try again.");
         }
-        var user = getUserByUserId(userId);
-        var credentials = getUserCredentialById(user.getId());
-        if (!encoder.matches(password, credentials.getPassword())) {
+        var userEntity = getUserEntityByUserId(userId);
+        var credentials = getUserCredentialById(userEntity.getId());
+        if (!passwordHasher.matches(password, credentials.getPassword())) {
             throw new ApiException("Existing password is incorrect. Please try again.");
         }
-        credentials.setPassword(encoder.encode(newPassword));
+        credentials.setPassword(passwordHasher.encode(newPassword));
         credentialRepository.save(credentials);
+        revokeTokens(userEntity);
+        userRepository.save(userEntity);
     }
 
     @Override
@@ -308,6 +381,15 @@ public class UserServiceImpl implements UserService {
         return fromUserEntity(userEntity, userEntity.getRole(), getUserCredentialById(userEntity.getId()));
     }
 
+    @Override
+    public void revokeTokens(String userId) {
+        // Reject every token issued to the user so far
+        var userEntity = getUserEntityByUserId(userId);
+        RequestContext.setUserId(userEntity.getId());
+        revokeTokens(userEntity);
+        userRepository.save(userEntity);
+    }
+
     @Override
     public List<UserEntity> getUsers() {
         // TODO Retrieve all users
@@ -337,17 +419,40 @@ public class UserServiceImpl implements UserService {
         return userByUserId.orElseThrow(() -> new ApiException("User not found"));
     }
 
+    private void revokeTokens(UserEntity userEntity) {
+        // Bump the security version so tokens issued before this change are rejected
+        userEntity.setSecurityVersion(userEntity.getSecurityVersion() + 1);
+        securityVersions.evict(userEntity.getUserId());
+    }
+
+    private void replaceRegistration(UserEntity user, String firstName, String lastName, String username, String password) {
+        // Overwrite the unverified account with the latest submission
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        user.setUsername(username);
+        userRepository.save(user);
+        var credentialEntity = getUserCredentialById(user.getId());
+        credentialEntity.setPassword(passwordHasher.encode(password));
+        credentialRepository.save(credentialEntity);
+        // Always renew the key so earlier links stop working, or create one if it was purged
+        var confirmation = getUserConfirmation(user);
+        if (confirmation == null) {
+            confirmation = new ConfirmationEntity(user, Duration.ofSeconds(confirmationTtl));
+        } else {
+            confirmation.renew(Duration.ofSeconds(confirmationTtl));
+        }
+        confirmationRepository.save(confirmation);
+        publisher.publishEvent(new UserEvent(user, EventType.REGISTRATION, Map.of("key", confirmation.getTokenKey())));
+    }
+
     private ConfirmationEntity getUserConfirmation(UserEntity user) {
         // Get confirmation entity associated with a user
         return confirmationRepository.findByUserEntity(user).orElse(null);
     }
 
-    private boolean verifyCode(String qrCode, String qrCodeSecret) {
-        // Verify the provided QR code against the stored secret
-        TimeProvider timeProvider = new SystemTimeProvider();
-        CodeGenerator codeGenerator = new DefaultCodeGenerator();
-        CodeVerifier codeVerifier = new DefaultCodeVerifier(codeGenerator, timeProvider);
-        if (codeVerifier.isValidCode(qrCodeSecret, qrCode)) {
+    private boolean verifyCode(UserEntity userEntity, String qrCode) {
+        // Verify the provided QR code against the stored secret, rejecting codes that were already used
+        if (totpVerifier.verify(userEntity.getUserId(), userEntity.getQrCodeSecret(), qrCode)) {
             return true;
         } else {
             throw new ApiException("Invalid QR code. Please try again.");
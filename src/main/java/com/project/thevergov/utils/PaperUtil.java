@@ -4,7 +4,6 @@ import com.project.thevergov.dto.Paper;
 import com.project.thevergov.dto.User;
 import com.project.thevergov.entity.PaperEntity;
 import org.apache.commons.lang3.StringUtils;
-import org.springframework.beans.BeanUtils;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 /**
@@ -61,8 +60,19 @@ public class PaperUtil {
      */
     public static Paper fromPaperEntity(PaperEntity paperEntity, User createdBy, User updatedBy) {
         var paper = new Paper();
-        // Copy properties from PaperEntity to Paper DTO
-        BeanUtils.copyProperties(paperEntity, paper);
+        // Copy the fields shared by PaperEntity and the Paper DTO; listed explicitly to avoid reflective copying
+        paper.setId(paperEntity.getId());
+        paper.setPaperId(paperEntity.getPaperId());
+        paper.setName(paperEntity.getName());
+        paper.setDescription(paperEntity.getDescription());
+        paper.setUri(paperEntity.getUri());
+        paper.setSize(paperEntity.getSize());
+        paper.setFormattedSize(paperEntity.getFormattedSize());
+        paper.setIcon(paperEntity.getIcon());
+        paper.setExtension(paperEntity.getExtension());
+        paper.setReferenceId(paperEntity.getReferenceId());
+        paper.setCreatedAt(paperEntity.getCreatedAt());
+        paper.setUpdatedAt(paperEntity.getUpdatedAt());
 
         // Set additional information related to the paper's creator and updater
         paper.setOwnerName(createdBy.getFirstName() + " " + createdBy.getLastName());
@@ -72,4 +82,18 @@ public class PaperUtil {
 
         return paper;
     }
+
+    /**
+     * Builds an ILIKE pattern that matches the given search term literally anywhere in a paper name.
+     * <p>
+     * The LIKE wildcards {@code %} and {@code _} and the escape character {@code \} are escaped, so user input
+     * is never interpreted as a pattern.
+     *
+     * @param term The search term entered by the user.
+     * @return A pattern of the form {@code %term%} for use with {@code ILIKE ... ESCAPE '\'}.
+     */
+    public static String toContainsPattern(String term) {
+        var escaped = term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
 }
@@ -7,6 +7,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.exc.MismatchedInputException;
 import com.project.thevergov.domain.Response;
 import com.project.thevergov.exception.ApiException;
+import com.project.thevergov.exception.CapacityExceededException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpStatus;
@@ -17,11 +18,13 @@ import org.springframework.security.authentication.*;
 import java.util.Map;
 import java.util.function.*;
 
+import static com.project.thevergov.constant.Constants.RETRY_AFTER_SECONDS;
 import static java.util.Collections.emptyMap;
 import static org.apache.commons.lang3.StringUtils.EMPTY;
 import static java.time.LocalDateTime.*;
 import static org.apache.commons.lang3.exception.ExceptionUtils.getRootCauseMessage;
 import static org.springframework.http.HttpStatus.*;
+import static org.springframework.http.HttpHeaders.RETRY_AFTER;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
 /**
@@ -29,6 +32,8 @@ import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
  */
 public class RequestUtils {
 
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
     /**
      * Writes a JSON response to the HttpServletResponse.
      */
@@ -36,7 +41,7 @@ public class RequestUtils {
             ((httpServletResponse, response) -> {
                 try {
                     var outputStream = httpServletResponse.getOutputStream();
-                    new ObjectMapper().writeValue(outputStream, response);
+                    MAPPER.writeValue(outputStream, response);
                     outputStream.flush();
                 } catch (Exception e) {
                     throw new ApiException(e.getMessage());
@@ -58,7 +63,8 @@ public class RequestUtils {
                         exception instanceof LockedException ||
                         exception instanceof BadCredentialsException ||
                         exception instanceof CredentialsExpiredException ||
-                        exception instanceof ApiException
+                        exception instanceof ApiException ||
+                        exception instanceof CapacityExceededException
         ) {
             return exception.getMessage();
         }
@@ -96,6 +102,10 @@ public class RequestUtils {
         } else if (exception instanceof InsufficientAuthenticationException) {
             Response apiResponse = getErrorResponse(request, response, exception, UNAUTHORIZED);
             writeResponse.accept(response, apiResponse);
+        } else if (exception instanceof CapacityExceededException) {
+            response.setHeader(RETRY_AFTER, RETRY_AFTER_SECONDS);
+            Response apiResponse = getErrorResponse(request, response, exception, SERVICE_UNAVAILABLE);
+            writeResponse.accept(response, apiResponse);
         } else if (exception instanceof MismatchedInputException) {
             Response apiResponse = getErrorResponse(request, response, exception, BAD_REQUEST);
             writeResponse.accept(response, apiResponse);
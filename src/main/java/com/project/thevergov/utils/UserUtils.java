@@ -5,21 +5,18 @@ import com.project.thevergov.entity.CredentialEntity;
 import com.project.thevergov.entity.RoleEntity;
 import com.project.thevergov.entity.UserEntity;
 import com.project.thevergov.exception.ApiException;
+import com.project.thevergov.security.TotpVerifier;
 import dev.samstevens.totp.code.HashingAlgorithm;
 import dev.samstevens.totp.qr.QrData;
 import dev.samstevens.totp.qr.ZxingPngQrGenerator;
 import dev.samstevens.totp.secret.DefaultSecretGenerator;
 import jakarta.validation.groups.Default;
-import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.beans.BeanUtils;
 
 import java.util.UUID;
 import java.util.function.BiFunction;
 import java.util.function.Supplier;
 
 import static com.project.thevergov.constant.Constants.NINETY_DAYS;
-import static dev.samstevens.totp.util.Utils.getDataUriForImage;
 import static java.time.LocalDateTime.*;
 import static org.apache.commons.lang3.StringUtils.EMPTY;
 
@@ -76,8 +73,22 @@ public class UserUtils {
     public static User fromUserEntity(UserEntity userEntity, RoleEntity role, CredentialEntity credentialEntity) {
         User user = new User();
 
-        // Copy properties from UserEntity to User DTO
-        BeanUtils.copyProperties(userEntity, user);
+        // Copy the fields shared by UserEntity and the User DTO; listed explicitly to avoid reflective copying
+        user.setId(userEntity.getId());
+        user.setCreatedBy(userEntity.getCreatedBy());
+        user.setUpdatedBy(userEntity.getUpdatedBy());
+        user.setUserId(userEntity.getUserId());
+        user.setFirstName(userEntity.getFirstName());
+        user.setLastName(userEntity.getLastName());
+        user.setUsername(userEntity.getUsername());
+        user.setEmail(userEntity.getEmail());
+        user.setBio(userEntity.getBio());
+        user.setImageUrl(userEntity.getImageUrl());
+        user.setAccountNonExpired(userEntity.isAccountNonExpired());
+        user.setAccountNonLocked(userEntity.isAccountNonLocked());
+        user.setEnabled(userEntity.isEnabled());
+        user.setMfa(userEntity.isMfa());
+        user.setSecurityVersion(userEntity.getSecurityVersion());
 
         // Set additional fields in User DTO
         user.setLastLogin(userEntity.getLastLogin().toString());
@@ -109,24 +120,22 @@ public class UserUtils {
                     .label(email) // Email as label
                     .secret(qrCodeSecret) // QR code secret
                     .algorithm(HashingAlgorithm.SHA1) // Hashing algorithm for QR code
-                    .digits(6) // Number of digits in the generated code
-                    .period(30) // Time period for the code validity
+                    .digits(TotpVerifier.DIGITS) // Number of digits in the generated code
+                    .period(TotpVerifier.PERIOD_SECONDS) // Time period for the code validity
                     .build();
 
     /**
-     * Generates a data URI for a QR code image based on the provided email and QR code secret.
+     * Renders a PNG QR code image for the provided email and QR code secret.
      */
-    public static BiFunction<String, String, String> qrCodeImageUri =
+    public static BiFunction<String, String, byte[]> qrCodeImage =
             (email, qrCodeSecret) -> {
                 var data = qrDataFunction.apply(email, qrCodeSecret);
                 var generator = new ZxingPngQrGenerator();
-                byte[] imageData;
                 try {
-                    imageData = generator.generate(data); // Generate QR code image
+                    return generator.generate(data); // Generate QR code image
                 } catch (Exception exception) {
-                    throw new ApiException("Unable to create QR code URI"); // Handle errors in QR code generation
+                    throw new ApiException("Unable to create QR code image"); // Handle errors in QR code generation
                 }
-                return getDataUriForImage(imageData, generator.getImageMimeType()); // Convert image data to data URI
             };
 
     /**
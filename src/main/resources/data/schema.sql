@@ -1,5 +1,21 @@
 BEGIN;
 
+-- Trigram operator classes for the GIN index that serves paper name search
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Id sequences used by the entities; each step of 50 is handed out by Hibernate's pooled-lo optimizer
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS confirmations_seq INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS credentials_seq INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS papers_seq INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS roles_seq INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS articles_seq INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS users (
                                      id SERIAL PRIMARY KEY,
                                      user_id CHARACTER VARYING(255) NOT NULL,
@@ -10,7 +26,6 @@ CREATE TABLE IF NOT EXISTS users (
                                      bio CHARACTER VARYING(255) DEFAULT NULL,
                                      reference_id CHARACTER VARYING(255) NOT NULL,
                                      qr_code_secret CHARACTER VARYING(255) DEFAULT NULL,
-                                     qr_code_image_uri TEXT DEFAULT NULL,
                                      image_url CHARACTER VARYING(255) DEFAULT 'https://cdn-icons-png.flaticon.com/512/149/149071.png',
                                      last_login TIMESTAMP(6) WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
                                      login_attempts INTEGER DEFAULT 0,
@@ -18,6 +33,8 @@ CREATE TABLE IF NOT EXISTS users (
                                      enabled BOOLEAN NOT NULL DEFAULT FALSE,
                                      account_non_expired BOOLEAN NOT NULL DEFAULT FALSE,
                                      account_non_locked BOOLEAN NOT NULL DEFAULT FALSE,
+                                     locked_until TIMESTAMP(6) WITH TIME ZONE DEFAULT NULL,
+                                     security_version BIGINT NOT NULL DEFAULT 0,
                                      created_by BIGINT NOT NULL,
                                      updated_by BIGINT NOT NULL,
                                      created_at TIMESTAMP(6) WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
@@ -30,15 +47,16 @@ CREATE TABLE IF NOT EXISTS users (
 
 CREATE TABLE IF NOT EXISTS confirmations (
                                              id SERIAL PRIMARY KEY,
-                                             key CHARACTER VARYING(255) NOT NULL,
+                                             token_key CHARACTER VARYING(255) NOT NULL,
                                              user_id BIGINT NOT NULL,
+                                             expires_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
                                              reference_id CHARACTER VARYING(255) NOT NULL,
                                              created_by BIGINT NOT NULL,
                                              updated_by BIGINT NOT NULL,
                                              created_at TIMESTAMP(6) WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
                                              updated_at TIMESTAMP(6) WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
                                              CONSTRAINT uq_confirmations_user_id UNIQUE (user_id),
-                                             CONSTRAINT uq_confirmations_key UNIQUE (key),
+                                             CONSTRAINT uq_confirmations_token_key UNIQUE (token_key),
                                              CONSTRAINT fk_confirmations_user_id FOREIGN KEY (user_id) REFERENCES users (id) MATCH SIMPLE ON UPDATE CASCADE ON DELETE CASCADE,
                                              CONSTRAINT fk_confirmations_created_by FOREIGN KEY (created_by) REFERENCES users (id) MATCH SIMPLE ON UPDATE CASCADE ON DELETE CASCADE,
                                              CONSTRAINT fk_confirmations_updated_by FOREIGN KEY (updated_by) REFERENCES users (id) MATCH SIMPLE ON UPDATE CASCADE ON DELETE CASCADE
@@ -100,14 +118,46 @@ CREATE TABLE IF NOT EXISTS user_roles (
                                           CONSTRAINT fk_user_roles_role_id FOREIGN KEY (role_id) REFERENCES roles (id) MATCH SIMPLE ON UPDATE CASCADE ON DELETE RESTRICT
 );
 
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+                                              token_id CHARACTER VARYING(255) PRIMARY KEY,
+                                              expires_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+                                              revoked_at TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS email_outbox (
+                                            id BIGSERIAL PRIMARY KEY,
+                                            type CHARACTER VARYING(50) NOT NULL,
+                                            recipient CHARACTER VARYING(100) NOT NULL,
+                                            name CHARACTER VARYING(50) NOT NULL,
+                                            token_key CHARACTER VARYING(255) NOT NULL,
+                                            attempts INTEGER NOT NULL DEFAULT 0,
+                                            next_attempt_at TIMESTAMP(6) WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+                                            last_error CHARACTER VARYING(255) DEFAULT NULL,
+                                            created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
 CREATE INDEX IF NOT EXISTS index_users_email ON users (email);
 
+CREATE INDEX IF NOT EXISTS index_users_lower_email ON users (lower(email));
+
 CREATE INDEX IF NOT EXISTS index_users_user_id ON users (user_id);
 
 CREATE INDEX IF NOT EXISTS index_confirmations_user_id ON confirmations (user_id);
 
+CREATE INDEX IF NOT EXISTS index_confirmations_expires_at ON confirmations (expires_at);
+
 CREATE INDEX IF NOT EXISTS index_credentials_user_id ON credentials (user_id);
 
 CREATE INDEX IF NOT EXISTS index_user_roles_user_id ON user_roles (user_id);
 
+CREATE INDEX IF NOT EXISTS index_revoked_tokens_expires_at ON revoked_tokens (expires_at);
+
+CREATE INDEX IF NOT EXISTS index_revoked_tokens_revoked_at ON revoked_tokens (revoked_at);
+
+CREATE INDEX IF NOT EXISTS index_email_outbox_next_attempt_at ON email_outbox (next_attempt_at) WHERE next_attempt_at IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS index_papers_name_id ON papers (name, id);
+
+CREATE INDEX IF NOT EXISTS index_papers_name_trgm ON papers USING GIN (name gin_trgm_ops);
+
 END;
\ No newline at end of file
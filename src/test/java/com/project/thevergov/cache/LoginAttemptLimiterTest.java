@@ -0,0 +1,115 @@
+package com.project.thevergov.cache;
+
+import com.google.common.base.Ticker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.project.thevergov.cache.LoginAttemptLimiter.Outcome.ALLOWED;
+import static com.project.thevergov.cache.LoginAttemptLimiter.Outcome.BLOCKED;
+import static com.project.thevergov.cache.LoginAttemptLimiter.Outcome.LOCKED;
+import static com.project.thevergov.cache.LoginAttemptLimiter.Outcome.THROTTLED;
+import static com.project.thevergov.cache.LoginAttemptLimiter.Outcome.UNLOCKED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginAttemptLimiterTest {
+
+    private static final String EMAIL = "test@example.com";
+    private static final String IP_ADDRESS = "203.0.113.7";
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private LoginAttemptLimiter loginAttemptLimiter;
+
+    @BeforeEach
+    void setUp() {
+        var ticker = new Ticker() {
+            @Override
+            public long read() {
+                return nanos.get();
+            }
+        };
+        loginAttemptLimiter = new LoginAttemptLimiter(3, 5, 60, TimeUnit.SECONDS, 100, 4, registry, ticker);
+    }
+
+    @Test
+    @DisplayName("Test Login Attempt Limiter - Locks over the limit and unlocks once the window slides")
+    void recordAttemptShouldLockAndUnlock() {
+        // Act - When & Assert - Then
+        for (int i = 0; i < 3; i++) {
+            assertThat(loginAttemptLimiter.recordAttempt(EMAIL, null)).isEqualTo(ALLOWED);
+        }
+        assertThat(loginAttemptLimiter.recordAttempt("TEST@example.com", null)).isEqualTo(LOCKED);
+        assertThat(loginAttemptLimiter.recordAttempt(EMAIL, null)).isEqualTo(BLOCKED);
+
+        // Half of the previous window still overlaps, so five old attempts weigh as 2.5
+        advance(90);
+        assertThat(loginAttemptLimiter.recordAttempt(EMAIL, null)).isEqualTo(BLOCKED);
+
+        advance(100);
+        assertThat(loginAttemptLimiter.recordAttempt(EMAIL, null)).isEqualTo(UNLOCKED);
+        assertThat(registry.get("login.attempts").tag("outcome", "blocked").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Test Login Attempt Limiter - Address over its limit is throttled")
+    void recordAttemptShouldThrottleAddress() {
+        // Arrange - Given
+        for (int i = 0; i < 5; i++) {
+            loginAttemptLimiter.recordAttempt("user" + i + "@example.com", IP_ADDRESS);
+        }
+
+        // Act - When
+        var outcome = loginAttemptLimiter.recordAttempt(EMAIL, IP_ADDRESS);
+
+        // Assert - Then
+        assertThat(outcome).isEqualTo(THROTTLED);
+        assertThat(loginAttemptLimiter.recordAttempt(EMAIL, "198.51.100.1")).isEqualTo(ALLOWED);
+    }
+
+    @Test
+    @DisplayName("Test Login Attempt Limiter - Expired locks are drained")
+    void drainExpiredLocksShouldReturnLapsedLocks() {
+        // Arrange - Given
+        for (int i = 0; i < 4; i++) {
+            loginAttemptLimiter.recordAttempt(EMAIL, null);
+        }
+        loginAttemptLimiter.recordAttempt("other@example.com", null);
+        loginAttemptLimiter.recordSuccess("other@example.com");
+
+        // Act - When
+        var beforeExpiry = loginAttemptLimiter.drainExpiredLocks();
+        advance(121);
+        var afterExpiry = loginAttemptLimiter.drainExpiredLocks();
+
+        // Assert - Then
+        assertThat(beforeExpiry).isEmpty();
+        assertThat(afterExpiry).containsExactly(EMAIL);
+        assertThat(loginAttemptLimiter.drainExpiredLocks()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Test Login Attempt Limiter - Locks evicted for size are left to their persisted expiry")
+    void drainExpiredLocksShouldSkipSizeEvictions() {
+        // Arrange - Given
+        var bounded = new LoginAttemptLimiter(3, 5, 60, TimeUnit.SECONDS, 1, 1, new SimpleMeterRegistry(), Ticker.systemTicker());
+        for (int i = 0; i < 4; i++) {
+            bounded.recordAttempt(EMAIL, null);
+        }
+
+        // Act - When
+        bounded.recordAttempt("other@example.com", null);
+
+        // Assert - Then
+        assertThat(bounded.drainExpiredLocks()).isEmpty();
+        assertThat(bounded.lockoutDuration()).hasSeconds(120);
+    }
+
+    private void advance(long seconds) {
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+}
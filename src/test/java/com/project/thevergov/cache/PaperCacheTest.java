@@ -0,0 +1,96 @@
+package com.project.thevergov.cache;
+
+import com.project.thevergov.dto.api.iPaper;
+import com.project.thevergov.repository.PaperRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PaperCacheTest {
+
+    private PaperRepository paperRepository;
+    private SimpleMeterRegistry registry;
+    private PaperCache paperCache;
+
+    @BeforeEach
+    void setUp() {
+        paperRepository = mock(PaperRepository.class);
+        registry = new SimpleMeterRegistry();
+        paperCache = new PaperCache(paperRepository, 100, 60, TimeUnit.SECONDS, registry);
+    }
+
+    @Test
+    @DisplayName("Test Paper Cache - Paper loaded once and hit ratio published")
+    void getShouldLoadPaperOnlyOnce() {
+        // Arrange - Given
+        var paper = mock(iPaper.class);
+        when(paperRepository.findPaperByPaperId("paperId")).thenReturn(Optional.of(paper));
+
+        // Act - When
+        var first = paperCache.get("paperId");
+        var second = paperCache.get("paperId");
+
+        // Assert - Then
+        assertThat(first).containsSame(paper);
+        assertThat(second).containsSame(paper);
+        verify(paperRepository, times(1)).findPaperByPaperId("paperId");
+        assertThat(registry.get("paper.cache.hit.ratio").gauge().value()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("Test Paper Cache - Unknown paper cached as empty until evicted")
+    void getShouldCacheUnknownPaperUntilEvicted() {
+        // Arrange - Given
+        var paper = mock(iPaper.class);
+        when(paperRepository.findPaperByPaperId("paperId")).thenReturn(Optional.empty()).thenReturn(Optional.of(paper));
+
+        // Act - When
+        var missing = paperCache.get("paperId");
+        var stillMissing = paperCache.get("paperId");
+        paperCache.evictAll(List.of("paperId"));
+        var uploaded = paperCache.get("paperId");
+
+        // Assert - Then
+        assertThat(missing).isEmpty();
+        assertThat(stillMissing).isEmpty();
+        assertThat(uploaded).containsSame(paper);
+        verify(paperRepository, times(2)).findPaperByPaperId("paperId");
+    }
+
+    @Test
+    @DisplayName("Test Paper Cache - Eviction inside a transaction waits for the commit")
+    void evictShouldWaitForCommit() {
+        // Arrange - Given
+        when(paperRepository.findPaperByPaperId("paperId")).thenReturn(Optional.of(mock(iPaper.class)));
+        paperCache.get("paperId");
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act - When
+            paperCache.evict("paperId");
+            paperCache.get("paperId");
+            var loadsBeforeCommit = mockingDetails(paperRepository).getInvocations().size();
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            paperCache.get("paperId");
+
+            // Assert - Then
+            assertThat(loadsBeforeCommit).isEqualTo(1);
+            verify(paperRepository, times(2)).findPaperByPaperId("paperId");
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
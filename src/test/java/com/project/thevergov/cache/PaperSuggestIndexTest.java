@@ -0,0 +1,187 @@
+package com.project.thevergov.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PaperSuggestIndexTest {
+
+    private final PaperSuggestIndex index = new PaperSuggestIndex(100_000, new SimpleMeterRegistry());
+
+    @Test
+    @DisplayName("Test Paper Suggest Index - Loaded papers are suggested by case-insensitive prefix in name order")
+    void suggestShouldMatchPrefixIgnoringCase() {
+        // Arrange - Given
+        var loader = index.loader();
+        loader.add(3, UUID.randomUUID().toString(), "thesis.pdf");
+        loader.add(1, "legacy-paper-id", "Thermodynamics.docx");
+        loader.add(2, UUID.randomUUID().toString(), "The Report.pdf");
+        loader.add(4, UUID.randomUUID().toString(), "Other.txt");
+
+        // Act - When
+        index.load(loader);
+
+        // Assert - Then
+        assertThat(index.suggest("THE", 10)).extracting(PaperSuggestIndex.Suggestion::name)
+                .containsExactly("The Report.pdf", "Thermodynamics.docx", "thesis.pdf");
+        assertThat(index.suggest("therm", 10)).extracting(PaperSuggestIndex.Suggestion::paperId)
+                .containsExactly("legacy-paper-id");
+        assertThat(index.suggest("the", 2)).hasSize(2);
+        assertThat(index.suggest("x", 10)).isEmpty();
+        assertThat(index.suggest(" ", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Test Paper Suggest Index - Added, renamed and removed papers are reflected before compaction")
+    void suggestShouldReflectPendingChanges() {
+        // Arrange - Given
+        var loader = index.loader();
+        loader.add(1, UUID.randomUUID().toString(), "Alpha.pdf");
+        loader.add(2, UUID.randomUUID().toString(), "Beta.pdf");
+        index.load(loader);
+        var paperId = UUID.randomUUID().toString();
+
+        // Act - When
+        index.put(3, paperId, "Alphabet.pdf");
+        index.remove(2, "Beta.pdf");
+        index.put(2, UUID.randomUUID().toString(), "Alps.pdf");
+        index.remove(1, "Alpha.pdf");
+
+        // Assert - Then
+        assertThat(index.suggest("al", 10)).extracting(PaperSuggestIndex.Suggestion::name)
+                .containsExactly("Alphabet.pdf", "Alps.pdf");
+        assertThat(index.suggest("alphab", 10)).containsExactly(new PaperSuggestIndex.Suggestion(paperId, "Alphabet.pdf"));
+        assertThat(index.suggest("b", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Test Paper Suggest Index - Suggestions match a sorted scan across compactions")
+    void suggestShouldMatchSortedScanAcrossCompactions() {
+        // Arrange - Given
+        var random = new Random(42);
+        var names = new HashMap<Long, String>();
+        var loader = index.loader();
+        for (long id = 1; id <= 2000; id++) {
+            var name = randomName(random);
+            names.put(id, name);
+            loader.add(id, UUID.randomUUID().toString(), name);
+        }
+        index.load(loader);
+
+        // Act - When
+        for (var i = 0; i < 3 * PaperSuggestIndex.COMPACTION_THRESHOLD; i++) {
+            var id = 1 + (long) random.nextInt(3000);
+            var previous = names.remove(id);
+            if (previous != null) {
+                index.remove(id, previous);
+            }
+            if (random.nextBoolean()) {
+                var name = randomName(random);
+                names.put(id, name);
+                index.put(id, UUID.randomUUID().toString(), name);
+            }
+        }
+
+        // Assert - Then
+        assertThat(index.size()).isEqualTo(names.size());
+        for (var prefix : new String[]{"a", "Ab", "bCa", "c"}) {
+            var expected = new ArrayList<String>();
+            names.entrySet().stream()
+                    .filter(entry -> entry.getValue().toLowerCase().startsWith(prefix.toLowerCase()))
+                    .sorted(Comparator.comparing((Map.Entry<Long, String> entry) -> entry.getValue().toLowerCase())
+                            .thenComparing(Map.Entry::getKey))
+                    .limit(20)
+                    .forEach(entry -> expected.add(entry.getValue()));
+            assertThat(index.suggest(prefix, 20)).extracting(PaperSuggestIndex.Suggestion::name).containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("Test Paper Suggest Index - A reload replaces earlier changes but keeps changes made while reading")
+    void reloadShouldKeepChangesMadeWhileReading() {
+        // Arrange - Given
+        var loader = index.loader();
+        loader.add(1, UUID.randomUUID().toString(), "Alpha.pdf");
+        loader.add(2, UUID.randomUUID().toString(), "Beta.pdf");
+        index.load(loader);
+        // Added here, then deleted on another node before the reload
+        index.put(3, UUID.randomUUID().toString(), "Alphabet.pdf");
+
+        // Act - When
+        var reloader = index.loader();
+        reloader.add(1, UUID.randomUUID().toString(), "Alpha.pdf");
+        reloader.add(2, UUID.randomUUID().toString(), "Beta.pdf");
+        reloader.add(4, UUID.randomUUID().toString(), "Alps.pdf");
+        // Committed here after the rows above were read
+        index.remove(2, "Beta.pdf");
+        index.remove(1, "Alpha.pdf");
+        index.put(1, UUID.randomUUID().toString(), "Bravo.pdf");
+        index.load(reloader);
+
+        // Assert - Then
+        assertThat(index.suggest("al", 10)).extracting(PaperSuggestIndex.Suggestion::name).containsExactly("Alps.pdf");
+        assertThat(index.suggest("b", 10)).extracting(PaperSuggestIndex.Suggestion::name).containsExactly("Bravo.pdf");
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Test Paper Suggest Index - Abandoning a stale loader keeps the newer load's changes")
+    void abandonShouldLeaveNewerLoaderRecording() {
+        // Arrange - Given
+        var failed = index.loader();
+        var reloader = index.loader();
+        reloader.add(1, UUID.randomUUID().toString(), "Alpha.pdf");
+
+        // Act - When
+        index.abandon(failed);
+        // Committed here after the rows above were read
+        index.put(2, UUID.randomUUID().toString(), "Alphabet.pdf");
+        index.load(reloader);
+
+        // Assert - Then
+        assertThat(index.suggest("al", 10)).extracting(PaperSuggestIndex.Suggestion::name).containsExactly("Alpha.pdf", "Alphabet.pdf");
+    }
+
+    @Test
+    @DisplayName("Test Paper Suggest Index - Entries are bounded and memory use is published")
+    void indexShouldStayWithinMaxEntries() {
+        // Arrange - Given
+        var boundedRegistry = new SimpleMeterRegistry();
+        var bounded = new PaperSuggestIndex(2, boundedRegistry);
+        var loader = bounded.loader();
+
+        // Act - When
+        var added = loader.add(1, UUID.randomUUID().toString(), "One.pdf")
+                && loader.add(2, UUID.randomUUID().toString(), "Two.pdf")
+                && loader.add(3, UUID.randomUUID().toString(), "Three.pdf");
+        bounded.load(loader);
+        bounded.put(4, UUID.randomUUID().toString(), "Four.pdf");
+
+        // Assert - Then
+        assertThat(added).isFalse();
+        assertThat(bounded.size()).isEqualTo(2);
+        assertThat(bounded.suggest("f", 10)).isEmpty();
+        assertThat(boundedRegistry.get("paper.suggest.entries").gauge().value()).isEqualTo(2);
+        assertThat(boundedRegistry.get("paper.suggest.bytes").gauge().value()).isGreaterThan(2 * "One.pdf".length());
+    }
+
+    private static String randomName(Random random) {
+        var name = new StringBuilder();
+        var length = 1 + random.nextInt(6);
+        for (var i = 0; i < length; i++) {
+            var letter = (char) ('a' + random.nextInt(3));
+            name.append(random.nextBoolean() ? Character.toUpperCase(letter) : letter);
+        }
+        return name.toString();
+    }
+}
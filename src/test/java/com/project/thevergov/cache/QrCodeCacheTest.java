@@ -0,0 +1,32 @@
+package com.project.thevergov.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QrCodeCacheTest {
+
+    private final QrCodeCache qrCodeCache = new QrCodeCache(1024, 60, TimeUnit.SECONDS, new SimpleMeterRegistry());
+
+    @Test
+    @DisplayName("Test QR Code Cache - Image rendered once per secret")
+    void getShouldRenderOncePerSecret() {
+        // Arrange - Given
+        var renders = new AtomicInteger();
+
+        // Act - When
+        var first = qrCodeCache.get("secret", () -> new byte[]{(byte) renders.incrementAndGet()});
+        var second = qrCodeCache.get("secret", () -> new byte[]{(byte) renders.incrementAndGet()});
+        var other = qrCodeCache.get("other", () -> new byte[]{(byte) renders.incrementAndGet()});
+
+        // Assert - Then
+        assertThat(renders).hasValue(2);
+        assertThat(second).isSameAs(first);
+        assertThat(other.png()).isNotEqualTo(first.png());
+    }
+}
@@ -0,0 +1,92 @@
+package com.project.thevergov.cache;
+
+import com.project.thevergov.domain.Token;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RefreshTokenCacheTest {
+
+    @Test
+    @DisplayName("Test Refresh Token Cache - Concurrent refreshes mint one pair")
+    void rotateShouldMintOnePairForConcurrentRefreshes() throws Exception {
+        // Arrange - Given
+        var refreshTokenCache = new RefreshTokenCache(100, 30, 7200, TimeUnit.SECONDS, new SimpleMeterRegistry());
+        var mints = new AtomicInteger();
+        var start = new CountDownLatch(1);
+        Supplier<Token> minter = () -> token(mints);
+        var executor = Executors.newFixedThreadPool(10);
+        var results = new ArrayList<Future<Token>>();
+
+        // Act - When
+        try {
+            for (int i = 0; i < 10; i++) {
+                results.add(executor.submit((Callable<Token>) () -> {
+                    start.await();
+                    return refreshTokenCache.rotate("jti", minter);
+                }));
+            }
+            start.countDown();
+            for (var result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(results.get(0).get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert - Then
+        assertThat(mints).hasValue(2);
+        assertThat(refreshTokenCache.isReused("jti")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Test Refresh Token Cache - Reuse after grace period is detected")
+    void isReusedShouldDetectReuseAfterGracePeriod() {
+        // Arrange - Given
+        var refreshTokenCache = new RefreshTokenCache(100, 0, 7200, TimeUnit.SECONDS, new SimpleMeterRegistry());
+
+        // Act - When
+        refreshTokenCache.rotate("jti", () -> token(new AtomicInteger()));
+
+        // Assert - Then
+        assertThat(refreshTokenCache.isReused("jti")).isTrue();
+        assertThat(refreshTokenCache.isReused("other")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Test Refresh Token Cache - Refresh within grace period gets the recorded pair")
+    void rotateShouldReturnRecordedPairWithinGracePeriod() {
+        // Arrange - Given
+        var refreshTokenCache = new RefreshTokenCache(100, 30, 7200, TimeUnit.SECONDS, new SimpleMeterRegistry());
+        var mints = new AtomicInteger();
+        var first = refreshTokenCache.rotate("jti", () -> token(mints));
+
+        // Act - When
+        var reused = refreshTokenCache.isReused("jti");
+        var second = refreshTokenCache.rotate("jti", () -> token(mints));
+
+        // Assert - Then
+        assertThat(reused).isFalse();
+        assertThat(second).isSameAs(first);
+        assertThat(mints).hasValue(2);
+    }
+
+    // Builds a token pair that counts every token it mints
+    private Token token(AtomicInteger mints) {
+        return Token.builder()
+                .access(() -> "access-" + mints.incrementAndGet())
+                .refresh(() -> "refresh-" + mints.incrementAndGet())
+                .build();
+    }
+}
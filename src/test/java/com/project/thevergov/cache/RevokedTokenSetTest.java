@@ -0,0 +1,76 @@
+package com.project.thevergov.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RevokedTokenSetTest {
+
+    private final RevokedTokenSet revokedTokens = new RevokedTokenSet(4, new SimpleMeterRegistry());
+
+    @Test
+    @DisplayName("Test Revoked Token Set - Contains added IDs after growing")
+    void containsShouldFindAddedIdsAfterGrowing() {
+        // Arrange - Given
+        var tokenIds = new ArrayList<String>();
+        for (var i = 0; i < 1000; i++) {
+            tokenIds.add(UUID.randomUUID().toString());
+        }
+
+        // Act - When
+        tokenIds.forEach(tokenId -> revokedTokens.add(tokenId, 100));
+        revokedTokens.add("not-a-uuid", 100);
+
+        // Assert - Then
+        assertThat(tokenIds).allMatch(revokedTokens::contains);
+        assertThat(revokedTokens.contains("not-a-uuid")).isTrue();
+        assertThat(revokedTokens.contains(UUID.randomUUID().toString())).isFalse();
+        assertThat(revokedTokens.size()).isEqualTo(1001);
+    }
+
+    @Test
+    @DisplayName("Test Revoked Token Set - Purge drops expired IDs only")
+    void purgeShouldDropExpiredIds() {
+        // Arrange - Given
+        var expired = UUID.randomUUID().toString();
+        var current = UUID.randomUUID().toString();
+        revokedTokens.add(expired, 100);
+        revokedTokens.add(current, 200);
+        revokedTokens.add(current, 50);
+
+        // Act - When
+        var purged = revokedTokens.purge(150);
+
+        // Assert - Then
+        assertThat(purged).isEqualTo(1);
+        assertThat(revokedTokens.contains(expired)).isFalse();
+        assertThat(revokedTokens.contains(current)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Test Revoked Token Set - Purge skipped until the earliest expiration passes")
+    void purgeShouldWaitForEarliestExpiration() {
+        // Arrange - Given
+        var first = UUID.randomUUID().toString();
+        var second = UUID.randomUUID().toString();
+        revokedTokens.add(first, 300);
+        revokedTokens.add(second, 200);
+
+        // Act - When
+        var early = revokedTokens.purge(199);
+        var middle = revokedTokens.purge(250);
+        var late = revokedTokens.purge(299);
+
+        // Assert - Then
+        assertThat(early).isZero();
+        assertThat(middle).isEqualTo(1);
+        assertThat(late).isZero();
+        assertThat(revokedTokens.contains(first)).isTrue();
+        assertThat(revokedTokens.size()).isEqualTo(1);
+    }
+}
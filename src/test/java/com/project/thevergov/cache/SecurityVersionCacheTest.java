@@ -0,0 +1,73 @@
+package com.project.thevergov.cache;
+
+import com.project.thevergov.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SecurityVersionCacheTest {
+
+    private UserRepository userRepository;
+    private SecurityVersionCache securityVersionCache;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        securityVersionCache = new SecurityVersionCache(userRepository, 100, 60, TimeUnit.SECONDS, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Test Security Version Cache - Version loaded once")
+    void isCurrentShouldLoadVersionOnlyOnce() {
+        // Arrange - Given
+        when(userRepository.findSecurityVersionByUserId("userId")).thenReturn(Optional.of(2L));
+
+        // Act - When
+        var current = securityVersionCache.isCurrent("userId", 2L);
+        var stale = securityVersionCache.isCurrent("userId", 1L);
+
+        // Assert - Then
+        assertThat(current).isTrue();
+        assertThat(stale).isFalse();
+        verify(userRepository, times(1)).findSecurityVersionByUserId("userId");
+    }
+
+    @Test
+    @DisplayName("Test Security Version Cache - Unknown user is never current")
+    void isCurrentShouldRejectUnknownUser() {
+        // Arrange - Given
+        when(userRepository.findSecurityVersionByUserId("userId")).thenReturn(Optional.empty());
+
+        // Act - When
+        var current = securityVersionCache.isCurrent("userId", 0L);
+
+        // Assert - Then
+        assertThat(current).isFalse();
+    }
+
+    @Test
+    @DisplayName("Test Security Version Cache - Evicted version is loaded again")
+    void evictShouldForceReload() {
+        // Arrange - Given
+        when(userRepository.findSecurityVersionByUserId("userId")).thenReturn(Optional.of(0L), Optional.of(1L));
+        securityVersionCache.isCurrent("userId", 0L);
+
+        // Act - When
+        securityVersionCache.evict("userId");
+        var current = securityVersionCache.isCurrent("userId", 1L);
+
+        // Assert - Then
+        assertThat(current).isTrue();
+        verify(userRepository, times(2)).findSecurityVersionByUserId("userId");
+    }
+}
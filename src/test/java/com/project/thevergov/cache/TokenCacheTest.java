@@ -0,0 +1,120 @@
+package com.project.thevergov.cache;
+
+import com.project.thevergov.domain.TokenData;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenCacheTest {
+
+    private SimpleMeterRegistry registry;
+    private TokenCache tokenCache;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        tokenCache = new TokenCache(100, 60, TimeUnit.SECONDS, registry);
+    }
+
+    @Test
+    @DisplayName("Test Token Cache - Token verified once")
+    void getShouldVerifyTokenOnlyOnce() {
+        // Arrange - Given
+        var loads = new AtomicInteger();
+        Function<String, TokenData> loader = token -> {
+            loads.incrementAndGet();
+            return tokenData(true, Instant.now().plusSeconds(120));
+        };
+
+        // Act - When
+        var first = tokenCache.get("token", loader);
+        var second = tokenCache.get("token", loader);
+
+        // Assert - Then
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+        assertThat(registry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test Token Cache - Expired token is not served")
+    void getShouldNotServeEntryPastTokenExpiration() {
+        // Arrange - Given
+        var loads = new AtomicInteger();
+        Function<String, TokenData> loader = token -> {
+            loads.incrementAndGet();
+            return tokenData(true, Instant.now().minusSeconds(1));
+        };
+
+        // Act - When
+        tokenCache.get("token", loader);
+        tokenCache.get("token", loader);
+
+        // Assert - Then
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Test Token Cache - Invalid token is not cached")
+    void getShouldNotCacheInvalidToken() {
+        // Arrange - Given
+        var loads = new AtomicInteger();
+        Function<String, TokenData> loader = token -> {
+            loads.incrementAndGet();
+            return tokenData(false, Instant.now().plusSeconds(120));
+        };
+
+        // Act - When
+        tokenCache.get("token", loader);
+        tokenCache.get("token", loader);
+
+        // Assert - Then
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Test Token Cache - Loader failure propagates")
+    void getShouldPropagateLoaderFailure() {
+        assertThatThrownBy(() -> tokenCache.get("token", token -> {
+            throw new IllegalStateException("bad signature");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("bad signature");
+    }
+
+    @Test
+    @DisplayName("Test Token Cache - Evicted token is verified again")
+    void evictShouldForceVerification() {
+        // Arrange - Given
+        var loads = new AtomicInteger();
+        Function<String, TokenData> loader = token -> {
+            loads.incrementAndGet();
+            return tokenData(true, Instant.now().plusSeconds(120));
+        };
+        tokenCache.get("token", loader);
+
+        // Act - When
+        tokenCache.evict("token");
+        tokenCache.get("token", loader);
+
+        // Assert - Then
+        assertThat(loads).hasValue(2);
+    }
+
+    private TokenData tokenData(boolean valid, Instant expiration) {
+        return TokenData.builder()
+                .valid(valid)
+                .claims(Jwts.claims().subject("1").expiration(Date.from(expiration)).build())
+                .build();
+    }
+}
@@ -0,0 +1,145 @@
+package com.project.thevergov.controller;
+
+import com.project.thevergov.dto.RoleRequest;
+import com.project.thevergov.dto.UpdatePasswordRequest;
+import com.project.thevergov.dto.User;
+import com.project.thevergov.dto.UserRequest;
+import com.project.thevergov.enumeration.TokenType;
+import com.project.thevergov.handler.ApiLogoutHandler;
+import com.project.thevergov.restcontroller.UserController;
+import com.project.thevergov.service.JwtService;
+import com.project.thevergov.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserControllerTest {
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private ApiLogoutHandler apiLogoutHandler;
+
+    private UserController userController;
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @BeforeEach
+    void setUp() {
+        userController = new UserController(userService, jwtService, apiLogoutHandler);
+    }
+
+    @Test
+    @DisplayName("Test Update Password - Caller gets cookies carrying the new security version")
+    void updatePasswordShouldReissueCookies() {
+        // Arrange - Given
+        var principal = user(0);
+        var updated = user(1);
+        var passwordRequest = new UpdatePasswordRequest();
+        passwordRequest.setPassword("old-password");
+        passwordRequest.setNewPassword("new-password");
+        passwordRequest.setConfirmNewPassword("new-password");
+        when(userService.getUserByUserId(principal.getUserId())).thenReturn(updated);
+
+        // Act - When
+        var entity = userController.updatePassword(principal, passwordRequest, response, request);
+
+        // Assert - Then
+        assertThat(entity.getStatusCode().is2xxSuccessful()).isTrue();
+        InOrder order = inOrder(userService, jwtService);
+        order.verify(userService).updatePassword(principal.getUserId(), "old-password", "new-password", "new-password");
+        order.verify(jwtService).addCookie(response, updated, TokenType.ACCESS);
+        order.verify(jwtService).addCookie(response, updated, TokenType.REFRESH);
+    }
+
+    @Test
+    @DisplayName("Test Update Role - Caller gets cookies carrying the new role")
+    void updateRoleShouldReissueCookies() {
+        // Arrange - Given
+        var principal = user(0);
+        var updated = user(1);
+        updated.setRole("ADMIN");
+        var roleRequest = new RoleRequest();
+        roleRequest.setRole("ADMIN");
+        when(userService.getUserByUserId(principal.getUserId())).thenReturn(updated);
+
+        // Act - When
+        userController.updateRole(principal, roleRequest, response, request);
+
+        // Assert - Then
+        InOrder order = inOrder(userService, jwtService);
+        order.verify(userService).updateRole(principal.getUserId(), "ADMIN");
+        order.verify(jwtService).addCookie(response, updated, TokenType.ACCESS);
+        order.verify(jwtService).addCookie(response, updated, TokenType.REFRESH);
+    }
+
+    @Test
+    @DisplayName("Test Update - Caller gets cookies carrying the updated profile")
+    void updateShouldReissueCookies() {
+        // Arrange - Given
+        var principal = user(0);
+        var updated = user(1);
+        updated.setEmail("new@example.com");
+        var userRequest = new UserRequest();
+        userRequest.setFirstName("First");
+        userRequest.setLastName("Last");
+        userRequest.setEmail("new@example.com");
+        userRequest.setBio("Bio");
+        when(userService.updateUser(principal.getUserId(), "First", "Last", "new@example.com", "Bio")).thenReturn(updated);
+        when(userService.getUserByUserId(principal.getUserId())).thenReturn(updated);
+
+        // Act - When
+        userController.update(principal, userRequest, response, request);
+
+        // Assert - Then
+        verify(jwtService).addCookie(response, updated, TokenType.ACCESS);
+        verify(jwtService).addCookie(response, updated, TokenType.REFRESH);
+    }
+
+    @Test
+    @DisplayName("Test Toggle Account Locked - Caller of a now locked account is logged out")
+    void toggleAccountLockedShouldNotReissueCookiesForLockedAccount() {
+        // Arrange - Given
+        var principal = user(0);
+        var locked = user(1);
+        locked.setAccountNonLocked(false);
+        when(userService.getUserByUserId(principal.getUserId())).thenReturn(locked);
+
+        // Act - When
+        userController.toggleAccountLocked(principal, response, request);
+
+        // Assert - Then
+        verify(userService).toggleAccountLocked(principal.getUserId());
+        verify(jwtService, never()).addCookie(any(), any(User.class), any());
+    }
+
+    private static User user(long securityVersion) {
+        var user = new User();
+        user.setUserId("userId");
+        user.setAccountNonLocked(true);
+        user.setAccountNonExpired(true);
+        user.setEnabled(true);
+        user.setCredentialsNonExpired(true);
+        user.setSecurityVersion(securityVersion);
+        return user;
+    }
+}
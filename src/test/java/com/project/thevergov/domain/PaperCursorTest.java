@@ -0,0 +1,42 @@
+package com.project.thevergov.domain;
+
+import com.project.thevergov.exception.ApiException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PaperCursorTest {
+
+    @Test
+    @DisplayName("Test Paper Cursor - Encoded cursor decodes to the same name and id")
+    void decodeShouldReverseEncode() {
+        // Arrange - Given
+        var cursor = new PaperCursor("Report: Q3/Q4 ünïcode", 1234L);
+
+        // Act - When
+        var token = cursor.encode();
+
+        // Assert - Then
+        assertThat(token).doesNotContain("Report", "=", "+", "/");
+        assertThat(PaperCursor.decode(token)).isEqualTo(cursor);
+    }
+
+    @Test
+    @DisplayName("Test Paper Cursor - Missing cursor starts at the beginning of the listing")
+    void decodeShouldReturnFirstForMissingToken() {
+        // Act - When / Assert - Then
+        assertThat(PaperCursor.decode(null)).isEqualTo(PaperCursor.FIRST);
+        assertThat(PaperCursor.decode(" ")).isEqualTo(PaperCursor.FIRST);
+    }
+
+    @Test
+    @DisplayName("Test Paper Cursor - Malformed cursor is rejected")
+    void decodeShouldRejectMalformedToken() {
+        // Act - When / Assert - Then
+        assertThatThrownBy(() -> PaperCursor.decode("not a cursor!")).isInstanceOf(ApiException.class);
+        assertThatThrownBy(() -> PaperCursor.decode("bm8tc2VwYXJhdG9y")).isInstanceOf(ApiException.class);
+        assertThatThrownBy(() -> PaperCursor.decode("YWJjOm5hbWU")).isInstanceOf(ApiException.class);
+    }
+}
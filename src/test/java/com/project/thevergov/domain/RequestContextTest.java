@@ -0,0 +1,72 @@
+package com.project.thevergov.domain;
+
+import com.project.thevergov.security.RequestContextScopeFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestContextTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestContext.clear();
+    }
+
+    @Test
+    @DisplayName("Test Request Context - Propagated task runs with the submitter's user ID")
+    void propagateShouldBindUserIdOfSubmitter() throws Exception {
+        // Arrange - Given
+        RequestContext.setUserId(42L);
+        var seen = new AtomicReference<Long>();
+        var task = RequestContext.propagate(() -> seen.set(RequestContext.getUserId()));
+
+        // Act - When
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(task).get();
+        }
+
+        // Assert - Then
+        assertThat(seen.get()).isEqualTo(42L);
+    }
+
+    @Test
+    @DisplayName("Test Request Context - Worker's previous user ID restored after a propagated task")
+    void propagateShouldRestorePreviousUserId() {
+        // Arrange - Given
+        RequestContext.setUserId(1L);
+        var task = RequestContext.propagate(() -> { });
+        RequestContext.setUserId(2L);
+
+        // Act - When
+        task.run();
+
+        // Assert - Then
+        assertThat(RequestContext.getUserId()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Test Request Context - Filter clears the user ID when the request ends")
+    void filterShouldClearUserIdAfterRequest() throws Exception {
+        // Arrange - Given
+        var seen = new AtomicReference<Long>();
+        RequestContext.setUserId(7L);
+
+        // Act - When
+        new RequestContextScopeFilter().doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(),
+                (request, response) -> {
+                    seen.set(RequestContext.getUserId());
+                    RequestContext.setUserId(8L);
+                });
+
+        // Assert - Then
+        assertThat(seen.get()).isNull();
+        assertThat(RequestContext.getUserId()).isNull();
+    }
+}
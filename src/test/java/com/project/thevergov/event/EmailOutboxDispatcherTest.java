@@ -0,0 +1,155 @@
+package com.project.thevergov.event;
+
+import com.project.thevergov.entity.EmailOutboxEntity;
+import com.project.thevergov.enumeration.EventType;
+import com.project.thevergov.exception.ApiException;
+import com.project.thevergov.repository.EmailOutboxRepository;
+import com.project.thevergov.service.EmailService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxDispatcherTest {
+
+    @Mock
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private EmailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new EmailOutboxDispatcher(emailOutboxRepository, emailService,
+                new TransactionTemplate(transactionManager), 10, 300, 3, 30, 3600);
+    }
+
+    @Test
+    @DisplayName("Test Dispatch - Sent emails deleted from the outbox")
+    void dispatchShouldSendAndDeleteEmails() {
+        // Arrange - Given
+        var registration = email(EventType.REGISTRATION, 0);
+        var reset = email(EventType.RESETPASSWORD, 0);
+        when(emailOutboxRepository.claimDue(any(), anyInt())).thenReturn(List.of(registration, reset));
+        when(emailService.sendEmails(List.of(registration, reset))).thenReturn(Arrays.asList(null, null));
+
+        // Act - When
+        dispatcher.dispatch();
+
+        // Assert - Then
+        verify(emailOutboxRepository).deleteAllInBatch(List.of(registration, reset));
+    }
+
+    @Test
+    @DisplayName("Test Dispatch - Failed email retried with backoff")
+    void dispatchShouldRescheduleFailedEmail() {
+        // Arrange - Given
+        var registration = email(EventType.REGISTRATION, 1);
+        when(emailOutboxRepository.claimDue(any(), anyInt())).thenReturn(List.of(registration));
+        when(emailService.sendEmails(List.of(registration))).thenReturn(List.of(new ApiException("Unable to send email")));
+        var before = LocalDateTime.now();
+
+        // Act - When
+        dispatcher.dispatch();
+
+        // Assert - Then
+        assertThat(registration.getAttempts()).isEqualTo(2);
+        assertThat(registration.getLastError()).isEqualTo("Unable to send email");
+        assertThat(registration.getNextAttemptAt()).isAfterOrEqualTo(before.plusSeconds(60));
+        verify(emailOutboxRepository, never()).deleteAllInBatch(any());
+        verify(emailOutboxRepository).saveAll(List.of(registration));
+    }
+
+    @Test
+    @DisplayName("Test Dispatch - Emails leased in one transaction, sent outside it and settled in another")
+    void dispatchShouldSendOutsideTransactions() {
+        // Arrange - Given
+        var registration = email(EventType.REGISTRATION, 0);
+        var before = LocalDateTime.now();
+        when(emailOutboxRepository.claimDue(any(), anyInt())).thenReturn(List.of(registration));
+        when(emailService.sendEmails(List.of(registration))).thenAnswer(invocation -> {
+            assertThat(registration.getNextAttemptAt()).isAfterOrEqualTo(before.plusSeconds(300));
+            return Arrays.asList((Exception) null);
+        });
+
+        // Act - When
+        dispatcher.dispatch();
+
+        // Assert - Then
+        var order = inOrder(transactionManager, emailOutboxRepository, emailService);
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(emailOutboxRepository).claimDue(any(), anyInt());
+        order.verify(transactionManager).commit(any());
+        order.verify(emailService).sendEmails(List.of(registration));
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(emailOutboxRepository).deleteAllInBatch(List.of(registration));
+        order.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("Test Dispatch - Email given up on after the last attempt")
+    void dispatchShouldGiveUpAfterMaxAttempts() {
+        // Arrange - Given
+        var registration = email(EventType.REGISTRATION, 2);
+        when(emailOutboxRepository.claimDue(any(), anyInt())).thenReturn(List.of(registration));
+        when(emailService.sendEmails(List.of(registration))).thenReturn(List.of(new ApiException("Unable to send email")));
+
+        // Act - When
+        dispatcher.dispatch();
+
+        // Assert - Then
+        assertThat(registration.getAttempts()).isEqualTo(3);
+        assertThat(registration.getNextAttemptAt()).isNull();
+    }
+
+    @Test
+    @DisplayName("Test Dispatch - Repeated emails in a batch sent once")
+    void dispatchShouldSendRepeatedEmailsOnce() {
+        // Arrange - Given
+        var first = email(EventType.RESETPASSWORD, 0);
+        var repeated = email(EventType.RESETPASSWORD, 0);
+        repeated.setRecipient("JOHN@example.com");
+        when(emailOutboxRepository.claimDue(any(), anyInt())).thenReturn(List.of(first, repeated));
+        when(emailService.sendEmails(List.of(first))).thenReturn(Arrays.asList((Exception) null));
+
+        // Act - When
+        dispatcher.dispatch();
+
+        // Assert - Then
+        verify(emailOutboxRepository).deleteAllInBatch(List.of(first, repeated));
+    }
+
+    private static EmailOutboxEntity email(EventType type, int attempts) {
+        return EmailOutboxEntity.builder()
+                .type(type)
+                .recipient("john@example.com")
+                .name("John")
+                .tokenKey("key")
+                .attempts(attempts)
+                .nextAttemptAt(LocalDateTime.now())
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,75 @@
+package com.project.thevergov.event.listener;
+
+import com.project.thevergov.entity.EmailOutboxEntity;
+import com.project.thevergov.entity.UserEntity;
+import com.project.thevergov.enumeration.EventType;
+import com.project.thevergov.event.EmailOutboxDispatcher;
+import com.project.thevergov.event.UserEvent;
+import com.project.thevergov.repository.EmailOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class UserEventListenerTest {
+
+    @Mock
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Mock
+    private EmailOutboxDispatcher emailOutboxDispatcher;
+
+    private UserEventListener listener;
+
+    private UserEntity user;
+
+    @BeforeEach
+    void setUp() {
+        listener = new UserEventListener(emailOutboxRepository, emailOutboxDispatcher, 300, 1000);
+        user = new UserEntity();
+        user.setFirstName("John");
+        user.setEmail("John@Example.com");
+    }
+
+    @Test
+    @DisplayName("Test User Event - Repeated reset requests within the window queue one email")
+    void onUserEventShouldCoalesceRepeatedEmails() {
+        // Arrange - Given
+        var event = new UserEvent(user, EventType.RESETPASSWORD, Map.of("key", "key"));
+        listener.onUserEvent(event);
+        listener.onUserEventCommitted(event);
+
+        // Act - When
+        listener.onUserEvent(new UserEvent(user, EventType.RESETPASSWORD, Map.of("key", "key")));
+
+        // Assert - Then
+        verify(emailOutboxRepository, times(1)).save(any(EmailOutboxEntity.class));
+        verify(emailOutboxDispatcher).signal();
+    }
+
+    @Test
+    @DisplayName("Test User Event - Uncommitted or different emails are not coalesced")
+    void onUserEventShouldQueueEmailsNotCommittedOrDifferent() {
+        // Arrange - Given
+        var event = new UserEvent(user, EventType.RESETPASSWORD, Map.of("key", "key"));
+
+        // Act - When
+        listener.onUserEvent(event);
+        listener.onUserEvent(event);
+        listener.onUserEventCommitted(event);
+        listener.onUserEvent(new UserEvent(user, EventType.RESETPASSWORD, Map.of("key", "other")));
+        listener.onUserEvent(new UserEvent(user, EventType.REGISTRATION, Map.of("key", "key")));
+
+        // Assert - Then
+        verify(emailOutboxRepository, times(4)).save(any(EmailOutboxEntity.class));
+    }
+}
@@ -0,0 +1,88 @@
+package com.project.thevergov.mail;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Message;
+import jakarta.mail.Session;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SmtpTransportPoolTest {
+
+    private GreenMail greenMail;
+
+    private SimpleMeterRegistry registry;
+
+    private SmtpTransportPool pool;
+
+    @BeforeEach
+    void setUp() {
+        greenMail = new GreenMail(ServerSetupTest.SMTP.dynamicPort());
+        greenMail.start();
+        registry = new SimpleMeterRegistry();
+        pool = new SmtpTransportPool(Session.getInstance(new Properties()), "smtp", "localhost",
+                greenMail.getSmtp().getPort(), null, null, 2, Duration.ofSeconds(60), registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+        greenMail.stop();
+    }
+
+    @Test
+    @DisplayName("Test Send - Batches share one open connection")
+    void sendShouldReuseConnection() throws Exception {
+        // Arrange - Given
+        var first = IntStream.range(0, 3).mapToObj(this::message).toList();
+        var second = IntStream.range(3, 5).mapToObj(this::message).toList();
+
+        // Act - When
+        var firstFailures = pool.send(first);
+        var secondFailures = pool.send(second);
+
+        // Assert - Then
+        assertThat(firstFailures).hasSize(3).containsOnlyNulls();
+        assertThat(secondFailures).hasSize(2).containsOnlyNulls();
+        assertThat(greenMail.getReceivedMessages()).hasSize(5);
+        assertThat(registry.counter("mail.smtp.connections.opened").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test Send - Failure reported per message when the server is unreachable")
+    void sendShouldReportFailuresWhenServerIsDown() {
+        // Arrange - Given
+        greenMail.stop();
+
+        // Act - When
+        var failures = pool.send(List.of(message(0), message(1)));
+
+        // Assert - Then
+        assertThat(failures).hasSize(2).doesNotContainNull();
+    }
+
+    private MimeMessage message(int index) {
+        try {
+            var message = new MimeMessage(pool.getSession());
+            message.setFrom(new InternetAddress("noreply@example.com"));
+            message.setRecipient(Message.RecipientType.TO, new InternetAddress("user" + index + "@example.com"));
+            message.setSubject("Message " + index);
+            message.setText("Body " + index);
+            return message;
+        } catch (Exception exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
@@ -69,7 +69,6 @@ public class ConfirmationRepositoryTest {
                 .enabled(true)
                 .mfa(false)
                 .qrCodeSecret("secret")
-                .qrCodeImageUri("http://example.com/qrcode.jpg")
                 .build();
 
         userRepository.save(testUser);
@@ -77,6 +76,7 @@ public class ConfirmationRepositoryTest {
         testConfirmation = ConfirmationEntity.builder()
                 .userEntity(testUser)
                 .tokenKey(UUID.randomUUID().toString())
+                .expiresAt(LocalDateTime.now().plusDays(1))
                 .build();
 
         confirmationRepository.save(testConfirmation);
@@ -97,6 +97,16 @@ public class ConfirmationRepositoryTest {
         assertThat(found).isNotPresent();
     }
 
+    @Test
+    public void whenFindByTokenKeyWithExpiredToken_thenReturnEmpty() {
+        testConfirmation.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        confirmationRepository.saveAndFlush(testConfirmation);
+
+        Optional<ConfirmationEntity> found = confirmationRepository.findByTokenKey(testConfirmation.getTokenKey());
+
+        assertThat(found).isNotPresent();
+    }
+
     @Test
     public void whenFindByUserEntity_thenReturnConfirmation() {
         Optional<ConfirmationEntity> found = confirmationRepository.findByUserEntity(testUser);
@@ -122,7 +132,6 @@ public class ConfirmationRepositoryTest {
                 .enabled(true)
                 .mfa(false)
                 .qrCodeSecret("newsecret")
-                .qrCodeImageUri("http://example.com/newqrcode.jpg")
                 .build();
 
         userRepository.save(newUser);
@@ -130,6 +139,7 @@ public class ConfirmationRepositoryTest {
         ConfirmationEntity newConfirmation = ConfirmationEntity.builder()
                 .userEntity(newUser)
                 .tokenKey(UUID.randomUUID().toString())
+                .expiresAt(LocalDateTime.now().plusDays(1))
                 .build();
 
         ConfirmationEntity savedConfirmation = confirmationRepository.save(newConfirmation);
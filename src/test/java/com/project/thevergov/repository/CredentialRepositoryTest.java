@@ -68,7 +68,6 @@ public class CredentialRepositoryTest {
                 .enabled(true)
                 .mfa(false)
                 .qrCodeSecret("secret")
-                .qrCodeImageUri("http://example.com/qrcode.jpg")
                 .build();
 
         userRepository.save(testUser);
@@ -114,7 +113,6 @@ public class CredentialRepositoryTest {
                 .enabled(true)
                 .mfa(false)
                 .qrCodeSecret("newsecret")
-                .qrCodeImageUri("http://example.com/newqrcode.jpg")
                 .build();
 
         userRepository.save(newUser);
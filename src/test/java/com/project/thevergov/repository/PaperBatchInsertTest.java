@@ -0,0 +1,158 @@
+package com.project.thevergov.repository;
+
+import com.project.thevergov.domain.RequestContext;
+import com.project.thevergov.entity.PaperEntity;
+import com.project.thevergov.entity.UserEntity;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the statements a bulk insert sends to the database, on an embedded H2 database with the application's
+ * sequence and batching settings.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@TestPropertySource(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "spring.sql.init.mode=never"
+})
+class PaperBatchInsertTest {
+
+    private static final AtomicInteger SEQUENCE_CALLS = new AtomicInteger();
+
+    private static final AtomicInteger INSERT_CALLS = new AtomicInteger();
+
+    @Autowired
+    private PaperRepository paperRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        RequestContext.setUserId(0L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContext.clear();
+    }
+
+    @Test
+    @DisplayName("Test Save All - Fifty papers inserted with one batch and at most two sequence calls")
+    void saveAllShouldBatchInsertsAndPoolIds() {
+        // Arrange - Given
+        var owner = userRepository.saveAndFlush(UserEntity.builder()
+                .userId(UUID.randomUUID().toString())
+                .firstName("John")
+                .lastName("Doe")
+                .email("john@example.com")
+                .lastLogin(LocalDateTime.now())
+                .build());
+        var papers = IntStream.range(0, 50).mapToObj(i -> PaperEntity.builder()
+                .paperId(UUID.randomUUID().toString())
+                .name("paper" + i + ".pdf")
+                .uri("http://localhost/papers/paper" + i + ".pdf")
+                .extension("pdf")
+                .formattedSize("1 KB")
+                .icon("icon")
+                .owner(owner)
+                .build()).toList();
+        SEQUENCE_CALLS.set(0);
+        INSERT_CALLS.set(0);
+
+        // Act - When
+        paperRepository.saveAll(papers);
+        entityManager.flush();
+
+        // Assert - Then
+        assertThat(paperRepository.count()).isEqualTo(50);
+        assertThat(SEQUENCE_CALLS.get()).isBetween(1, 2);
+        assertThat(INSERT_CALLS.get()).isEqualTo(1);
+    }
+
+    /**
+     * Wraps the data source so that every execution of a sequence call or an insert is counted; a JDBC batch
+     * counts once, like the single round trip it is.
+     */
+    @TestConfiguration
+    static class StatementCountingConfiguration {
+
+        @Bean
+        static BeanPostProcessor statementCountingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? proxy(DataSource.class, dataSource) : bean;
+                }
+            };
+        }
+
+        private static <T> T proxy(Class<T> type, T target) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException exception) {
+                    throw exception.getCause();
+                }
+                if (result instanceof Connection connection) {
+                    return proxy(Connection.class, connection);
+                }
+                if (result instanceof PreparedStatement statement && args != null && args[0] instanceof String sql) {
+                    return counting(statement, sql.toLowerCase(Locale.ROOT));
+                }
+                return result;
+            }));
+        }
+
+        private static PreparedStatement counting(PreparedStatement target, String sql) {
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                        var name = method.getName();
+                        if (name.startsWith("execute") && (args == null || args.length == 0)) {
+                            if (sql.contains("next value for") || sql.contains("nextval")) {
+                                SEQUENCE_CALLS.incrementAndGet();
+                            } else if (sql.startsWith("insert into \"papers\"") || sql.startsWith("insert into papers")) {
+                                INSERT_CALLS.incrementAndGet();
+                            }
+                        }
+                        try {
+                            return method.invoke(target, args);
+                        } catch (InvocationTargetException exception) {
+                            throw exception.getCause();
+                        }
+                    });
+        }
+    }
+}
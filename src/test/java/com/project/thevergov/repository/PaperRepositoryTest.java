@@ -21,8 +21,10 @@ import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.util.List;
 import java.util.Optional;
 
+import static com.project.thevergov.utils.PaperUtil.toContainsPattern;
 import static org.assertj.core.api.Assertions.assertThat;
 
 @ExtendWith(SpringExtension.class)
@@ -72,7 +74,6 @@ public class PaperRepositoryTest {
                 .enabled(true)
                 .mfa(false)
                 .qrCodeSecret("secret")
-                .qrCodeImageUri("http://example.com/qrcode.jpg")
                 .build();
 
         userRepository.save(testUser);
@@ -94,6 +95,28 @@ public class PaperRepositoryTest {
         assertThat(papers).isNotEmpty();
     }
 
+    @Test
+    public void whenFindPapersAfter_thenSeekPastCursorInNameAndIdOrder() {
+        PaperEntity samePaper = paperRepository.save(PaperEntity.builder()
+                .paperId("samePaperId")
+                .name("Test Paper")
+                .owner(testUser)
+                .build());
+        paperRepository.save(PaperEntity.builder()
+                .paperId("laterPaperId")
+                .name("Zeta Paper")
+                .owner(testUser)
+                .build());
+
+        List<iPaper> firstPage = paperRepository.findPapersAfter("", 0L, 2);
+        iPaper last = firstPage.get(firstPage.size() - 1);
+        List<iPaper> secondPage = paperRepository.findPapersAfter(last.getName(), last.getId(), 2);
+
+        assertThat(firstPage).extracting(iPaper::getPaper_Id).containsExactly("testPaperId", "samePaperId");
+        assertThat(secondPage).extracting(iPaper::getPaper_Id).containsExactly("laterPaperId");
+        assertThat(samePaper.getId()).isGreaterThan(testPaper.getId());
+    }
+
     @Test
     public void whenNoPapers_thenReturnEmptyPage() {
         paperRepository.deleteAll(); // Ensure no papers are present
@@ -107,11 +130,35 @@ public class PaperRepositoryTest {
     @Test
     public void whenFindPapersByNameWithNoMatch_thenReturnEmptyPage() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<iPaper> papers = paperRepository.findPapersByName("Nonexistent Paper Name", pageable);
+        Page<iPaper> papers = paperRepository.findPapersByName("Nonexistent Paper Name", toContainsPattern("Nonexistent Paper Name"), pageable);
 
         assertThat(papers).isEmpty();
     }
 
+    @Test
+    public void whenFindPapersByNameWithWildcards_thenMatchLiterallyAndRankBySimilarity() {
+        paperRepository.save(PaperEntity.builder()
+                .paperId("percentPaperId")
+                .name("100% Report")
+                .owner(testUser)
+                .build());
+        paperRepository.save(PaperEntity.builder()
+                .paperId("longerPaperId")
+                .name("Annual 100% Report Appendix")
+                .owner(testUser)
+                .build());
+        paperRepository.save(PaperEntity.builder()
+                .paperId("digitsPaperId")
+                .name("1000 Report")
+                .owner(testUser)
+                .build());
+
+        Page<iPaper> papers = paperRepository.findPapersByName("100% report", toContainsPattern("100% report"), PageRequest.of(0, 10));
+
+        assertThat(papers.getContent()).extracting(iPaper::getPaper_Id).containsExactly("percentPaperId", "longerPaperId");
+        assertThat(papers.getTotalElements()).isEqualTo(2);
+    }
+
     @Test
     public void whenFindPaperByNonExistentId_thenReturnEmptyOptional() {
         Optional<iPaper> paper = paperRepository.findPaperByPaperId("NonExistentPaperId");
@@ -129,7 +176,7 @@ public class PaperRepositoryTest {
         paperRepository.save(anotherPaper);
 
         Pageable pageable = PageRequest.of(0, 10);
-        Page<iPaper> papers = paperRepository.findPapersByName("Test Paper", pageable);
+        Page<iPaper> papers = paperRepository.findPapersByName("Test Paper", toContainsPattern("Test Paper"), pageable);
 
         assertThat(papers).isNotEmpty();
         assertThat(papers.getTotalElements()).isGreaterThan(1); // Ensures there are multiple results
@@ -201,7 +248,7 @@ public class PaperRepositoryTest {
     @Test
     public void whenFindPapersWithEmptyName_thenReturnEmptyPage() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<iPaper> papers = paperRepository.findPapersByName("", pageable);
+        Page<iPaper> papers = paperRepository.findPapersByName("", toContainsPattern(""), pageable);
 
         assertThat(papers).isEmpty();
     }
@@ -245,7 +292,7 @@ public class PaperRepositoryTest {
         paperRepository.save(mixedCasePaper);
 
         Pageable pageable = PageRequest.of(0, 10);
-        Page<iPaper> papers = paperRepository.findPapersByName("test paper", pageable);
+        Page<iPaper> papers = paperRepository.findPapersByName("test paper", toContainsPattern("test paper"), pageable);
 
         assertThat(papers).isNotEmpty();
         assertThat(papers.getTotalElements()).isGreaterThan(1);
@@ -16,6 +16,7 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -66,7 +67,6 @@ public class UserRepositoryTest {
                 .enabled(true)
                 .mfa(false)
                 .qrCodeSecret("secret")
-                .qrCodeImageUri("http://example.com/qrcode.jpg")
                 .build();
 
         userRepository.save(testUser);
@@ -110,6 +110,30 @@ public class UserRepositoryTest {
         assertThat(found).isNotPresent();
     }
 
+    @Test
+    public void whenUnlockAccounts_thenAdminLockSurvivesLapsedLoginLock() {
+        testUser.setAccountNonLocked(false);
+        testUser.setLockedUntil(null);
+        userRepository.saveAndFlush(testUser);
+
+        // Failed logins against the admin-locked account: the limiter lock is skipped, its lapse must not unlock
+        int locked = userRepository.lockAccounts(List.of(testUser.getEmail()), LocalDateTime.now().minusMinutes(1));
+        int unlocked = userRepository.unlockAccounts(List.of(testUser.getEmail()));
+
+        assertThat(locked).isZero();
+        assertThat(unlocked).isZero();
+        assertThat(userRepository.findById(testUser.getId())).get().extracting(UserEntity::isAccountNonLocked).isEqualTo(false);
+    }
+
+    @Test
+    public void whenUnlockAccounts_thenLapsedLoginLockIsLifted() {
+        userRepository.lockAccounts(List.of(testUser.getEmail()), LocalDateTime.now().minusMinutes(1));
+
+        int unlocked = userRepository.unlockAccounts(List.of(testUser.getEmail()));
+
+        assertThat(unlocked).isEqualTo(1);
+    }
+
     @Test
     public void whenSave_thenReturnSavedUser() {
         UserEntity newUser = UserEntity.builder()
@@ -127,7 +151,6 @@ public class UserRepositoryTest {
                 .enabled(true)
                 .mfa(false)
                 .qrCodeSecret("newsecret")
-                .qrCodeImageUri("http://example.com/newqrcode.jpg")
                 .build();
 
         UserEntity savedUser = userRepository.save(newUser);
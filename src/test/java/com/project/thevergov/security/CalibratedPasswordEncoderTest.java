@@ -0,0 +1,65 @@
+package com.project.thevergov.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CalibratedPasswordEncoderTest {
+
+    private static final String PASSWORD = "letmein";
+
+    @Test
+    @DisplayName("Test Calibrated Password Encoder - Legacy, other-algorithm and weaker hashes are upgraded")
+    void upgradeEncodingShouldFlagHashesWithOtherSettings() {
+        // Arrange - Given
+        var encoder = CalibratedPasswordEncoder.bcrypt(5);
+        var legacy = new BCryptPasswordEncoder(5).encode(PASSWORD);
+        var weaker = CalibratedPasswordEncoder.bcrypt(4).encode(PASSWORD);
+        var stronger = CalibratedPasswordEncoder.bcrypt(6).encode(PASSWORD);
+        var argon2 = CalibratedPasswordEncoder.argon2(1024, 1, 1).encode(PASSWORD);
+
+        // Act - When
+        var current = encoder.encode(PASSWORD);
+
+        // Assert - Then
+        assertThat(current).startsWith("{bcrypt}");
+        assertThat(encoder.upgradeEncoding(current)).isFalse();
+        assertThat(encoder.upgradeEncoding(legacy)).isTrue();
+        assertThat(encoder.upgradeEncoding(weaker)).isTrue();
+        assertThat(encoder.upgradeEncoding(stronger)).isFalse();
+        assertThat(encoder.upgradeEncoding(argon2)).isTrue();
+        assertThat(encoder.matches(PASSWORD, legacy)).isTrue();
+        assertThat(encoder.matches(PASSWORD, argon2)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Test Calibrated Password Encoder - Argon2 parameters are compared")
+    void upgradeEncodingShouldCompareArgon2Parameters() {
+        // Arrange - Given
+        var encoder = CalibratedPasswordEncoder.argon2(1024, 2, 1);
+
+        // Act - When
+        var current = encoder.encode(PASSWORD);
+
+        // Assert - Then
+        assertThat(current).startsWith("{argon2}");
+        assertThat(encoder.upgradeEncoding(current)).isFalse();
+        assertThat(encoder.upgradeEncoding(CalibratedPasswordEncoder.argon2(1024, 1, 1).encode(PASSWORD))).isTrue();
+        assertThat(encoder.upgradeEncoding(CalibratedPasswordEncoder.argon2(2048, 2, 1).encode(PASSWORD))).isFalse();
+        assertThat(encoder.matches(PASSWORD, current)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Test Calibrated Password Encoder - Calibration never drops below the minimum")
+    void calibrateShouldKeepTheMinimumCost() {
+        // Act - When
+        var cost = CalibratedPasswordEncoder.calibrate(BCryptPasswordEncoder::new, 4, 6, Duration.ZERO);
+
+        // Assert - Then
+        assertThat(cost).isEqualTo(4);
+    }
+}
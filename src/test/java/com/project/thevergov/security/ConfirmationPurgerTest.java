@@ -0,0 +1,58 @@
+package com.project.thevergov.security;
+
+import com.project.thevergov.repository.ConfirmationRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ConfirmationPurgerTest {
+
+    @Mock
+    private ConfirmationRepository confirmationRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Test Purge - Batches deleted until a partial one")
+    void purgeShouldStopAfterPartialBatch() {
+        // Arrange - Given
+        var purger = new ConfirmationPurger(confirmationRepository, new TransactionTemplate(transactionManager), 100, 10);
+        when(confirmationRepository.deleteExpired(any(), eq(100))).thenReturn(100, 100, 7);
+
+        // Act - When
+        var deleted = purger.purge();
+
+        // Assert - Then
+        assertThat(deleted).isEqualTo(207);
+        verify(confirmationRepository, times(3)).deleteExpired(any(), eq(100));
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Test Purge - Run bounded by the batch limit")
+    void purgeShouldStopAtBatchLimit() {
+        // Arrange - Given
+        var purger = new ConfirmationPurger(confirmationRepository, new TransactionTemplate(transactionManager), 100, 2);
+        when(confirmationRepository.deleteExpired(any(), eq(100))).thenReturn(100);
+
+        // Act - When
+        var deleted = purger.purge();
+
+        // Assert - Then
+        assertThat(deleted).isEqualTo(200);
+        verify(confirmationRepository, times(2)).deleteExpired(any(), eq(100));
+    }
+}
@@ -0,0 +1,120 @@
+package com.project.thevergov.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.io.Encoders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtKeyRingTest {
+
+    private static final String PRIMARY_SECRET = newSecret(1);
+    private static final String NEXT_SECRET = newSecret(2);
+
+    private JwtKeyRing keyRing;
+
+    @BeforeEach
+    void setUp() {
+        keyRing = new JwtKeyRing(PRIMARY_SECRET, "primary", 60);
+    }
+
+    @Test
+    @DisplayName("Test Key Ring - Token signed with active key is verified")
+    void parserShouldVerifyTokenSignedWithActiveKey() {
+        // Arrange - Given
+        var token = sign(keyRing.active());
+
+        // Act - When
+        var jws = keyRing.parser().parseSignedClaims(token);
+
+        // Assert - Then
+        assertThat(jws.getHeader().getKeyId()).isEqualTo("primary");
+        assertThat(jws.getPayload().getSubject()).isEqualTo("user");
+    }
+
+    @Test
+    @DisplayName("Test Key Ring - Token without kid is verified with initial key")
+    void parserShouldVerifyLegacyTokenWithInitialKey() {
+        // Arrange - Given
+        var token = Jwts.builder().subject("user").signWith(keyRing.active().key(), Jwts.SIG.HS512).compact();
+        keyRing.rotate("next", NEXT_SECRET);
+
+        // Act - When
+        var claims = keyRing.parser().parseSignedClaims(token).getPayload();
+
+        // Assert - Then
+        assertThat(claims.getSubject()).isEqualTo("user");
+    }
+
+    @Test
+    @DisplayName("Test Key Ring - Old and new keys verify during overlap")
+    void rotateShouldKeepPreviousKeyDuringOverlap() {
+        // Arrange - Given
+        var oldToken = sign(keyRing.active());
+
+        // Act - When
+        keyRing.rotate("next", NEXT_SECRET);
+        var newToken = sign(keyRing.active());
+
+        // Assert - Then
+        assertThat(keyRing.active().kid()).isEqualTo("next");
+        assertThat(keyRing.parser().parseSignedClaims(oldToken).getHeader().getKeyId()).isEqualTo("primary");
+        assertThat(keyRing.parser().parseSignedClaims(newToken).getHeader().getKeyId()).isEqualTo("next");
+    }
+
+    @Test
+    @DisplayName("Test Key Ring - Retired key no longer verifies")
+    void rotateShouldRejectKeyAfterOverlap() {
+        // Arrange - Given
+        keyRing = new JwtKeyRing(PRIMARY_SECRET, "primary", 0);
+        var oldToken = sign(keyRing.active());
+
+        // Act - When
+        keyRing.rotate("next", NEXT_SECRET);
+
+        // Assert - Then
+        assertThatThrownBy(() -> keyRing.parser().parseSignedClaims(oldToken)).isInstanceOf(UnsupportedJwtException.class);
+    }
+
+    @Test
+    @DisplayName("Test Key Ring - Key id cannot be reused")
+    void rotateShouldRejectKeyIdInUse() {
+        assertThatThrownBy(() -> keyRing.rotate("primary", NEXT_SECRET)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Test Key Ring - Secret too short for HS512 is rejected and the active key is kept")
+    void rotateShouldRejectShortSecret() {
+        // Arrange - Given
+        var shortSecret = Encoders.BASE64.encode(new byte[32]);
+
+        // Act - When
+        assertThatThrownBy(() -> keyRing.rotate("next", shortSecret)).isInstanceOf(IllegalArgumentException.class);
+
+        // Assert - Then
+        assertThat(keyRing.active().kid()).isEqualTo("primary");
+        assertThat(keyRing.describe()).singleElement().satisfies(key -> assertThat(key.get("retireAt")).isEqualTo("never"));
+        assertThat(keyRing.parser().parseSignedClaims(sign(keyRing.active())).getHeader().getKeyId()).isEqualTo("primary");
+    }
+
+    private static String sign(JwtKeyRing.SigningKey signingKey) {
+        return Jwts.builder()
+                .header().keyId(signingKey.kid())
+                .and()
+                .subject("user")
+                .signWith(signingKey.key(), Jwts.SIG.HS512)
+                .compact();
+    }
+
+    private static String newSecret(long seed) {
+        var bytes = new byte[64];
+        new Random(seed).nextBytes(bytes);
+        return Encoders.BASE64.encode(bytes);
+    }
+}
@@ -0,0 +1,88 @@
+package com.project.thevergov.security;
+
+import com.project.thevergov.cache.LoginAttemptLimiter;
+import com.project.thevergov.cache.SecurityVersionCache;
+import com.project.thevergov.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LoginStateWriterTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private SecurityVersionCache securityVersions;
+
+    @Mock
+    private LoginAttemptLimiter loginAttemptLimiter;
+
+    @InjectMocks
+    private LoginStateWriter loginStateWriter;
+
+    @Test
+    @DisplayName("Test Login State Writer - Changes are coalesced into bulk updates")
+    void flushShouldCoalesceChanges() {
+        // Arrange - Given
+        var lastLogin = LocalDateTime.of(2024, 1, 1, 12, 0, 0);
+        when(loginAttemptLimiter.drainExpiredLocks()).thenReturn(List.of("expired@example.com"));
+        when(userRepository.findUserIdsByEmails(List.of("locked@example.com"))).thenReturn(List.of("userId"));
+        when(loginAttemptLimiter.lockoutDuration()).thenReturn(Duration.ofMinutes(30));
+        var before = LocalDateTime.now();
+        loginStateWriter.lock("relocked@example.com");
+        loginStateWriter.unlock("relocked@example.com");
+        loginStateWriter.lock("Locked@example.com");
+        loginStateWriter.recordLogin("first@example.com", lastLogin);
+        loginStateWriter.recordLogin("second@example.com", lastLogin.plusNanos(1000));
+
+        // Act - When
+        loginStateWriter.flush();
+
+        // Assert - Then
+        verify(userRepository).lockAccounts(eq(List.of("locked@example.com")), argThat(lockedUntil -> !lockedUntil.isBefore(before.plusMinutes(30))));
+        verify(securityVersions).evict("userId");
+        verify(userRepository).unlockAccounts(argThatContainsExactly("relocked@example.com", "expired@example.com"));
+        verify(userRepository).updateLastLogin(argThatContainsExactly("first@example.com", "second@example.com"), any());
+    }
+
+    @Test
+    @DisplayName("Test Login State Writer - Failed flush keeps changes for the next one")
+    void flushShouldRequeueOnFailure() {
+        // Arrange - Given
+        loginStateWriter.unlock("test@example.com");
+        when(userRepository.unlockAccounts(anyCollection())).thenThrow(new IllegalStateException("Database unavailable")).thenReturn(1);
+
+        // Act - When
+        assertThatThrownBy(() -> loginStateWriter.flush()).isInstanceOf(IllegalStateException.class);
+        loginStateWriter.flush();
+
+        // Assert - Then
+        verify(userRepository, times(2)).unlockAccounts(List.of("test@example.com"));
+        verifyNoInteractions(securityVersions);
+    }
+
+    // Matches a collection holding exactly the given emails in any order
+    private static Collection<String> argThatContainsExactly(String... emails) {
+        return argThat(actual -> actual.size() == emails.length && actual.containsAll(List.of(emails)));
+    }
+}
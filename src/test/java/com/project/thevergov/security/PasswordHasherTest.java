@@ -0,0 +1,110 @@
+package com.project.thevergov.security;
+
+import com.project.thevergov.exception.CapacityExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHasherTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private PasswordHasher passwordHasher;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    @DisplayName("Test Password Hasher - Hashes on the pool")
+    void encodeAndMatchesShouldDelegateToEncoder() {
+        // Arrange - Given
+        passwordHasher = new PasswordHasher(new ReversingEncoder(null), 1, 1, registry);
+
+        // Act - When
+        var encoded = passwordHasher.encode("secret");
+
+        // Assert - Then
+        assertThat(encoded).isEqualTo("terces");
+        assertThat(passwordHasher.matches("secret", encoded)).isTrue();
+        assertThat(registry.get("password.hash").tag("operation", "encode").timer().count()).isEqualTo(1);
+        assertThat(registry.get("password.hash").tag("operation", "matches").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test Password Hasher - Saturated pool rejects")
+    void encodeShouldRejectWhenQueueIsFull() {
+        // Arrange - Given
+        passwordHasher = new PasswordHasher(new ReversingEncoder(release), 1, 1, registry);
+        CompletableFuture.runAsync(() -> passwordHasher.encode("running"));
+        waitUntil(() -> registry.get("password.hash.active").gauge().value() == 1);
+        CompletableFuture.runAsync(() -> passwordHasher.encode("queued"));
+        waitUntil(() -> registry.get("password.hash.queue.depth").gauge().value() == 1);
+
+        // Act - When & Assert - Then
+        assertThatThrownBy(() -> passwordHasher.encode("rejected")).isInstanceOf(CapacityExceededException.class);
+        assertThat(registry.get("password.hash.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test Password Hasher - Background hashing runs on the pool and fails when saturated")
+    void encodeAsyncShouldNotWaitForThePool() {
+        // Arrange - Given
+        passwordHasher = new PasswordHasher(new ReversingEncoder(release), 1, 1, registry);
+
+        // Act - When
+        var running = passwordHasher.encodeAsync("running");
+        var queued = passwordHasher.encodeAsync("queued");
+        var rejected = passwordHasher.encodeAsync("rejected");
+
+        // Assert - Then
+        assertThat(running).isNotDone();
+        assertThat(rejected).isCompletedExceptionally();
+        assertThat(registry.get("password.hash.rejected").counter().count()).isEqualTo(1);
+        release.countDown();
+        assertThat(running.join()).isEqualTo("gninnur");
+        assertThat(queued.join()).isEqualTo("deueuq");
+    }
+
+    // Polls the condition until it holds, failing after five seconds
+    private static void waitUntil(BooleanSupplier condition) {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+
+    // Encoder that reverses the password, optionally blocking until released to keep the pool busy
+    private record ReversingEncoder(CountDownLatch release) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return new StringBuilder(rawPassword).reverse().toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.project.thevergov.security;
+
+import com.project.thevergov.entity.RoleEntity;
+import com.project.thevergov.enumeration.Authority;
+import com.project.thevergov.exception.ApiException;
+import com.project.thevergov.repository.RoleRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RoleRegistryTest {
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @InjectMocks
+    private RoleRegistry roleRegistry;
+
+    @Test
+    @DisplayName("Test Get Role - Roles loaded once and served from memory")
+    void getRoleShouldLoadRolesOnce() {
+        // Arrange - Given
+        var user = new RoleEntity("USER", Authority.USER);
+        var admin = new RoleEntity("ADMIN", Authority.ADMIN);
+        when(roleRepository.findAll()).thenReturn(List.of(user, admin));
+
+        // Act - When
+        var first = roleRegistry.getRole("USER");
+        var second = roleRegistry.getRole("ADMIN");
+
+        // Assert - Then
+        assertThat(first).isSameAs(user);
+        assertThat(second).isSameAs(admin);
+        assertThatThrownBy(() -> roleRegistry.getRole("MISSING")).isInstanceOf(ApiException.class);
+        verify(roleRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Test Get Authorities - Parsed once and shared")
+    void getAuthoritiesShouldParseOnce() {
+        // Arrange - Given
+        var authorities = Authority.ADMIN.getValue();
+
+        // Act - When
+        var first = roleRegistry.getAuthorities(authorities, "ADMIN");
+        var second = roleRegistry.getAuthorities(authorities, "ADMIN");
+        var userAuthorities = roleRegistry.getAuthorities(Authority.USER.getValue());
+
+        // Assert - Then
+        assertThat(first).isSameAs(second);
+        assertThat(first).isEqualTo(AuthorityUtils.commaSeparatedStringToAuthorityList(authorities + ",ROLE_ADMIN"));
+        assertThat(userAuthorities.get(0)).isSameAs(first.get(3));
+    }
+}
@@ -0,0 +1,41 @@
+package com.project.thevergov.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RouteClassifierTest {
+
+    private final RouteClassifier routeClassifier = new RouteClassifier("/user/login/**", "/user/register", "/papers/*/preview");
+
+    @Test
+    @DisplayName("Test Route Classifier - Literal, subtree and pattern routes")
+    void isPublicShouldMatchRoutesLikePathPatterns() {
+        // Arrange - Given / Act - When / Assert - Then
+        assertThat(routeClassifier.isPublic("/user/login")).isTrue();
+        assertThat(routeClassifier.isPublic("/user/login/mfa")).isTrue();
+        assertThat(routeClassifier.isPublic("/user/loginx")).isFalse();
+        assertThat(routeClassifier.isPublic("/user/register")).isTrue();
+        assertThat(routeClassifier.isPublic("/user/register/again")).isFalse();
+        assertThat(routeClassifier.isPublic("/user")).isFalse();
+        assertThat(routeClassifier.isPublic("/papers/abc/preview")).isTrue();
+        assertThat(routeClassifier.isPublic("/papers/abc")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Test Route Classifier - Request path taken without the context path")
+    void isPublicShouldIgnoreContextPath() {
+        // Arrange - Given
+        var request = new MockHttpServletRequest("POST", "/api/user/login");
+        request.setContextPath("/api");
+
+        // Act - When
+        var isPublic = new RouteClassifier().isPublic(request);
+
+        // Assert - Then
+        assertThat(isPublic).isTrue();
+        assertThat(new RouteClassifier().isPublic("/user/profile")).isFalse();
+    }
+}
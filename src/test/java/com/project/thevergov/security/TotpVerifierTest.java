@@ -0,0 +1,67 @@
+package com.project.thevergov.security;
+
+import dev.samstevens.totp.code.DefaultCodeGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TotpVerifierTest {
+
+    private static final String SECRET = "JBSWY3DPEHPK3PXPJBSWY3DPEHPK3PXP";
+    private static final String USER_ID = "userId";
+    private static final long NOW = 1_700_000_010L;
+
+    private TotpVerifier totpVerifier;
+
+    @BeforeEach
+    void setUp() {
+        var clock = Clock.fixed(Instant.ofEpochSecond(NOW), ZoneOffset.UTC);
+        totpVerifier = new TotpVerifier(clock, 1, 100, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Test TOTP Verifier - Codes within the drift window are accepted")
+    void verifyShouldAcceptCodesWithinDrift() throws Exception {
+        // Arrange - Given
+        var step = NOW / TotpVerifier.PERIOD_SECONDS;
+
+        // Act - When & Assert - Then
+        assertThat(totpVerifier.verify("first", SECRET, code(step - 1))).isTrue();
+        assertThat(totpVerifier.verify("second", SECRET, code(step))).isTrue();
+        assertThat(totpVerifier.verify("third", SECRET, code(step + 1))).isTrue();
+        assertThat(totpVerifier.verify("fourth", SECRET, code(step + 2))).isFalse();
+        assertThat(totpVerifier.verify("fifth", SECRET, "abcdef")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Test TOTP Verifier - Replayed codes are rejected")
+    void verifyShouldRejectReplays() throws Exception {
+        // Arrange - Given
+        var step = NOW / TotpVerifier.PERIOD_SECONDS;
+        var code = code(step);
+
+        // Act - When
+        var first = totpVerifier.verify(USER_ID, SECRET, code);
+        var replay = totpVerifier.verify(USER_ID, SECRET, code);
+        var earlier = totpVerifier.verify(USER_ID, SECRET, code(step - 1));
+        var later = totpVerifier.verify(USER_ID, SECRET, code(step + 1));
+
+        // Assert - Then
+        assertThat(first).isTrue();
+        assertThat(replay).isFalse();
+        assertThat(earlier).isFalse();
+        assertThat(later).isTrue();
+    }
+
+    // Generates the expected code with the library the QR codes are built for
+    private static String code(long step) throws Exception {
+        return new DefaultCodeGenerator().generate(SECRET, step);
+    }
+}
@@ -1,8 +1,15 @@
 package com.project.thevergov.service;
 
+import com.project.thevergov.cache.RefreshTokenCache;
+import com.project.thevergov.cache.SecurityVersionCache;
+import com.project.thevergov.cache.TokenCache;
 import com.project.thevergov.domain.Token;
 import com.project.thevergov.domain.TokenData;
 import com.project.thevergov.dto.User;
+import com.project.thevergov.security.JwtKeyRing;
+import com.project.thevergov.security.RoleRegistry;
+import com.project.thevergov.security.TokenDenylist;
+import com.project.thevergov.repository.RoleRepository;
 import com.project.thevergov.enumeration.TokenType;
 import com.project.thevergov.service.UserService;
 import com.project.thevergov.service.impl.JwtServiceImpl;
@@ -33,6 +40,21 @@ class JwtServiceTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private TokenCache tokenCache;
+
+    @Mock
+    private JwtKeyRing keyRing;
+
+    @Mock
+    private SecurityVersionCache securityVersions;
+
+    @Mock
+    private RefreshTokenCache refreshTokenCache;
+
+    @Mock
+    private TokenDenylist tokenDenylist;
+
     @Mock
     private HttpServletRequest request;
 
@@ -44,7 +66,8 @@ class JwtServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        jwtService = new JwtServiceImpl(userService);
+        jwtService = new JwtServiceImpl(userService, tokenCache, keyRing, securityVersions, refreshTokenCache,
+                new RoleRegistry(mock(RoleRepository.class)), tokenDenylist);
     }
 
     @Test
@@ -78,4 +101,66 @@ class JwtServiceTest {
         verify(response, times(1)).addCookie(any(Cookie.class));
         assertThat(cookie.getMaxAge()).isZero();
     }
+
+    @Test
+    void getTokenData_shouldRejectTokenWithStaleSecurityVersion() {
+        TokenData tokenData = TokenData.builder()
+                .valid(true)
+                .claims(Jwts.claims().subject("userId").add("sv", 1L).build())
+                .build();
+        when(tokenCache.get(anyString(), any())).thenReturn(tokenData);
+        when(securityVersions.isCurrent("userId", 1L)).thenReturn(false);
+
+        Boolean valid = jwtService.getTokenData("token", TokenData::isValid);
+
+        assertThat(valid).isFalse();
+        assertThat(tokenData.isValid()).isTrue();
+        verify(tokenCache).evict("token");
+    }
+
+    @Test
+    void getTokenData_shouldRejectRevokedToken() {
+        TokenData tokenData = TokenData.builder()
+                .valid(true)
+                .claims(Jwts.claims().subject("userId").id("jti").add("sv", 1L).build())
+                .build();
+        when(tokenCache.get(anyString(), any())).thenReturn(tokenData);
+        when(tokenDenylist.isRevoked("jti")).thenReturn(true);
+
+        Boolean valid = jwtService.getTokenData("token", TokenData::isValid);
+
+        assertThat(valid).isFalse();
+        verify(tokenCache).evict("token");
+        verify(securityVersions, never()).isCurrent(anyString(), anyLong());
+    }
+
+    @Test
+    void getTokenData_shouldAcceptTokenWithCurrentSecurityVersion() {
+        TokenData tokenData = TokenData.builder()
+                .valid(true)
+                .claims(Jwts.claims().subject("userId").add("sv", 1L).build())
+                .build();
+        when(tokenCache.get(anyString(), any())).thenReturn(tokenData);
+        when(securityVersions.isCurrent("userId", 1L)).thenReturn(true);
+
+        TokenData result = jwtService.getTokenData("token", Function.identity());
+
+        assertThat(result).isSameAs(tokenData);
+        verify(tokenCache, never()).evict(anyString());
+    }
+
+    @Test
+    void refreshToken_shouldRevokeTokensWhenRefreshTokenIsReused() {
+        TokenData tokenData = TokenData.builder()
+                .valid(true)
+                .claims(Jwts.claims().subject("userId").id("jti").build())
+                .build();
+        when(refreshTokenCache.isReused("jti")).thenReturn(true);
+
+        Optional<Token> token = jwtService.refreshToken(tokenData);
+
+        assertThat(token).isNotPresent();
+        verify(userService).revokeTokens("userId");
+        verify(refreshTokenCache, never()).rotate(anyString(), any());
+    }
 }
@@ -1,5 +1,9 @@
 package com.project.thevergov.service;
 
+import com.project.thevergov.cache.PaperCache;
+import com.project.thevergov.cache.PaperSuggestIndex;
+import com.project.thevergov.domain.CursorPage;
+import com.project.thevergov.domain.PaperCursor;
 import com.project.thevergov.dto.Paper;
 import com.project.thevergov.dto.User;
 import com.project.thevergov.dto.api.iPaper;
@@ -20,6 +24,9 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.nio.file.Files;
@@ -31,6 +38,7 @@ import static com.project.thevergov.constant.Constants.FILE_STORAGE;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 class PaperServiceTest {
@@ -44,6 +52,12 @@ class PaperServiceTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private PaperSuggestIndex suggestIndex;
+
+    @Mock
+    private PaperCache paperCache;
+
     @InjectMocks
     private PaperServiceImpl paperService;
 
@@ -63,15 +77,121 @@ class PaperServiceTest {
         verify(paperRepository).findPapers(PageRequest.of(0, 10, Sort.by("name")));
     }
 
+    @Test
+    void testLoadSuggestIndexAbandonsLoaderWhenReadingFails() {
+        ReflectionTestUtils.setField(paperService, "suggestLoadBatchSize", 100);
+        var loader = mock(PaperSuggestIndex.Loader.class);
+        when(suggestIndex.loader()).thenReturn(loader);
+        when(paperRepository.findPaperNamesAfter(anyLong(), any(PageRequest.class))).thenThrow(new IllegalStateException("Connection refused"));
+
+        assertThatThrownBy(() -> paperService.loadSuggestIndex()).isInstanceOf(IllegalStateException.class);
+
+        verify(suggestIndex).abandon(loader);
+        verify(suggestIndex, never()).load(any());
+    }
+
     @Test
     void testGetPapersByName() {
         Page<iPaper> mockPage = new PageImpl<>(Collections.emptyList());
-        when(paperRepository.findPapersByName(anyString(), any(PageRequest.class))).thenReturn(mockPage);
+        when(paperRepository.findPapersByName(anyString(), anyString(), any(PageRequest.class))).thenReturn(mockPage);
 
         Page<iPaper> result = paperService.getPapers(0, 10, "test");
 
         assertThat(result).isEqualTo(mockPage);
-        verify(paperRepository).findPapersByName("test", PageRequest.of(0, 10, Sort.by("name")));
+        verify(paperRepository).findPapersByName("test", "%test%", PageRequest.of(0, 10));
+    }
+
+    @Test
+    void testGetPapersAfterReturnsNextCursorWhenMoreRowsFollow() {
+        iPaper first = mock(iPaper.class);
+        iPaper second = mock(iPaper.class);
+        iPaper extra = mock(iPaper.class);
+        when(second.getName()).thenReturn("Beta");
+        when(second.getId()).thenReturn(7L);
+        when(paperRepository.findPapersAfter("", 0L, 3)).thenReturn(List.of(first, second, extra));
+
+        CursorPage<iPaper> result = paperService.getPapersAfter(null, 2);
+
+        assertThat(result.content()).containsExactly(first, second);
+        assertThat(PaperCursor.decode(result.nextCursor())).isEqualTo(new PaperCursor("Beta", 7L));
+    }
+
+    @Test
+    void testGetPapersAfterOmitsNextCursorOnLastPage() {
+        iPaper only = mock(iPaper.class);
+        String cursor = new PaperCursor("Alpha", 3L).encode();
+        when(paperRepository.findPapersByNameAfter("%test%", "Alpha", 3L, 3)).thenReturn(List.of(only));
+
+        CursorPage<iPaper> result = paperService.getPapersAfter(cursor, 2, "test");
+
+        assertThat(result.content()).containsExactly(only);
+        assertThat(result.nextCursor()).isNull();
+    }
+
+    @Test
+    void testGetPapersByNameEscapesLikeWildcards() {
+        Page<iPaper> mockPage = new PageImpl<>(Collections.emptyList());
+        when(paperRepository.findPapersByName(anyString(), anyString(), any(PageRequest.class))).thenReturn(mockPage);
+
+        paperService.getPapers(0, 10, "50%_off\\");
+
+        verify(paperRepository).findPapersByName("50%_off\\", "%50\\%\\_off\\\\%", PageRequest.of(0, 10));
+    }
+
+    @Test
+    void testDeletePaperRemovesPaperFromRepositoryAndSuggestIndex() {
+        PaperEntity paperEntity = PaperEntity.builder().paperId("paperId").name("missing-file.txt").build();
+        paperEntity.setId(5L);
+        when(paperRepository.findByPaperId("paperId")).thenReturn(Optional.of(paperEntity));
+
+        paperService.deletePaper("paperId");
+
+        verify(paperRepository).delete(paperEntity);
+        verify(suggestIndex).remove(5L, "missing-file.txt");
+        verify(paperCache).evict("paperId");
+    }
+
+    @Test
+    void testDeletePaperRemovesFileOnlyAfterCommit() throws Exception {
+        Path storage = Paths.get(FILE_STORAGE);
+        boolean createdStorage = Files.notExists(storage);
+        Path file = Files.createDirectories(storage).resolve("delete-after-commit.txt");
+        Files.writeString(file, "content");
+        PaperEntity paperEntity = PaperEntity.builder().paperId("paperId").name("delete-after-commit.txt").build();
+        paperEntity.setId(5L);
+        when(paperRepository.findByPaperId("paperId")).thenReturn(Optional.of(paperEntity));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            paperService.deletePaper("paperId");
+
+            assertThat(file).exists();
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertThat(file).doesNotExist();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+            Files.deleteIfExists(file);
+            if (createdStorage) {
+                Files.deleteIfExists(storage);
+            }
+        }
+    }
+
+    @Test
+    void testDeletePaperThrowsExceptionWhenPaperNotFound() {
+        when(paperRepository.findByPaperId("paperId")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> paperService.deletePaper("paperId"))
+                .isInstanceOf(ApiException.class)
+                .hasMessage("Paper not found");
+        verify(paperRepository, never()).delete(any());
+    }
+
+    @Test
+    void testSuggestPapersClampsLimit() {
+        List<PaperSuggestIndex.Suggestion> suggestions = List.of(new PaperSuggestIndex.Suggestion("paperId", "Report.pdf"));
+        when(suggestIndex.suggest("rep", 20)).thenReturn(suggestions);
+
+        assertThat(paperService.suggestPapers("rep", 500)).isEqualTo(suggestions);
     }
 
     @Test
@@ -82,7 +202,7 @@ class PaperServiceTest {
         when(mockFile.getInputStream()).thenReturn(Files.newInputStream(Paths.get("test.txt")));
 
         PaperEntity mockPaperEntity = PaperEntity.builder().paperId(UUID.randomUUID().toString()).name("test.txt").build();
-        when(paperRepository.save(any(PaperEntity.class))).thenReturn(mockPaperEntity);
+        when(paperRepository.saveAll(anyList())).thenReturn(List.of(mockPaperEntity));
 
         when(userRepository.findUserByUserId(anyString())).thenReturn(Optional.of(new UserEntity()));
         when(userService.getUserById(Long.valueOf(anyString()))).thenReturn(new User());
@@ -90,7 +210,7 @@ class PaperServiceTest {
         Collection<Paper> result = paperService.savePapers(userId, List.of(mockFile));
 
         assertThat(result).hasSize(1);
-        verify(paperRepository, times(1)).save(any(PaperEntity.class));
+        verify(paperRepository, times(1)).saveAll(anyList());
     }
 
     @Test
@@ -104,17 +224,18 @@ class PaperServiceTest {
         Path oldFilePath = Paths.get(FILE_STORAGE).resolve("old.txt").toAbsolutePath().normalize();
         Path newFilePath = oldFilePath.resolveSibling("new.txt");
 
-        // Mocking Files.move operation
-        mockStatic(Files.class);
-        when(Files.move(any(Path.class), any(Path.class))).thenReturn(newFilePath);
+        // Mocking Files.move operation; closed so the static mock does not leak into other tests
+        try (var files = mockStatic(Files.class)) {
+            when(Files.move(any(Path.class), any(Path.class))).thenReturn(newFilePath);
 
-        iPaper updatedPaper = paperService.updatePaper(paperId, "new.txt", "new description");
+            iPaper updatedPaper = paperService.updatePaper(paperId, "new.txt", "new description");
 
-        assertThat(updatedPaper).isNotNull();
-        verify(paperRepository).save(mockPaperEntity);
+            assertThat(updatedPaper).isNotNull();
+            verify(paperRepository).save(mockPaperEntity);
 
-        // Verify that the file move operation was called correctly
-        verify(Files.move(oldFilePath, newFilePath), times(1));
+            // Verify that the file move operation was called correctly
+            verify(Files.move(oldFilePath, newFilePath), times(1));
+        }
     }
 
     @Test
@@ -130,6 +251,26 @@ class PaperServiceTest {
         verify(paperRepository).findPaperByPaperId(paperId);
     }
 
+    @Test
+    void testGetPaperByPaperIdIsServedFromCache() {
+        iPaper paper = mock(iPaper.class);
+        when(paperCache.get("paperId")).thenReturn(Optional.of(paper));
+
+        iPaper result = paperService.getPaperByPaperId("paperId");
+
+        assertThat(result).isSameAs(paper);
+        verify(paperRepository, never()).findPaperByPaperId(anyString());
+    }
+
+    @Test
+    void testGetPaperByPaperIdThrowsExceptionWhenPaperNotCached() {
+        when(paperCache.get("paperId")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> paperService.getPaperByPaperId("paperId"))
+                .isInstanceOf(ApiException.class)
+                .hasMessage("Paper not found");
+    }
+
     @Test
     void testGetResource() throws Exception {
         String paperName = "test.txt";
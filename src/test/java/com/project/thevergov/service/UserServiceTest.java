@@ -1,20 +1,24 @@
 package com.project.thevergov.service;
 
 
-import com.project.thevergov.cache.CacheStore;
+import com.project.thevergov.cache.LoginAttemptLimiter;
+import com.project.thevergov.cache.SecurityVersionCache;
 import com.project.thevergov.dto.User;
 import com.project.thevergov.entity.ConfirmationEntity;
 import com.project.thevergov.entity.CredentialEntity;
 import com.project.thevergov.entity.RoleEntity;
 import com.project.thevergov.entity.UserEntity;
 import com.project.thevergov.enumeration.Authority;
+import com.project.thevergov.enumeration.EventType;
 import com.project.thevergov.enumeration.LoginType;
 import com.project.thevergov.event.UserEvent;
 import com.project.thevergov.exception.ApiException;
 import com.project.thevergov.repository.ConfirmationRepository;
 import com.project.thevergov.repository.CredentialRepository;
-import com.project.thevergov.repository.RoleRepository;
 import com.project.thevergov.repository.UserRepository;
+import com.project.thevergov.security.LoginStateWriter;
+import com.project.thevergov.security.PasswordHasher;
+import com.project.thevergov.security.RoleRegistry;
 import com.project.thevergov.service.impl.UserServiceImpl;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -24,6 +28,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.LockedException;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
@@ -34,7 +39,11 @@ import static org.assertj.core.api.Assertions.within;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.junit.Assert.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 
@@ -44,7 +53,7 @@ public class UserServiceTest {
     @Mock
     private UserRepository userRepository;
     @Mock
-    private RoleRepository roleRepository;
+    private RoleRegistry roleRegistry;
 
     @Mock
     private CredentialRepository credentialRepository;
@@ -55,7 +64,16 @@ public class UserServiceTest {
     private ApplicationEventPublisher publisher;
 
     @Mock
-    private CacheStore<String, Integer> userCache;
+    private LoginAttemptLimiter loginAttemptLimiter;
+
+    @Mock
+    private LoginStateWriter loginStateWriter;
+
+    @Mock
+    private SecurityVersionCache securityVersions;
+
+    @Mock
+    private PasswordHasher passwordHasher;
 
     @InjectMocks
     private UserServiceImpl userServiceImpl;
@@ -106,7 +124,8 @@ public class UserServiceTest {
         String password = "password123";
 
         RoleEntity role = new RoleEntity("USER", Authority.USER);
-        when(roleRepository.findRoleEntityByName(Authority.USER.name())).thenReturn(Optional.of(role));
+        when(roleRegistry.getRole(Authority.USER.name())).thenReturn(role);
+        when(passwordHasher.encode(password)).thenReturn("hashedPassword");
 
         // Mock the saving behavior of repositories (if needed)
         when(userRepository.save(any(UserEntity.class))).thenAnswer(invocation -> {
@@ -134,7 +153,7 @@ public class UserServiceTest {
         verify(credentialRepository).save(credentialCaptor.capture());
         CredentialEntity savedCredential = credentialCaptor.getValue();
         assertThat(savedCredential.getUserEntity()).isEqualTo(savedUser);
-        // You might want to verify the password hashing here if you're using BCryptPasswordEncoder
+        assertThat(savedCredential.getPassword()).isEqualTo("hashedPassword");
 
         // 2. Verify confirmation entity creation
         ArgumentCaptor<ConfirmationEntity> confirmationCaptor = ArgumentCaptor.forClass(ConfirmationEntity.class);
@@ -253,6 +272,80 @@ public class UserServiceTest {
                 .hasMessage("Unable to find user credential");
     }
 
+    @Test
+    @DisplayName("Test Get Login Context - Loaded With One Query")
+    public void getLoginContextTest() {
+        // Arrange - Given
+        String email = "john.doe@example.com";
+        UserEntity userEntity = new UserEntity();
+        userEntity.setId(1L);
+        userEntity.setEmail(email);
+        userEntity.setCreatedAt(LocalDateTime.of(1990, 11, 1, 1, 11, 11));
+        userEntity.setUpdatedAt(LocalDateTime.of(1990, 11, 1, 1, 11, 11));
+        userEntity.setLastLogin(LocalDateTime.of(1990, 11, 1, 1, 11, 11));
+        userEntity.setRole(new RoleEntity("USER", Authority.USER));
+
+        CredentialEntity credentialEntity = new CredentialEntity(userEntity, "hashedPassword");
+        credentialEntity.setUpdatedAt(LocalDateTime.now());
+
+        when(credentialRepository.findLoginCredentialByEmail(email)).thenReturn(Optional.of(credentialEntity));
+
+        // Act - When
+        var loginContext = userServiceImpl.getLoginContext(email);
+
+        // Assert - Then
+        assertThat(loginContext.user().getEmail()).isEqualTo(email);
+        assertThat(loginContext.user().getRole()).isEqualTo("USER");
+        assertThat(loginContext.user().isCredentialsNonExpired()).isTrue();
+        assertThat(loginContext.credential()).isSameAs(credentialEntity);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Test Get Login Context - Lapsed Lock Lifted")
+    public void getLoginContextTest_LapsedLock() {
+        // Arrange - Given
+        String email = "john.doe@example.com";
+        UserEntity userEntity = new UserEntity();
+        userEntity.setId(1L);
+        userEntity.setEmail(email);
+        userEntity.setCreatedAt(LocalDateTime.of(1990, 11, 1, 1, 11, 11));
+        userEntity.setUpdatedAt(LocalDateTime.of(1990, 11, 1, 1, 11, 11));
+        userEntity.setLastLogin(LocalDateTime.of(1990, 11, 1, 1, 11, 11));
+        userEntity.setRole(new RoleEntity("USER", Authority.USER));
+        userEntity.setAccountNonLocked(false);
+        userEntity.setLockedUntil(LocalDateTime.now().minusMinutes(1));
+
+        CredentialEntity credentialEntity = new CredentialEntity(userEntity, "hashedPassword");
+        credentialEntity.setUpdatedAt(LocalDateTime.now());
+
+        when(credentialRepository.findLoginCredentialByEmail(email)).thenReturn(Optional.of(credentialEntity));
+
+        // Act - When
+        var loginContext = userServiceImpl.getLoginContext(email);
+
+        // Assert - Then
+        assertThat(loginContext.user().isAccountNonLocked()).isTrue();
+        verify(loginStateWriter).unlock(email);
+    }
+
+    @Test
+    @DisplayName("Test Upgrade Password Hash - Skipped After A Password Change")
+    public void upgradePasswordHashTest_PasswordChanged() {
+        // Arrange - Given
+        UserEntity userEntity = new UserEntity();
+        userEntity.setId(1L);
+        CredentialEntity credentialEntity = new CredentialEntity(userEntity, "{bcrypt}changed");
+        when(credentialRepository.getCredentialByUserEntityId(1L)).thenReturn(Optional.of(credentialEntity));
+
+        // Act - When
+        userServiceImpl.upgradePasswordHash(1L, "{bcrypt}verified", "{bcrypt}upgraded");
+
+        // Assert - Then
+        assertThat(credentialEntity.getPassword()).isEqualTo("{bcrypt}changed");
+        verify(credentialRepository, never()).save(any(CredentialEntity.class));
+    }
+
     @Test
     @DisplayName("Test Verify Account - Successful Verification")
     public void verifyAccountTest() {
@@ -298,68 +391,174 @@ public class UserServiceTest {
 
         // Act & Assert
         assertThatThrownBy(() -> userServiceImpl.verifyAccount(invalidKey))
-                .isInstanceOf(NullPointerException.class); // Or handle the exception as per your design
+                .isInstanceOf(ApiException.class)
+                .hasMessage("Unable to find key");
+        verify(userRepository, never()).save(any(UserEntity.class));
     }
 
     @Test
     @DisplayName("Test Update Login Attempt - Login Attempt")
     public void updateLoginAttemptTest_LoginAttempt() {
-        // Arrange
+        // Arrange - Given
         String email = "test@example.com";
-        UserEntity userEntity = new UserEntity();
-        userEntity.setId(1L);
-        userEntity.setEmail(email);
-        userEntity.setLoginAttempts(0);
-        userEntity.setAccountNonLocked(true);
-
-        // Mock repository and cache behavior
-        when(userRepository.findByEmailIgnoreCase(email)).thenReturn(Optional.of(userEntity));
-        when(userCache.get(email)).thenReturn(null); // Simulate cache miss for the first attempt
-
-        // Act
-        userServiceImpl.updateLoginAttempt(email, LoginType.LOGIN_ATTEMPT); // First attempt
+        String ipAddress = "203.0.113.7";
+        when(loginAttemptLimiter.recordAttempt(email, ipAddress))
+                .thenReturn(LoginAttemptLimiter.Outcome.ALLOWED)
+                .thenReturn(LoginAttemptLimiter.Outcome.LOCKED)
+                .thenReturn(LoginAttemptLimiter.Outcome.BLOCKED);
 
-        // Assert
-        assertThat(userEntity.getLoginAttempts()).isEqualTo(1);
-        assertThat(userEntity.isAccountNonLocked()).isTrue();
-        verify(userCache).put(email, 1);
-
-        // Simulate multiple login attempts
-        for (int i = 1; i < 6; i++) {
-            when(userCache.get(email)).thenReturn(i); // Simulate increasing attempts in the cache
-            userServiceImpl.updateLoginAttempt(email, LoginType.LOGIN_ATTEMPT);
-        }
+        // Act - When
+        userServiceImpl.updateLoginAttempt(email, ipAddress, LoginType.LOGIN_ATTEMPT);
 
-        assertThat(userEntity.getLoginAttempts()).isEqualTo(6);
-        assertThat(userEntity.isAccountNonLocked()).isFalse(); // Account locked after 5 attempts
-        verify(userCache).put(email, 6);
+        // Assert - Then
+        verifyNoInteractions(loginStateWriter);
+        assertThatThrownBy(() -> userServiceImpl.updateLoginAttempt(email, ipAddress, LoginType.LOGIN_ATTEMPT))
+                .isInstanceOf(LockedException.class);
+        verify(loginStateWriter).lock(email);
+        assertThatThrownBy(() -> userServiceImpl.updateLoginAttempt(email, ipAddress, LoginType.LOGIN_ATTEMPT))
+                .isInstanceOf(LockedException.class);
+        verify(loginStateWriter, times(1)).lock(email);
+        verifyNoInteractions(userRepository);
     }
 
     @Test
     @DisplayName("Test Update Login Attempt - Login Success")
     public void updateLoginAttemptTest_LoginSuccess() {
-        // Arrange
+        // Arrange - Given
         String email = "test@example.com";
+        var lastLogin = ArgumentCaptor.forClass(LocalDateTime.class);
+
+        // Act - When
+        userServiceImpl.updateLoginAttempt(email, "203.0.113.7", LoginType.LOGIN_SUCCESS);
+
+        // Assert - Then
+        verify(loginAttemptLimiter).recordSuccess(email);
+        verify(loginStateWriter).recordLogin(eq(email), lastLogin.capture());
+        assertThat(lastLogin.getValue()).isCloseTo(LocalDateTime.now(), within(1, ChronoUnit.SECONDS));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Test Create User - Unverified User Registering Again Replaces The Pending Registration")
+    public void createUserTest_UnverifiedUserRegistersAgain() {
+        // Arrange - Given
         UserEntity userEntity = new UserEntity();
         userEntity.setId(1L);
-        userEntity.setEmail(email);
-        userEntity.setLoginAttempts(3);
-        userEntity.setAccountNonLocked(false); // Start with locked account
+        userEntity.setEmail("test@example.com");
+        userEntity.setFirstName("Old");
+        userEntity.setLastName("Name");
+        userEntity.setUsername("olduser");
+        userEntity.setEnabled(false);
+        CredentialEntity credentialEntity = new CredentialEntity(userEntity, "firstHash");
+        ConfirmationEntity confirmationEntity = new ConfirmationEntity();
+        confirmationEntity.setTokenKey("first_key");
+        confirmationEntity.setUserEntity(userEntity);
+        confirmationEntity.setExpiresAt(LocalDateTime.now().plusHours(1));
+        when(userRepository.findByEmailIgnoreCase(userEntity.getEmail())).thenReturn(Optional.of(userEntity));
+        when(credentialRepository.getCredentialByUserEntityId(1L)).thenReturn(Optional.of(credentialEntity));
+        when(confirmationRepository.findByUserEntity(userEntity)).thenReturn(Optional.of(confirmationEntity));
+        when(passwordHasher.encode("password123")).thenReturn("secondHash");
+        var event = ArgumentCaptor.forClass(UserEvent.class);
 
-        when(userRepository.findByEmailIgnoreCase(email)).thenReturn(Optional.of(userEntity));
+        // Act - When
+        userServiceImpl.createUser("New", "User", "newuser", userEntity.getEmail(), "password123");
+
+        // Assert - Then
+        assertThat(userEntity.getFirstName()).isEqualTo("New");
+        assertThat(userEntity.getLastName()).isEqualTo("User");
+        assertThat(userEntity.getUsername()).isEqualTo("newuser");
+        assertThat(credentialEntity.getPassword()).isEqualTo("secondHash");
+        assertThat(confirmationEntity.getTokenKey()).isNotEqualTo("first_key");
+        verify(userRepository).save(userEntity);
+        verify(credentialRepository).save(credentialEntity);
+        verify(confirmationRepository).save(confirmationEntity);
+        verify(publisher).publishEvent(event.capture());
+        assertThat(event.getValue().getType()).isEqualTo(EventType.REGISTRATION);
+        assertThat(event.getValue().getData().get("key")).isEqualTo(confirmationEntity.getTokenKey());
+    }
+
+    @Test
+    @DisplayName("Test Verify Account - Latest Registration Password Is The One Enabled")
+    public void verifyAccountTest_AfterRegisteringAgain() {
+        // Arrange - Given
+        UserEntity userEntity = new UserEntity();
+        userEntity.setId(1L);
+        userEntity.setEmail("test@example.com");
+        userEntity.setEnabled(false);
+        CredentialEntity credentialEntity = new CredentialEntity(userEntity, "firstHash");
+        ConfirmationEntity confirmationEntity = new ConfirmationEntity();
+        confirmationEntity.setTokenKey("first_key");
+        confirmationEntity.setUserEntity(userEntity);
+        confirmationEntity.setExpiresAt(LocalDateTime.now().plusHours(1));
+        when(userRepository.findByEmailIgnoreCase(userEntity.getEmail())).thenReturn(Optional.of(userEntity));
+        when(credentialRepository.getCredentialByUserEntityId(1L)).thenReturn(Optional.of(credentialEntity));
+        when(confirmationRepository.findByUserEntity(userEntity)).thenReturn(Optional.of(confirmationEntity));
+        when(passwordHasher.encode("secondPassword")).thenReturn("secondHash");
+        userServiceImpl.createUser("New", "User", "newuser", userEntity.getEmail(), "secondPassword");
+        String renewedKey = confirmationEntity.getTokenKey();
+        when(confirmationRepository.findByTokenKey(renewedKey)).thenReturn(Optional.of(confirmationEntity));
+
+        // Act - When
+        userServiceImpl.verifyAccount(renewedKey);
 
-        // Act
-        userServiceImpl.updateLoginAttempt(email, LoginType.LOGIN_SUCCESS);
+        // Assert - Then
+        assertThat(userEntity.isEnabled()).isTrue();
+        assertThat(credentialEntity.getPassword()).isEqualTo("secondHash");
+        assertThatThrownBy(() -> userServiceImpl.verifyAccount("first_key"))
+                .isInstanceOf(ApiException.class)
+                .hasMessage("Unable to find key");
+    }
+
+    @Test
+    @DisplayName("Test Reset Password - Expired Confirmation Renewed")
+    public void resetPasswordTest_ExpiredConfirmation() {
+        // Arrange - Given
+        UserEntity userEntity = new UserEntity();
+        userEntity.setEmail("test@example.com");
+        ConfirmationEntity confirmationEntity = new ConfirmationEntity();
+        confirmationEntity.setTokenKey("expired_key");
+        confirmationEntity.setUserEntity(userEntity);
+        confirmationEntity.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        when(userRepository.findByEmailIgnoreCase(userEntity.getEmail())).thenReturn(Optional.of(userEntity));
+        when(confirmationRepository.findByUserEntity(userEntity)).thenReturn(Optional.of(confirmationEntity));
+        var event = ArgumentCaptor.forClass(UserEvent.class);
 
-        // Assert
-        assertThat(userEntity.getLoginAttempts()).isEqualTo(0);
-        assertThat(userEntity.isAccountNonLocked()).isTrue();
-        verify(userCache).evict(email);
+        // Act - When
+        userServiceImpl.resetPassword(userEntity.getEmail());
 
-        // Verify last login time update
-        LocalDateTime now = LocalDateTime.now();
-        assertThat(userEntity.getLastLogin()).isCloseTo(now, within(1, ChronoUnit.SECONDS));
+        // Assert - Then
+        assertThat(confirmationEntity.getTokenKey()).isNotEqualTo("expired_key");
+        verify(confirmationRepository).save(confirmationEntity);
+        verify(publisher).publishEvent(event.capture());
+        assertThat(event.getValue().getData().get("key")).isEqualTo(confirmationEntity.getTokenKey());
     }
 
+    @Test
+    @DisplayName("Test Update User - Tokens Carrying The Old Profile Are Revoked")
+    public void updateUserTest_RevokesTokens() {
+        // Arrange - Given
+        UserEntity userEntity = new UserEntity();
+        userEntity.setId(1L);
+        userEntity.setUserId("userId");
+        userEntity.setEmail("old@example.com");
+        userEntity.setSecurityVersion(3);
+        userEntity.setCreatedAt(LocalDateTime.of(1990, 11, 1, 1, 11, 11));
+        userEntity.setUpdatedAt(LocalDateTime.of(1990, 11, 1, 1, 11, 11));
+        userEntity.setLastLogin(LocalDateTime.of(1990, 11, 1, 1, 11, 11));
+        userEntity.setRole(new RoleEntity("USER", Authority.USER));
+        CredentialEntity credentialEntity = new CredentialEntity(userEntity, "hashedPassword");
+        credentialEntity.setUpdatedAt(LocalDateTime.now());
+        when(userRepository.findUserByUserId("userId")).thenReturn(Optional.of(userEntity));
+        when(credentialRepository.getCredentialByUserEntityId(1L)).thenReturn(Optional.of(credentialEntity));
+
+        // Act - When
+        var user = userServiceImpl.updateUser("userId", "New", "Name", "new@example.com", "Bio");
+
+        // Assert - Then
+        assertThat(user.getEmail()).isEqualTo("new@example.com");
+        assertThat(user.getSecurityVersion()).isEqualTo(4);
+        verify(securityVersions).evict("userId");
+        verify(userRepository).save(userEntity);
+    }
 
 }
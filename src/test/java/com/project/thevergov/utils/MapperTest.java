@@ -0,0 +1,97 @@
+package com.project.thevergov.utils;
+
+import com.project.thevergov.dto.Paper;
+import com.project.thevergov.dto.User;
+import com.project.thevergov.entity.CredentialEntity;
+import com.project.thevergov.entity.PaperEntity;
+import com.project.thevergov.entity.RoleEntity;
+import com.project.thevergov.entity.UserEntity;
+import com.project.thevergov.enumeration.Authority;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.BeanUtils;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MapperTest {
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @Test
+    @DisplayName("Test From User Entity - Same result as reflective copying")
+    void fromUserEntityShouldMatchReflectiveCopy() {
+        // Arrange - Given
+        var role = RoleEntity.builder().name("USER").authorities(Authority.USER).build();
+        var userEntity = userEntity(role);
+        var credential = new CredentialEntity(userEntity, "password");
+        credential.setUpdatedAt(now);
+        var expected = new User();
+        BeanUtils.copyProperties(userEntity, expected);
+
+        // Act - When
+        var user = UserUtils.fromUserEntity(userEntity, role, credential);
+
+        // Assert - Then
+        assertThat(user)
+                .usingRecursiveComparison()
+                .ignoringFields("lastLogin", "createdAt", "updatedAt", "role", "authorities", "credentialsNonExpired")
+                .isEqualTo(expected);
+        assertThat(user.getRole()).isEqualTo("USER");
+        assertThat(user.getAuthorities()).isEqualTo(Authority.USER.getValue());
+        assertThat(user.getCreatedAt()).isEqualTo(now.toString());
+        assertThat(user.isCredentialsNonExpired()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Test From Paper Entity - Same result as reflective copying")
+    void fromPaperEntityShouldMatchReflectiveCopy() {
+        // Arrange - Given
+        var role = RoleEntity.builder().name("USER").authorities(Authority.USER).build();
+        var owner = UserUtils.fromUserEntity(userEntity(role), role, credential());
+        var paperEntity = PaperEntity.builder()
+                .paperId("paperId")
+                .name("paper.pdf")
+                .description("description")
+                .uri("uri")
+                .size(1024)
+                .formattedSize("1 KB")
+                .icon("icon")
+                .extension("pdf")
+                .build();
+        paperEntity.setId(2L);
+        paperEntity.setCreatedAt(now);
+        paperEntity.setUpdatedAt(now);
+        var expected = new Paper();
+        BeanUtils.copyProperties(paperEntity, expected);
+
+        // Act - When
+        var paper = PaperUtil.fromPaperEntity(paperEntity, owner, owner);
+
+        // Assert - Then
+        assertThat(paper)
+                .usingRecursiveComparison()
+                .ignoringFields("ownerName", "ownerEmail", "ownerLastLogin", "updaterName")
+                .isEqualTo(expected);
+        assertThat(paper.getOwnerName()).isEqualTo("John Doe");
+        assertThat(paper.getOwnerEmail()).isEqualTo("john@example.com");
+    }
+
+    private UserEntity userEntity(RoleEntity role) {
+        var userEntity = UserUtils.createUserEntity("John", "Doe", "johndoe", "john@example.com", role);
+        userEntity.setId(1L);
+        userEntity.setCreatedBy(1L);
+        userEntity.setUpdatedBy(1L);
+        userEntity.setCreatedAt(now);
+        userEntity.setUpdatedAt(now);
+        userEntity.setSecurityVersion(3L);
+        return userEntity;
+    }
+
+    private CredentialEntity credential() {
+        var credential = new CredentialEntity();
+        credential.setUpdatedAt(now);
+        return credential;
+    }
+}